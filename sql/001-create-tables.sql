@@ -8,7 +8,21 @@ CREATE TABLE IF NOT EXISTS students (
     age INT,
     gender ENUM('男性', '女性', 'その他'),
     remark VARCHAR(200),
-    deleted BOOLEAN NOT NULL DEFAULT FALSE
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    version INT NOT NULL DEFAULT 0,
+    -- 検索用に正規化した列（NFKC、ひらがな→カタカナ、英字の小文字化。登録・更新時にアプリケーションで設定する）
+    -- NFKCでは1文字が複数の文字に展開される場合があるため（例：㍻→平成）、元の列の3倍の長さとする
+    fullname_normalized VARCHAR(300) NOT NULL,
+    furigana_normalized VARCHAR(300) NOT NULL,
+    nickname_normalized VARCHAR(300),
+    mail_normalized VARCHAR(768) NOT NULL,
+    address_normalized VARCHAR(768),
+    CONSTRAINT uk_students_mail UNIQUE (mail),
+    -- 受講生一覧検索の全文検索モード（student.search.mode=fulltext）で使用する、列ごとのngram全文検索索引
+    FULLTEXT INDEX ft_students_fullname (fullname_normalized) WITH PARSER ngram,
+    FULLTEXT INDEX ft_students_furigana (furigana_normalized) WITH PARSER ngram,
+    FULLTEXT INDEX ft_students_nickname (nickname_normalized) WITH PARSER ngram,
+    FULLTEXT INDEX ft_students_address (address_normalized) WITH PARSER ngram
 );
 
 CREATE TABLE IF NOT EXISTS students_courses (
@@ -17,6 +31,7 @@ CREATE TABLE IF NOT EXISTS students_courses (
     course_name VARCHAR(100) NOT NULL,
     start_date DATETIME,
     end_date DATETIME,
+    version INT NOT NULL DEFAULT 0,
     FOREIGN KEY (student_id) REFERENCES students(id)
 );
 
@@ -24,5 +39,6 @@ CREATE TABLE IF NOT EXISTS course_status (
      id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
      course_id INT NOT NULL,
      status ENUM('仮申込', '本申込', '受講中', '受講終了'),
+     version INT NOT NULL DEFAULT 0,
      FOREIGN KEY (course_id) REFERENCES students_courses(id)
 );
@@ -0,0 +1,115 @@
+-- 既存のデータベースに、検索用に正規化した列（*_normalized）を追加して既存の行の値を設定する移行スクリプト
+-- 正規化した列を追加する前のsql/001-create-tables.sql（全文検索索引が元の列に作成されている）で作成したデータベースに対して、1回だけ実行する
+-- （ストアドファンクションを作成するため、rootユーザーで実行する）
+--   mysql -u root -p StudentManagement < sql/migration/001-add-normalized-columns.sql
+-- このディレクトリはdocker-entrypoint-initdb.dの直下ではないため、新規に作成するデータベースでは実行されない
+
+-- 1. 正規化した列を追加する（既存の行に値を設定するまではNULLを許容する）
+ALTER TABLE students
+    ADD COLUMN fullname_normalized VARCHAR(300) NULL,
+    ADD COLUMN furigana_normalized VARCHAR(300) NULL,
+    ADD COLUMN nickname_normalized VARCHAR(300) NULL,
+    ADD COLUMN mail_normalized VARCHAR(768) NULL,
+    ADD COLUMN address_normalized VARCHAR(768) NULL;
+
+-- 2. 既存の行の値を設定する
+-- アプリケーションのTextNormalizer（NFKC、ひらがな→カタカナ、英字の小文字化）のうち、受講生の入力で現れる次の変換をSQLで行う
+--   全角英数字・記号→半角、全角空白→半角空白、半角カタカナ→全角カタカナ（濁点・半濁点の合成を含む）、ひらがな→カタカナ、英字の小文字化
+-- それ以外の互換文字（例：㍻→平成、①→1）は変換しないため、これらを含む受講生は移行後にアプリケーションから更新し直すと正規化される
+DELIMITER //
+
+CREATE FUNCTION migration_normalize_text(value VARCHAR(256)) RETURNS VARCHAR(768)
+    CHARSET utf8mb4 DETERMINISTIC NO SQL
+BEGIN
+    -- 半角カタカナ（U+FF61〜U+FF9D）に対応する全角の文字
+    DECLARE halfwidth_kana VARCHAR(61) CHARSET utf8mb4 DEFAULT
+        '。「」、・ヲァィゥェォャュョッーアイウエオカキクケコサシスセソタチツテトナニヌネノハヒフヘホマミムメモヤユヨラリルレロワン';
+    DECLARE result VARCHAR(768) CHARSET utf8mb4 DEFAULT '';
+    DECLARE i INT DEFAULT 1;
+    DECLARE code INT;
+    -- 直前の文字（濁点・半濁点を合成できるよう、次の文字を確認するまで結果に追加しない）
+    DECLARE previous INT DEFAULT NULL;
+    -- 直前の文字がひらがなから変換したものか（ゎ・ゐ・ゑ・をには濁点を合成できる文字がないため）
+    DECLARE previous_hiragana BOOLEAN DEFAULT FALSE;
+    DECLARE hiragana BOOLEAN;
+
+    IF value IS NULL THEN
+        RETURN NULL;
+    END IF;
+
+    -- 16進数リテラルは比較で文字列として扱われる場合があるため、コードポイントは10進数で記述する
+    WHILE i <= CHAR_LENGTH(value) DO
+        SET code = ORD(CONVERT(SUBSTRING(value, i, 1) USING utf32));
+        IF code BETWEEN 65281 AND 65374 THEN
+            SET code = code - 65248;
+        ELSEIF code = 12288 THEN
+            SET code = 32;
+        ELSEIF code BETWEEN 65377 AND 65437 THEN
+            SET code = ORD(CONVERT(SUBSTRING(halfwidth_kana, code - 65377 + 1, 1) USING utf32));
+        ELSEIF code = 65438 THEN
+            SET code = 12441;
+        ELSEIF code = 65439 THEN
+            SET code = 12442;
+        END IF;
+        SET hiragana = code BETWEEN 12353 AND 12438 OR code IN (12445, 12446);
+        IF hiragana THEN
+            SET code = code + 96;
+        END IF;
+
+        IF code = 12441 AND previous IS NOT NULL
+            AND ((previous BETWEEN 12459 AND 12481 AND (previous - 12459) % 2 = 0)
+                OR (previous BETWEEN 12484 AND 12488 AND (previous - 12484) % 2 = 0)
+                OR (previous BETWEEN 12495 AND 12507 AND (previous - 12495) % 3 = 0)) THEN
+            SET previous = previous + 1;
+        ELSEIF code = 12441 AND (previous IN (12454, 12541)
+            OR (previous IN (12527, 12528, 12529, 12530) AND NOT previous_hiragana)) THEN
+            SET previous = CASE previous
+                WHEN 12454 THEN 12532
+                WHEN 12541 THEN 12542
+                ELSE previous + 8 END;
+        ELSEIF code = 12442 AND previous IS NOT NULL
+            AND previous BETWEEN 12495 AND 12507 AND (previous - 12495) % 3 = 0 THEN
+            SET previous = previous + 2;
+        ELSE
+            IF previous IS NOT NULL THEN
+                SET result = CONCAT(result, CONVERT(CHAR(previous USING utf32) USING utf8mb4));
+            END IF;
+            SET previous = code;
+            SET previous_hiragana = hiragana;
+        END IF;
+        SET i = i + 1;
+    END WHILE;
+
+    IF previous IS NOT NULL THEN
+        SET result = CONCAT(result, CONVERT(CHAR(previous USING utf32) USING utf8mb4));
+    END IF;
+    RETURN LOWER(result);
+END//
+
+DELIMITER ;
+
+UPDATE students SET
+    fullname_normalized = migration_normalize_text(fullname),
+    furigana_normalized = migration_normalize_text(furigana),
+    nickname_normalized = migration_normalize_text(nickname),
+    mail_normalized = migration_normalize_text(mail),
+    address_normalized = migration_normalize_text(address);
+
+DROP FUNCTION migration_normalize_text;
+
+-- 3. 元の列と同じくNULLを許容しない列を必須にし、全文検索索引を正規化した列に作り直す
+ALTER TABLE students
+    MODIFY COLUMN fullname_normalized VARCHAR(300) NOT NULL,
+    MODIFY COLUMN furigana_normalized VARCHAR(300) NOT NULL,
+    MODIFY COLUMN mail_normalized VARCHAR(768) NOT NULL;
+
+ALTER TABLE students
+    DROP INDEX ft_students_fullname,
+    DROP INDEX ft_students_furigana,
+    DROP INDEX ft_students_nickname,
+    DROP INDEX ft_students_address;
+
+ALTER TABLE students ADD FULLTEXT INDEX ft_students_fullname (fullname_normalized) WITH PARSER ngram;
+ALTER TABLE students ADD FULLTEXT INDEX ft_students_furigana (furigana_normalized) WITH PARSER ngram;
+ALTER TABLE students ADD FULLTEXT INDEX ft_students_nickname (nickname_normalized) WITH PARSER ngram;
+ALTER TABLE students ADD FULLTEXT INDEX ft_students_address (address_normalized) WITH PARSER ngram;
@@ -4,8 +4,12 @@ import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.info.License;
 import io.swagger.v3.oas.annotations.servers.Server;
+import java.util.Properties;
+import org.apache.ibatis.mapping.DatabaseIdProvider;
+import org.apache.ibatis.mapping.VendorDatabaseIdProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
 
 @OpenAPIDefinition(
     info = @Info(title = "受講生管理システムAPI仕様", description = "受講生を管理するシステムのAPI仕様です",
@@ -23,4 +27,17 @@ public class Application {
     SpringApplication.run(Application.class, args);
   }
 
+  /**
+   * 接続先のデータベース製品に応じてマッパーのSQLを切り替えるためのデータベースIDです（MySQL：mysql、H2：h2）。
+   */
+  @Bean
+  public DatabaseIdProvider databaseIdProvider() {
+    Properties properties = new Properties();
+    properties.setProperty("MySQL", "mysql");
+    properties.setProperty("H2", "h2");
+    VendorDatabaseIdProvider provider = new VendorDatabaseIdProvider();
+    provider.setProperties(properties);
+    return provider;
+  }
+
 }
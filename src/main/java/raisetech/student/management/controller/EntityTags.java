@@ -0,0 +1,125 @@
+package raisetech.student.management.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import raisetech.student.management.model.data.CourseSearchCriteria;
+import raisetech.student.management.model.data.CourseStatus;
+import raisetech.student.management.model.data.StudentCourse;
+import raisetech.student.management.model.data.StudentSearchCriteria;
+import raisetech.student.management.model.domain.CourseDetail;
+import raisetech.student.management.model.domain.StudentDetail;
+import raisetech.student.management.model.domain.TableChanges;
+import raisetech.student.management.model.services.TextNormalizer;
+
+/**
+ * 条件付きGETで使用する強いETagを作成するクラスです。 詳細情報のETagはデータベースの各行のバージョンのみから作成するため、
+ * レスポンス本文を組み立てずに、IDとバージョンのみを取得した詳細情報からも同じETagを作成できます。
+ * 一覧のETagはテーブルの変更状況と検索条件から作成するため、データベースに問い合わせずに作成できます。
+ */
+final class EntityTags {
+
+  /**
+   * 検索条件のハッシュ値のうち、ETagに使用するバイト数です。
+   */
+  private static final int CRITERIA_HASH_BYTES = 12;
+
+  private EntityTags() {
+  }
+
+  /**
+   * 受講生詳細情報のETagを作成します。 受講生のバージョンと、受講生コースの件数およびバージョンの合計から作成します。
+   * 受講生コースは削除されず、バージョンは更新のたびに増えるため、いずれかの行が追加・更新されるとETagが変わります。
+   *
+   * @param studentDetail 受講生詳細情報（受講生と受講生コースのバージョンが設定されていればよい）
+   * @return ETag（二重引用符で囲んだ文字列）
+   */
+  static String of(StudentDetail studentDetail) {
+    long courseVersions = 0;
+    for (StudentCourse studentCourse : studentDetail.getStudentCourses()) {
+      courseVersions += studentCourse.getVersion();
+    }
+    return "\"" + studentDetail.getStudent().getVersion() + "-"
+        + studentDetail.getStudentCourses().size() + "-" + courseVersions + "\"";
+  }
+
+  /**
+   * 受講生コース詳細情報のETagを作成します。 受講生コースとコース申込状況のバージョンから作成します。
+   *
+   * @param courseDetail 受講生コース詳細情報（受講生コースとコース申込状況のバージョンが設定されていればよい）
+   * @return ETag（二重引用符で囲んだ文字列）
+   */
+  static String of(CourseDetail courseDetail) {
+    CourseStatus courseStatus = courseDetail.getCourseStatus();
+    return "\"" + courseDetail.getStudentCourse().getVersion() + "-"
+        + (courseStatus == null ? "none" : String.valueOf(courseStatus.getVersion())) + "\"";
+  }
+
+  /**
+   * 受講生一覧のETagを作成します。 受講生と受講生コースのテーブルの変更状況と、正規化した検索条件から作成します。
+   * 文字列の条件は検索時と同じく正規化するため、全角・半角やひらがな・カタカナのみが異なる検索条件には同じETagを返します。
+   *
+   * @param changes  受講生と受講生コースのテーブルの変更状況
+   * @param criteria 検索条件
+   * @param afterId  前ページの最後の受講生ID
+   * @param limit    取得件数の上限
+   * @return ETag（二重引用符で囲んだ文字列）
+   */
+  static String of(TableChanges changes, StudentSearchCriteria criteria, Integer afterId,
+      Integer limit) {
+    return of(changes, "students",
+        TextNormalizer.normalize(criteria.getFullname()),
+        TextNormalizer.normalize(criteria.getFurigana()),
+        TextNormalizer.normalize(criteria.getNickname()),
+        TextNormalizer.normalize(criteria.getMail()),
+        TextNormalizer.normalize(criteria.getAddress()),
+        criteria.getMinAge(), criteria.getMaxAge(), criteria.getGender(), criteria.getDeleted(),
+        criteria.getCourseName(), criteria.getStartDateFrom(), criteria.getStartDateTo(),
+        criteria.getEndDateFrom(), criteria.getEndDateTo(), afterId, limit);
+  }
+
+  /**
+   * 受講生コース一覧のETagを作成します。 受講生コースとコース申込状況のテーブルの変更状況と、検索条件から作成します。
+   *
+   * @param changes  受講生コースとコース申込状況のテーブルの変更状況
+   * @param criteria 検索条件
+   * @param afterId  前ページの最後の受講生コースID
+   * @param limit    取得件数の上限
+   * @return ETag（二重引用符で囲んだ文字列）
+   */
+  static String of(TableChanges changes, CourseSearchCriteria criteria, Integer afterId,
+      int limit) {
+    return of(changes, "courses",
+        criteria.getCourseName(), criteria.getStartDateFrom(), criteria.getStartDateTo(),
+        criteria.getEndDateFrom(), criteria.getEndDateTo(), criteria.getStatus(), afterId, limit);
+  }
+
+  /**
+   * テーブルの変更状況と、検索条件の各値のハッシュ値からETagを作成します。 各値は長さを前置して連結するため、区切り文字を含む値でも別の条件と衝突しません。
+   */
+  private static String of(TableChanges changes, Object... criteria) {
+    StringBuilder key = new StringBuilder();
+    for (Object value : criteria) {
+      if (value == null) {
+        key.append('-');
+      } else {
+        String text = value.toString();
+        key.append(text.length()).append(':').append(text);
+      }
+      key.append(';');
+    }
+
+    byte[] hash;
+    try {
+      hash = MessageDigest.getInstance("SHA-256")
+          .digest(key.toString().getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    return "\"" + changes.getVersion() + "-" + Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(Arrays.copyOf(hash, CRITERIA_HASH_BYTES)) + "\"";
+  }
+
+}
@@ -0,0 +1,50 @@
+package raisetech.student.management.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import raisetech.student.management.model.exception.InvalidCursorException;
+
+/**
+ * キーセットページングで使用するカーソルの変換を行うクラスです。
+ * クライアントには前ページの最後のIDをBase64URL形式で符号化した不透明な文字列として渡し、内部の表現に依存させないようにしています。
+ */
+final class PageCursor {
+
+  private static final String PREFIX = "id:";
+
+  private PageCursor() {
+  }
+
+  /**
+   * 前ページの最後のIDをカーソル文字列に変換します。
+   *
+   * @param lastId 前ページの最後のID
+   * @return カーソル文字列
+   */
+  static String encode(int lastId) {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * カーソル文字列を前ページの最後のIDに変換します。
+   *
+   * @param cursor カーソル文字列
+   * @return 前ページの最後のID（カーソルが指定されていない場合はnull）
+   */
+  static Integer decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      if (!decoded.startsWith(PREFIX)) {
+        throw new InvalidCursorException("カーソルの形式が不正です。入力値：" + cursor);
+      }
+      return Integer.valueOf(decoded.substring(PREFIX.length()));
+    } catch (IllegalArgumentException e) {
+      throw new InvalidCursorException("カーソルの形式が不正です。入力値：" + cursor);
+    }
+  }
+
+}
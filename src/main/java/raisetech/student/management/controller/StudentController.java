@@ -2,14 +2,26 @@ package raisetech.student.management.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,13 +31,27 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import raisetech.student.management.model.data.CourseSearchCriteria;
 import raisetech.student.management.model.data.CourseStatus;
+import raisetech.student.management.model.data.CourseStatusBulkUpdate;
+import raisetech.student.management.model.data.OnUpdate;
 import raisetech.student.management.model.data.StudentSearchCriteria;
+import raisetech.student.management.model.domain.BulkRegistrationResult;
+import raisetech.student.management.model.domain.CacheStatistics;
 import raisetech.student.management.model.domain.CourseDetail;
+import raisetech.student.management.model.domain.CourseStatusBulkUpdateResult;
 import raisetech.student.management.model.domain.IntegratedDetail;
 import raisetech.student.management.model.domain.StudentDetail;
+import raisetech.student.management.model.domain.StudentImportResult;
+import raisetech.student.management.model.domain.StudentSuggestion;
+import raisetech.student.management.model.domain.TableChanges;
 import raisetech.student.management.model.exception.ErrorResponse;
+import raisetech.student.management.model.services.StudentBulkService;
+import raisetech.student.management.model.services.StudentExportService;
+import raisetech.student.management.model.services.StudentImportRejectFiles;
+import raisetech.student.management.model.services.StudentImportService;
 import raisetech.student.management.model.services.StudentService;
 
 /**
@@ -35,26 +61,66 @@ import raisetech.student.management.model.services.StudentService;
 @Validated
 public class StudentController {
 
+  /**
+   * 一覧検索で一度に取得できる件数の上限です。
+   */
+  static final int MAX_PAGE_SIZE = 1000;
+
+  /**
+   * 次ページのカーソルを返すレスポンスヘッダーです。
+   */
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  /**
+   * 入力候補で一度に取得できる件数の上限です。
+   */
+  static final int MAX_SUGGEST_SIZE = 50;
+
   private final StudentService service;
+  private final StudentBulkService bulkService;
+  private final StudentExportService exportService;
+  private final StudentImportService importService;
+  private final StudentImportRejectFiles rejectFiles;
 
-  public StudentController(StudentService service) {
+  public StudentController(StudentService service, StudentBulkService bulkService,
+      StudentExportService exportService, StudentImportService importService,
+      StudentImportRejectFiles rejectFiles) {
     this.service = service;
+    this.bulkService = bulkService;
+    this.exportService = exportService;
+    this.importService = importService;
+    this.rejectFiles = rejectFiles;
   }
 
   /**
    * 受講生一覧検索です。リクエストパラメータを指定することにより、絞りこみ検索できます。
    * ModelAttributeアノテーションによりStudentSearchCriteriaにリクエストパラメータがバインドされ、パラメータの入力は任意となります。
+   * limitを指定すると受講生ID順に最大limit件を返し、続きが存在し得る場合はレスポンスヘッダーに次ページのカーソルを設定します。
+   * 次ページはそのカーソルをafterに指定して取得します。
+   * レスポンスには受講生と受講生コースのテーブルの変更カウンタと検索条件から作成したETagを設定します。
+   * 前回の取得からいずれのテーブルも変更されていない場合は、データベースに問い合わせずに304を返します。
    *
    * @param criteria フィルタリングの基準値（＝検索条件）
-   * @return 受講生詳細情報一覧
+   * @param limit    取得件数の上限
+   * @param after    前ページのレスポンスで返されたカーソル
+   * @param request  リクエスト
+   * @return 受講生詳細情報一覧（変更されていない場合はnull）
    */
   @Operation(summary = "受講生一覧検索", description = "条件に合致する受講生の一覧を検索します。")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "処理が成功した場合のレスポンス",
+          headers = {
+              @Header(name = NEXT_CURSOR_HEADER,
+                  description = "次ページのカーソル（limitを指定し、続きが存在し得る場合のみ）"),
+              @Header(name = HttpHeaders.LINK, description = "次ページのURL（rel=\"next\"）"),
+              @Header(name = HttpHeaders.ETAG, description = "受講生一覧の変更状況と検索条件を表すETag")
+          },
           content = @Content(mediaType = "application/json",
               array = @ArraySchema(schema = @Schema(implementation = StudentDetail.class))
           )
       ),
+      @ApiResponse(responseCode = "304",
+          description = "If-None-MatchのETagから変更されていない場合のレスポンス"),
       @ApiResponse(responseCode = "400", description = "無効な検索条件を指定した場合のレスポンス",
           content = @Content(mediaType = "application/json",
               array = @ArraySchema(schema = @Schema(implementation = ErrorResponse.class))
@@ -62,73 +128,278 @@ public class StudentController {
       )
   })
   @GetMapping("/students")
-  public List<StudentDetail> getStudentList(@Valid @ModelAttribute StudentSearchCriteria criteria) {
+  public ResponseEntity<List<StudentDetail>> getStudentList(
+      @Valid @ModelAttribute StudentSearchCriteria criteria,
+      @Parameter(description = "取得件数の上限（1～" + MAX_PAGE_SIZE + "）")
+      @RequestParam(required = false) @Min(1) @Max(MAX_PAGE_SIZE) Integer limit,
+      @Parameter(description = "前ページのレスポンスで返されたカーソル")
+      @RequestParam(required = false) String after,
+      WebRequest request) {
+
+    Integer afterId = PageCursor.decode(after);
+    TableChanges changes = service.searchStudentListChanges();
+    if (request.checkNotModified(EntityTags.of(changes, criteria, afterId, limit))) {
+      return null;
+    }
 
-    return service.searchStudentList(criteria);
+    List<StudentDetail> studentDetails = service.searchStudentList(criteria, afterId, limit);
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (limit != null && studentDetails.size() == limit) {
+      int lastId = studentDetails.get(studentDetails.size() - 1).getStudent().getId();
+      setNextPageHeaders(response, lastId, limit);
+    }
+    return response.body(studentDetails);
 
   }
 
   /**
    * 受講生コースの一覧検索です。コースの申込状況を確認できます。
+   * 受講生コースID順に最大limit件（省略時および上限は{@value #MAX_PAGE_SIZE}件）を返し、続きが存在し得る場合はレスポンスヘッダーに次ページのカーソルとURLを設定します。
+   * レスポンスには受講生コースとコース申込状況のテーブルの変更カウンタと検索条件から作成したETagを設定します。
+   * 前回の取得からいずれのテーブルも変更されていない場合は、データベースに問い合わせずに304を返します。
    *
-   * @return 受講生コース詳細情報一覧
+   * @param criteria フィルタリングの基準値（＝検索条件）
+   * @param limit    取得件数の上限
+   * @param after    前ページのレスポンスで返されたカーソル
+   * @param request  リクエスト
+   * @return 受講生コース詳細情報一覧（変更されていない場合はnull）
    */
   @Operation(summary = "受講生コース一覧検索", description = "条件に合致する受講生コースの一覧を検索します。")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "処理が成功した場合のレスポンス",
+          headers = {
+              @Header(name = NEXT_CURSOR_HEADER, description = "次ページのカーソル（続きが存在し得る場合のみ）"),
+              @Header(name = HttpHeaders.LINK, description = "次ページのURL（rel=\"next\"）"),
+              @Header(name = HttpHeaders.ETAG, description = "受講生コース一覧の変更状況と検索条件を表すETag")
+          },
           content = @Content(mediaType = "application/json",
               array = @ArraySchema(schema = @Schema(implementation = CourseDetail.class))
           )
+      ),
+      @ApiResponse(responseCode = "304",
+          description = "If-None-MatchのETagから変更されていない場合のレスポンス"),
+      @ApiResponse(responseCode = "400", description = "無効な検索条件を指定した場合のレスポンス",
+          content = @Content(mediaType = "application/json",
+              array = @ArraySchema(schema = @Schema(implementation = ErrorResponse.class))
+          )
       )
   })
   @GetMapping("/students/courses")
-  public List<CourseDetail> getStudentCoursesList(
-      @Valid @ModelAttribute CourseSearchCriteria criteria) {
+  public ResponseEntity<List<CourseDetail>> getStudentCoursesList(
+      @Valid @ModelAttribute CourseSearchCriteria criteria,
+      @Parameter(description = "取得件数の上限（1～" + MAX_PAGE_SIZE + "、省略時は" + MAX_PAGE_SIZE + "）")
+      @RequestParam(required = false) @Min(1) @Max(MAX_PAGE_SIZE) Integer limit,
+      @Parameter(description = "前ページのレスポンスで返されたカーソル")
+      @RequestParam(required = false) String after,
+      WebRequest request) {
+
+    int pageSize = limit != null ? limit : MAX_PAGE_SIZE;
+    Integer afterId = PageCursor.decode(after);
+    TableChanges changes = service.searchStudentCourseListChanges();
+    if (request.checkNotModified(EntityTags.of(changes, criteria, afterId, pageSize))) {
+      return null;
+    }
 
-    return service.searchStudentCourseList(criteria);
+    List<CourseDetail> courseDetails = service.searchStudentCourseList(criteria, afterId,
+        pageSize);
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (courseDetails.size() == pageSize) {
+      int lastId = courseDetails.get(courseDetails.size() - 1).getStudentCourse().getId();
+      setNextPageHeaders(response, lastId, pageSize);
+    }
+    return response.body(courseDetails);
 
   }
 
+  /**
+   * 受講生の入力候補の検索です。 ふりがなの先頭部分を入力するたびに呼び出すことを想定し、前方一致する受講生の受講生IDと氏名のみを返します。
+   * 受講生詳細情報は組み立てず、メモリ上の索引から取得するため、データベースには問い合わせません。
+   *
+   * @param furigana ふりがなの先頭部分
+   * @param limit    取得件数の上限
+   * @return 受講生の入力候補の一覧
+   */
+  @Operation(summary = "受講生の入力候補検索",
+      description = "ふりがなが前方一致する受講生の受講生IDと氏名を、ふりがな順に取得します。")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "処理が成功した場合のレスポンス",
+          content = @Content(mediaType = "application/json",
+              array = @ArraySchema(schema = @Schema(implementation = StudentSuggestion.class))
+          )
+      ),
+      @ApiResponse(responseCode = "400", description = "無効なパラメータを指定した場合のレスポンス",
+          content = @Content(mediaType = "application/json",
+              array = @ArraySchema(schema = @Schema(implementation = ErrorResponse.class))
+          )
+      )
+  })
+  @GetMapping("/students/suggest")
+  public List<StudentSuggestion> suggestStudents(
+      @Parameter(description = "ふりがなの先頭部分（ひらがな・カタカナ、全角・半角、空白の有無は区別しない）")
+      @RequestParam String furigana,
+      @Parameter(description = "取得件数の上限（1～" + MAX_SUGGEST_SIZE + "、省略時は10）")
+      @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_SUGGEST_SIZE) int limit) {
+    return service.suggestStudents(furigana, limit);
+  }
+
+  /**
+   * 次ページのカーソルとURLをレスポンスヘッダーに設定します。 URLは現在のリクエストの検索条件を引き継ぎ、afterとlimitのみを置き換えたものです。
+   * 元のクエリ文字列はエンコード済みであり、カーソルはURLセーフな文字のみで構成されるため、再エンコードは行いません。
+   *
+   * @param response レスポンス
+   * @param lastId   現在のページの最後のID
+   * @param limit    取得件数の上限
+   */
+  private void setNextPageHeaders(ResponseEntity.BodyBuilder response, int lastId, int limit) {
+    String nextCursor = PageCursor.encode(lastId);
+    String nextUrl = ServletUriComponentsBuilder.fromCurrentRequest()
+        .replaceQueryParam("limit", limit)
+        .replaceQueryParam("after", nextCursor)
+        .build()
+        .toUriString();
+
+    response.header(NEXT_CURSOR_HEADER, nextCursor);
+    response.header(HttpHeaders.LINK, "<" + nextUrl + ">; rel=\"next\"");
+  }
+
+  /**
+   * 受講生詳細情報の全件エクスポートです。 1行に1件の受講生詳細情報を記述したNDJSONを受講生ID順に返します。
+   * 全件を一覧としてメモリ上に保持せず、データベースから読み込んだ受講生詳細情報を順次レスポンスに書き出します。
+   *
+   * @param response レスポンス
+   * @throws IOException レスポンスへの書き込みに失敗した場合
+   */
+  @Operation(summary = "受講生詳細情報のエクスポート",
+      description = "全受講生の詳細情報をNDJSON形式で出力します。")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "処理が成功した場合のレスポンス",
+          content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+              schema = @Schema(implementation = StudentDetail.class))
+      )
+  })
+  @GetMapping(value = "/students/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public void exportStudents(HttpServletResponse response) throws IOException {
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    exportService.exportStudents(response.getOutputStream());
+  }
+
+  /**
+   * 受講生コースの全件エクスポートです。 受講生コースとコース申込状況を受講生コースID順にCSV形式で返します。
+   * 全件を一覧としてメモリ上に保持せず、データベースから読み込んだ行を順次レスポンスに書き出します。
+   * Excelで開く場合は、bomにtrueを指定すると文字化けせずに表示できます。
+   *
+   * @param bom      先頭にBOMを出力する場合はtrue
+   * @param response レスポンス
+   * @throws IOException レスポンスへの書き込みに失敗した場合
+   */
+  @Operation(summary = "受講生コースのCSVエクスポート",
+      description = "全受講生コースとコース申込状況をCSV形式で出力します。")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "処理が成功した場合のレスポンス",
+          content = @Content(mediaType = "text/csv", schema = @Schema(type = "string"))
+      )
+  })
+  @GetMapping(value = "/students/courses/export.csv", produces = "text/csv")
+  public void exportStudentCourses(
+      @Parameter(description = "先頭にUTF-8のBOMを出力するか（Excel向け）")
+      @RequestParam(defaultValue = "false") boolean bom,
+      HttpServletResponse response) throws IOException {
+    response.setContentType("text/csv");
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+        .filename("courses.csv")
+        .build()
+        .toString());
+    exportService.exportCoursesCsv(response.getOutputStream(), bom);
+  }
+
   /**
    * 受講生の詳細情報の検索です。 IDに紐づく任意の受講生の詳細情報を取得します。
+   * レスポンスには受講生と受講生コースのバージョンから作成したETagを設定します。 If-None-MatchのETagが現在のバージョンと一致する場合は、
+   * 受講生詳細情報を組み立てずに304を返します。 バージョンはキャッシュにある受講生詳細情報から取得し、キャッシュにない場合のみデータベースに問い合わせます。
    *
-   * @param id 受講生ID
-   * @return 受講生IDに紐づく受講生の詳細情報
+   * @param id       受講生ID
+   * @param request  リクエスト
+   * @param response レスポンス
+   * @return 受講生IDに紐づく受講生の詳細情報（更新されていない場合はnull）
    */
   @Operation(summary = "受講生の詳細情報検索", description = "IDに紐づく任意の受講生の詳細情報を取得します。")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "処理が成功した場合のレスポンス",
+          headers = @Header(name = HttpHeaders.ETAG, description = "受講生詳細情報のバージョンを表すETag"),
           content = @Content(mediaType = "application/json", schema = @Schema(implementation = StudentDetail.class))
       ),
+      @ApiResponse(responseCode = "304", description = "If-None-MatchのETagから更新されていない場合のレスポンス"),
       @ApiResponse(responseCode = "404", description = "存在しないIDを指定した場合のレスポンス",
           content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
       )
   })
   @GetMapping("/students/detail")
   public StudentDetail getStudent(
-      @Parameter(description = "受講生のID") @RequestParam @NotNull int id) {
-    return service.searchStudent(id);
+      @Parameter(description = "受講生のID") @RequestParam @NotNull int id,
+      WebRequest request, HttpServletResponse response) {
+    StudentDetail version = service.searchStudentVersion(id);
+    if (version != null && request.checkNotModified(EntityTags.of(version))) {
+      return null;
+    }
+
+    StudentDetail studentDetail = service.searchStudent(id);
+    response.setHeader(HttpHeaders.ETAG, EntityTags.of(studentDetail));
+    return studentDetail;
+  }
+
+  /**
+   * 受講生の詳細情報のキャッシュの統計情報です。 キャッシュから取得できた回数、データベースから読み込んだ回数、破棄した件数などを取得します。
+   *
+   * @return キャッシュの統計情報
+   */
+  @Operation(summary = "受講生詳細情報のキャッシュ統計",
+      description = "受講生の詳細情報検索で使用するキャッシュの統計情報を取得します。")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "処理が成功した場合のレスポンス",
+          content = @Content(mediaType = "application/json", schema = @Schema(implementation = CacheStatistics.class))
+      )
+  })
+  @GetMapping("/students/detail/cache/stats")
+  public CacheStatistics getStudentDetailCacheStats() {
+    return service.searchStudentDetailCacheStats();
   }
 
   /**
    * 受講生コースの詳細情報の検索です。 IDに紐づく任意のコースの申込状況を取得します。
+   * レスポンスには受講生コースとコース申込状況のバージョンから作成したETagを設定し、If-None-MatchのETagが一致する場合は304を返します。
    *
-   * @param id 受講生コースID
-   * @return 受講生コースの詳細情報（申込状況）
+   * @param id       受講生コースID
+   * @param request  リクエスト
+   * @param response レスポンス
+   * @return 受講生コースの詳細情報（申込状況。更新されていない場合はnull）
    */
   @Operation(summary = "受講生コースの詳細情報検索", description = "IDに紐づく任意の受講生コースの詳細情報を取得します。")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "処理が成功した場合のレスポンス",
+          headers = @Header(name = HttpHeaders.ETAG, description = "受講生コース詳細情報のバージョンを表すETag"),
           content = @Content(mediaType = "application/json", schema = @Schema(implementation = CourseDetail.class))
       ),
+      @ApiResponse(responseCode = "304", description = "If-None-MatchのETagから更新されていない場合のレスポンス"),
       @ApiResponse(responseCode = "404", description = "存在しないIDを指定した場合のレスポンス",
           content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
       )
   })
   @GetMapping("/students/courses/detail")
   public CourseDetail getStudentCourse(
-      @Parameter(description = "受講生コースのID") @RequestParam @NotNull int id) {
-    return service.searchStudentCourse(id);
+      @Parameter(description = "受講生コースのID") @RequestParam @NotNull int id,
+      WebRequest request, HttpServletResponse response) {
+    CourseDetail version = service.searchStudentCourseVersion(id);
+    if (version != null && request.checkNotModified(EntityTags.of(version))) {
+      return null;
+    }
+
+    CourseDetail courseDetail = service.searchStudentCourse(id);
+    response.setHeader(HttpHeaders.ETAG, EntityTags.of(courseDetail));
+    return courseDetail;
   }
 
   /**
@@ -160,8 +431,108 @@ public class StudentController {
     return ResponseEntity.ok(newStudent);
   }
 
+  /**
+   * 受講生の詳細情報の一括新規登録です。 JSON配列またはNDJSON形式で複数の受講生の詳細情報を受け付け、要素ごとの処理結果を返します。
+   * リクエストボディは1件ずつ読み込み、一定件数ごとにまとめて登録します。コースの申込状況は「仮登録」として自動登録されます。
+   *
+   * @param requestBody リクエストボディ
+   * @return 要素ごとの処理結果
+   * @throws IOException リクエストボディの読み込みに失敗した場合
+   */
+  @Operation(summary = "受講生一括新規登録",
+      description = "受講生の詳細情報をJSON配列またはNDJSONで受け付け、一括で新規登録します。")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "処理が完了した場合のレスポンス（要素ごとの成否を含む）",
+          content = @Content(mediaType = "application/json",
+              array = @ArraySchema(schema = @Schema(implementation = BulkRegistrationResult.class))
+          )
+      ),
+      @ApiResponse(responseCode = "400", description = "JSON配列またはNDJSONとして解釈できないリクエストボディを指定した場合のレスポンス",
+          content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+      )
+  })
+  @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      description = "受講生の詳細情報のJSON配列、または1行に1件の受講生の詳細情報を記述したNDJSON",
+      content = {
+          @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+              array = @ArraySchema(schema = @Schema(implementation = StudentDetail.class))),
+          @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+              schema = @Schema(implementation = StudentDetail.class))
+      })
+  @PostMapping(value = "/students/bulk",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public ResponseEntity<List<BulkRegistrationResult>> registerStudents(InputStream requestBody)
+      throws IOException {
+    return ResponseEntity.ok(bulkService.registerStudents(requestBody));
+  }
+
+  /**
+   * 受講生のCSV取り込みです。 旧名簿などのCSVを1行ずつ読み込み、受講生・受講生コース・コース申込状況を一定件数ごとにまとめて登録します。
+   * 同じメールアドレスの行が連続する場合は、1人の受講生の複数のコースとして登録します。
+   * 取り込めなかった行は、処理件数・処理時間・スループットとともに行番号と理由を付けて返します（上限件数まで）。
+   * 取り込めなかった行はすべてリジェクトファイルに書き出し、そのIDを返します。
+   *
+   * @param requestBody リクエストボディ（UTF-8のCSV）
+   * @return 取り込みの処理結果
+   * @throws IOException リクエストボディの読み込みに失敗した場合
+   */
+  @Operation(summary = "受講生CSV取り込み",
+      description = "受講生と受講生コースをCSVで受け付け、一括で新規登録します。")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "処理が完了した場合のレスポンス（取り込めなかった行の件数と、上限件数までの行番号と理由、リジェクトファイルのIDを含む）",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = StudentImportResult.class))
+      ),
+      @ApiResponse(responseCode = "400", description = "見出し行が不正なCSVを指定した場合のレスポンス",
+          content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+      )
+  })
+  @io.swagger.v3.oas.annotations.parameters.RequestBody(
+      description = "1行目が列名の見出し行のCSV（列名：fullname, furigana, nickname, mail, address, age, gender, "
+          + "remark, courseName, startDate, endDate, status。fullname, furigana, mailは必須）",
+      content = @Content(mediaType = "text/csv", schema = @Schema(type = "string")))
+  @PostMapping(value = "/students/import", consumes = "text/csv")
+  public ResponseEntity<StudentImportResult> importStudents(InputStream requestBody)
+      throws IOException {
+    return ResponseEntity.ok(importService.importStudents(requestBody));
+  }
+
+  /**
+   * 受講生のCSV取り込みのリジェクトファイルのダウンロードです。 取り込めなかったすべての行を、行番号・理由・元の行の項目のCSVで返します。
+   * 修正した行から行番号と理由の列を除けば、そのまま再度取り込めます。
+   *
+   * @param id       取り込みの処理結果で返されたリジェクトファイルのID
+   * @param response レスポンス
+   * @throws IOException リジェクトファイルの読み込みまたはレスポンスへの書き込みに失敗した場合
+   */
+  @Operation(summary = "受講生CSV取り込みのリジェクトファイルのダウンロード",
+      description = "CSV取り込みで取り込めなかったすべての行をCSV形式で出力します。")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "処理が成功した場合のレスポンス",
+          content = @Content(mediaType = "text/csv", schema = @Schema(type = "string"))
+      ),
+      @ApiResponse(responseCode = "404", description = "存在しないか保持期間を過ぎたIDを指定した場合のレスポンス",
+          content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+      )
+  })
+  @GetMapping(value = "/students/import/rejects", produces = "text/csv")
+  public void downloadImportRejects(
+      @Parameter(description = "リジェクトファイルのID") @RequestParam @NotNull String id,
+      HttpServletResponse response) throws IOException {
+    Path rejectFile = rejectFiles.resolve(id);
+    response.setContentType("text/csv");
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+        .filename("import-rejects-" + id + ".csv")
+        .build()
+        .toString());
+    Files.copy(rejectFile, response.getOutputStream());
+  }
+
   /**
    * 受講生の詳細情報の更新です。 キャンセルフラグの更新もここで行います。（論理削除）
+   * 受講生と受講生コースのバージョンには、受講生詳細情報の検索で取得した値を指定します（省略した場合は400を返します）。
+   * 取得後に他の更新が行われていた場合は更新せずに409を返します。
    *
    * @param studentDetail 受講生の詳細情報
    * @return 更新が成功した場合に「更新処理が成功しました」と表示
@@ -178,16 +549,22 @@ public class StudentController {
       ),
       @ApiResponse(responseCode = "404", description = "存在しないIDを指定した場合のレスポンス",
           content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+      ),
+      @ApiResponse(responseCode = "409",
+          description = "他の受講生が使用しているメールアドレスを指定した場合と、受講生または受講生コースのバージョンが他の更新により変わっていた場合のレスポンス",
+          content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
       )
   })
   @PutMapping("/students/update")
-  public ResponseEntity<String> updateStudent(@RequestBody @Valid StudentDetail studentDetail) {
+  public ResponseEntity<String> updateStudent(
+      @RequestBody @Validated(OnUpdate.class) StudentDetail studentDetail) {
     service.updateStudent(studentDetail);
     return ResponseEntity.ok("更新処理が成功しました");
   }
 
   /**
-   * 受講生コースの申込状況の更新です。
+   * 受講生コースの申込状況の更新です。 バージョンには、受講生コース詳細情報の検索で取得した値を指定します（省略した場合は400を返します）。
+   * 取得後に他の更新が行われていた場合は更新せずに409を返します。
    *
    * @param courseStatus 受講生コースの申込状況
    * @return 更新が成功した場合に「更新処理が成功しました」と表示
@@ -204,12 +581,43 @@ public class StudentController {
       ),
       @ApiResponse(responseCode = "404", description = "存在しないIDを指定した場合のレスポンス",
           content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+      ),
+      @ApiResponse(responseCode = "409", description = "申込状況のバージョンが他の更新により変わっていた場合のレスポンス",
+          content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
       )
   })
   @PutMapping("/students/courses/statuses/update")
-  public ResponseEntity<String> updateStudentCourse(@RequestBody @Valid CourseStatus courseStatus) {
+  public ResponseEntity<String> updateStudentCourse(
+      @RequestBody @Validated(OnUpdate.class) CourseStatus courseStatus) {
     service.updateCourseStatus(courseStatus);
     return ResponseEntity.ok("更新処理が成功しました");
   }
 
+  /**
+   * 受講生コースの申込状況の一括更新です。 指定した受講生コースIDの申込状況を、すべて指定した申込状況に更新します。
+   * 申込状況が存在しない受講生コースIDが含まれていても他のIDは更新し、存在しなかったIDを処理結果として返します。
+   *
+   * @param bulkUpdate 更新対象の受講生コースIDの一覧と更新後の申込状況
+   * @return 更新件数と、申込状況が存在しなかった受講生コースIDの一覧
+   */
+  @Operation(summary = "受講生コース申込状況の一括更新",
+      description = "複数の受講生コースの申込状況を同じ値に一括で更新します。")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "処理が成功した場合のレスポンス",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = CourseStatusBulkUpdateResult.class))
+      ),
+      @ApiResponse(responseCode = "400", description = "登録情報に無効な入力形式の値を指定した場合のレスポンス",
+          content = @Content(mediaType = "application/json",
+              array = @ArraySchema(schema = @Schema(implementation = ErrorResponse.class))
+          )
+      )
+  })
+  @PutMapping("/students/courses/statuses/bulk")
+  public ResponseEntity<CourseStatusBulkUpdateResult> updateStudentCourses(
+      @RequestBody @Valid CourseStatusBulkUpdate bulkUpdate) {
+    return ResponseEntity.ok(
+        service.updateCourseStatuses(bulkUpdate.getCourseIds(), bulkUpdate.getStatus()));
+  }
+
 }
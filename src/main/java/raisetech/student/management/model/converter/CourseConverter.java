@@ -1,29 +1,49 @@
 package raisetech.student.management.model.converter;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.springframework.stereotype.Component;
 import raisetech.student.management.model.data.CourseStatus;
 import raisetech.student.management.model.data.StudentCourse;
 import raisetech.student.management.model.domain.CourseDetail;
 
+/**
+ * 受講生コース一覧とコース申込状況一覧を受講生コースの詳細情報一覧に変換するコンバーターです。
+ */
 @Component
 public class CourseConverter {
 
+  /**
+   * 受講生コースIDに紐づくコース申込状況をマッピングしています。
+   * コース申込状況一覧から受講生コースIDをキーとした索引を一度だけ作成し、受講生コースごとに参照しています。
+   *
+   * @param studentCoursesList 受講生コースの一覧
+   * @param courseStatusesList コース申込状況の一覧
+   * @return 受講生コースの詳細情報
+   * @throws IllegalStateException 同じ受講生コースIDに紐づくコース申込状況が複数存在する場合
+   */
   public List<CourseDetail> convertCourseDetails(List<StudentCourse> studentCoursesList,
       List<CourseStatus> courseStatusesList) {
-    List<CourseDetail> courseDetails = new ArrayList<>();
+    Map<Integer, CourseStatus> courseStatusMap = new HashMap<>(
+        Math.max(16, (int) (courseStatusesList.size() / 0.75f) + 1));
+    for (CourseStatus courseStatus : courseStatusesList) {
+      CourseStatus duplicated = courseStatusMap.putIfAbsent(courseStatus.getCourseId(),
+          courseStatus);
+      if (duplicated != null) {
+        throw new IllegalStateException(
+            "受講生コースID 「" + courseStatus.getCourseId() + "」に紐づくコース申込状況が複数存在します");
+      }
+    }
+
+    List<CourseDetail> courseDetails = new ArrayList<>(studentCoursesList.size());
 
     for (StudentCourse studentCourse : studentCoursesList) {
       CourseDetail courseDetail = new CourseDetail();
 
       courseDetail.setStudentCourse(studentCourse);
-
-      for (CourseStatus courseStatus : courseStatusesList) {
-        if (courseStatus.getCourseId() == studentCourse.getId()) {
-          courseDetail.setCourseStatus(courseStatus);
-        }
-      }
+      courseDetail.setCourseStatus(courseStatusMap.get(studentCourse.getId()));
 
       courseDetails.add(courseDetail);
 
@@ -24,4 +24,8 @@ public class CourseStatus {
   @NotNull
   private Status status;
 
+  @Schema(description = "コース申込状況のバージョン（更新のたびに1増える。更新時は取得した値を必ず指定する）")
+  @NotNull(groups = OnUpdate.class)
+  private Integer version;
+
 }
@@ -0,0 +1,27 @@
+package raisetech.student.management.model.data;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Schema(description = "コース申込状況の一括更新時に指定可能なパラメータ")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseStatusBulkUpdate {
+
+  @Schema(description = "更新対象の受講生コースIDの一覧")
+  @NotEmpty
+  private List<@NotNull Integer> courseIds;
+
+  @Schema(description = "更新後のコース申込状況（仮申込、本申込、受講中、受講終了のいずれか）")
+  @NotNull
+  private Status status;
+
+}
@@ -0,0 +1,11 @@
+package raisetech.student.management.model.data;
+
+import jakarta.validation.groups.Default;
+
+/**
+ * 更新時にのみ適用する入力チェックのグループです。 更新時は通常の入力チェックに加えて、このグループの入力チェックを行います。
+ * 新規登録時はバージョンをデータベースで採番するため、バージョンの必須チェックはこのグループで更新時にのみ行います。
+ */
+public interface OnUpdate extends Default {
+
+}
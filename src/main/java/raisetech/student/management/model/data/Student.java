@@ -3,13 +3,15 @@ package raisetech.student.management.model.data;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 /**
- * 受講生情報のオブジェクトです。
+ * 受講生情報のオブジェクトです。 文字列の項目の長さの上限は、studentsテーブルの列の長さに合わせています。
  */
 @Schema(description = "受講生情報")
 @Getter
@@ -21,25 +23,35 @@ public class Student {
   private int id;
 
   @NotBlank
+  @Size(max = 100)
   private String fullname;
 
   @NotBlank
+  @Size(max = 100)
   private String furigana;
 
+  @Size(max = 100)
   private String nickname;
 
   @NotBlank
   @Email
+  @Size(max = 256)
   private String mail;
 
+  @Size(max = 256)
   private String address;
 
   private Integer age;
 
   private Gender gender;
 
+  @Size(max = 200)
   private String remark;
 
   private boolean deleted;
 
+  @Schema(description = "受講生情報のバージョン（更新のたびに1増える。更新時は取得した値を必ず指定する）")
+  @NotNull(groups = OnUpdate.class)
+  private Integer version;
+
 }
@@ -2,6 +2,8 @@ package raisetech.student.management.model.data;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -9,7 +11,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 /**
- * 受講生のコース情報のオブジェクトです。
+ * 受講生のコース情報のオブジェクトです。 コース名の長さの上限は、students_coursesテーブルの列の長さに合わせています。
  */
 @Schema(description = "受講生コース情報")
 @Getter
@@ -23,10 +25,15 @@ public class StudentCourse {
   private int studentId;
 
   @NotBlank
+  @Size(max = 100)
   private String courseName;
 
   private LocalDateTime startDate;
 
   private LocalDateTime endDate;
 
+  @Schema(description = "受講生コース情報のバージョン（更新のたびに1増える。更新時は取得した値を必ず指定する）")
+  @NotNull(groups = OnUpdate.class)
+  private Integer version;
+
 }
@@ -7,26 +7,26 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-@Schema(description = "受講生一覧検索時に指定可能なパラメータ")
+@Schema(description = "受講生一覧検索時に指定可能なパラメータ。コースに関する項目は、項目ごとに受講生のいずれかのコースが満たせば合致とする")
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class StudentSearchCriteria {
 
-  @Schema(description = "受講生の氏名（部分一致）")
+  @Schema(description = "受講生の氏名（部分一致。全角・半角、ひらがな・カタカナ、英字の大文字・小文字を区別しない）")
   private String fullname;
 
-  @Schema(description = "受講生のふりがな（部分一致）")
+  @Schema(description = "受講生のふりがな（部分一致。全角・半角、ひらがな・カタカナ、英字の大文字・小文字を区別しない）")
   private String furigana;
 
-  @Schema(description = "受講生のニックネーム（部分一致）")
+  @Schema(description = "受講生のニックネーム（部分一致。全角・半角、ひらがな・カタカナ、英字の大文字・小文字を区別しない）")
   private String nickname;
 
-  @Schema(description = "受講生のメールアドレス（部分一致）")
+  @Schema(description = "受講生のメールアドレス（部分一致。全角・半角、ひらがな・カタカナ、英字の大文字・小文字を区別しない）")
   private String mail;
 
-  @Schema(description = "受講生の住所（部分一致）")
+  @Schema(description = "受講生の住所（部分一致。全角・半角、ひらがな・カタカナ、英字の大文字・小文字を区別しない）")
   private String address;
 
   @Schema(description = "検索対象の下限年齢（●歳以上）")
@@ -0,0 +1,44 @@
+package raisetech.student.management.model.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 一括新規登録における1件ごとの処理結果です。 indexはリクエスト内での位置（0始まり）で、登録に成功した場合は採番された受講生IDを、失敗した場合はその理由を保有します。
+ */
+@Schema(description = "一括新規登録の処理結果")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRegistrationResult {
+
+  private int index;
+
+  private boolean registered;
+
+  private Integer studentId;
+
+  private String message;
+
+  private List<Map<String, String>> errors;
+
+  public static BulkRegistrationResult registered(int index, int studentId) {
+    return new BulkRegistrationResult(index, true, studentId, "登録しました", null);
+  }
+
+  public static BulkRegistrationResult failed(int index, String message) {
+    return failed(index, message, null);
+  }
+
+  public static BulkRegistrationResult failed(int index, String message,
+      List<Map<String, String>> errors) {
+    return new BulkRegistrationResult(index, false, null, message, errors);
+  }
+
+}
@@ -0,0 +1,34 @@
+package raisetech.student.management.model.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * キャッシュの統計情報です。 アプリケーションの起動からの累計値を保有します。
+ */
+@Schema(description = "キャッシュの統計情報")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatistics {
+
+  @Schema(description = "キャッシュに保持している件数（概算）")
+  private long size;
+
+  @Schema(description = "キャッシュから取得できた回数")
+  private long hitCount;
+
+  @Schema(description = "キャッシュになくデータベースから読み込んだ回数")
+  private long missCount;
+
+  @Schema(description = "件数の上限または有効期間により破棄した件数")
+  private long evictionCount;
+
+  @Schema(description = "キャッシュから取得できた割合")
+  private double hitRate;
+
+}
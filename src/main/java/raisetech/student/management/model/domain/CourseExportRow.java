@@ -0,0 +1,29 @@
+package raisetech.student.management.model.domain;
+
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import raisetech.student.management.model.data.Status;
+
+/**
+ * 受講生コースのエクスポートで1行として出力する情報です。 受講生コースとコース申込状況を結合した1行を、入れ子にせずそのまま保有します。
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class CourseExportRow {
+
+  private int id;
+
+  private int studentId;
+
+  private String courseName;
+
+  private LocalDateTime startDate;
+
+  private LocalDateTime endDate;
+
+  private Status status;
+
+}
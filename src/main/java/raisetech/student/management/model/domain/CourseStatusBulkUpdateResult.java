@@ -0,0 +1,24 @@
+package raisetech.student.management.model.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * コース申込状況の一括更新の処理結果です。 更新したコース申込状況の件数と、申込状況が存在しなかった受講生コースIDの一覧を保有します。
+ */
+@Schema(description = "コース申込状況の一括更新の処理結果")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseStatusBulkUpdateResult {
+
+  private int updatedCount;
+
+  private List<Integer> notFoundCourseIds;
+
+}
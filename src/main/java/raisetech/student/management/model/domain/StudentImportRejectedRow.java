@@ -0,0 +1,29 @@
+package raisetech.student.management.model.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生のCSV取り込みで取り込めなかった行です。 行番号と理由、修正して再度取り込めるように元の行の項目を保有します。
+ */
+@Schema(description = "受講生のCSV取り込みで取り込めなかった行")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportRejectedRow {
+
+  @Schema(description = "行が始まる行番号（見出し行を1行目とする）")
+  private int lineNumber;
+
+  @Schema(description = "取り込めなかった理由")
+  private String reason;
+
+  @Schema(description = "元の行の項目（見出し行と同じ順序。CSVの形式が壊れている場合は空）")
+  private List<String> fields;
+
+}
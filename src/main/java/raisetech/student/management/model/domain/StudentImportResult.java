@@ -0,0 +1,46 @@
+package raisetech.student.management.model.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生のCSV取り込みの処理結果です。 読み込んだ行数、登録した受講生・受講生コースの件数、取り込めなかった行数と、処理時間およびスループットを保有します。
+ * 取り込めなかった行は、先頭から上限件数までを行番号と理由とともに保有し、すべての行はリジェクトファイルのIDから取得できます。
+ */
+@Schema(description = "受講生のCSV取り込みの処理結果")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportResult {
+
+  @Schema(description = "読み込んだデータ行数（見出し行を除く）")
+  private int totalRows;
+
+  @Schema(description = "登録した受講生の件数")
+  private int importedStudents;
+
+  @Schema(description = "登録した受講生コースの件数")
+  private int importedCourses;
+
+  @Schema(description = "取り込めなかった行数")
+  private int rejectedRows;
+
+  @Schema(description = "処理時間（ミリ秒）")
+  private long elapsedMillis;
+
+  @Schema(description = "1秒あたりに処理した行数")
+  private double rowsPerSecond;
+
+  @Schema(description = "取り込めなかった行と理由の一覧（検出した順に最大で上限件数まで。件数がrejectedRowsより少ない場合は以降を省略している）")
+  private List<StudentImportRejectedRow> rejects;
+
+  @Schema(description = "取り込めなかったすべての行を書き出したリジェクトファイルのID（GET /students/import/rejects?id={rejectFileId}でダウンロードする。"
+      + "取り込めなかった行がない場合はnull）")
+  private String rejectFileId;
+
+}
@@ -0,0 +1,28 @@
+package raisetech.student.management.model.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生の入力候補です。 ふりがなの前方一致で候補を表示するために、受講生IDと氏名・ふりがなのみを保有します。
+ */
+@Schema(description = "受講生の入力候補")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentSuggestion {
+
+  @Schema(description = "受講生ID")
+  private int id;
+
+  @Schema(description = "受講生の氏名")
+  private String fullname;
+
+  @Schema(description = "受講生のふりがな")
+  private String furigana;
+
+}
@@ -0,0 +1,19 @@
+package raisetech.student.management.model.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 一覧検索の対象となるテーブルの変更状況です。 テーブルの変更カウンタから作成したバージョンを保有します。
+ * いずれかのテーブルが変更されるとバージョンが変わるため、一覧検索の条件付きGETの判定に使用します。
+ */
+@Getter
+@AllArgsConstructor
+public class TableChanges {
+
+  /**
+   * 変更カウンタから作成したバージョンです。 アプリケーションの起動ごとに異なる世代と、各テーブルの変更カウンタを連結した文字列です。
+   */
+  private final String version;
+
+}
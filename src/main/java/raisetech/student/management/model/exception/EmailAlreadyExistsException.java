@@ -10,4 +10,8 @@ public class EmailAlreadyExistsException extends RuntimeException {
     super(message);
   }
 
+  public EmailAlreadyExistsException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
 }
@@ -1,5 +1,6 @@
 package raisetech.student.management.model.exception;
 
+import jakarta.validation.ConstraintViolationException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -40,6 +41,64 @@ public class GlobalExceptionHandler {
 
   }
 
+  /**
+   * リクエストパラメータ（@RequestParam）に制約を満たさない値を入力した場合にエラーメッセージを返すメソッドです。（バリデーション）
+   *
+   * @param ex 例外クラス（制約違反）
+   * @return 制約違反が発生したパラメータとエラーメッセージ
+   */
+  @ExceptionHandler(ConstraintViolationException.class)
+  public ResponseEntity<ErrorResponse> handleConstraintViolationException(
+      ConstraintViolationException ex) {
+
+    List<Map<String, String>> errors = new ArrayList<>();
+
+    ex.getConstraintViolations().forEach(violation -> {
+      Map<String, String> error = new HashMap<>();
+      String path = violation.getPropertyPath().toString();
+      error.put("field", path.substring(path.lastIndexOf('.') + 1));
+      error.put("message", violation.getMessage());
+      errors.add(error);
+    });
+
+    ErrorResponse errorResponse = new ErrorResponse(HttpStatus.BAD_REQUEST,
+        "バリデーションエラーです。",
+        errors);
+
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+
+  }
+
+  /**
+   * ページングのカーソルとして解釈できない値を指定した場合にエラーメッセージを返すメソッドです。
+   *
+   * @param ex 例外クラス（不正なカーソル）
+   * @return エラーレスポンス
+   */
+  @ExceptionHandler(InvalidCursorException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidCursorException(
+      InvalidCursorException ex) {
+
+    ErrorResponse errorResponse = new ErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
+
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+  }
+
+  /**
+   * 一括処理のリクエストボディとして解釈できない値を指定した場合にエラーメッセージを返すメソッドです。
+   *
+   * @param ex 例外クラス（不正なリクエストボディ）
+   * @return エラーレスポンス
+   */
+  @ExceptionHandler(InvalidBulkRequestException.class)
+  public ResponseEntity<ErrorResponse> handleInvalidBulkRequestException(
+      InvalidBulkRequestException ex) {
+
+    ErrorResponse errorResponse = new ErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
+
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+  }
+
   /**
    * Enum型のリクエストパラメータとして有効ではない値を入力してリクエスト場合にエラーメッセージを返すメソッドです。
    *
@@ -85,4 +144,19 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
   }
 
+  /**
+   * 他の更新により変更された情報を、変更前のバージョンを指定して更新しようとした場合に例外処理を行うメソッドです。
+   *
+   * @param ex 例外クラス（バージョンの競合）
+   * @return エラーレスポンス
+   */
+  @ExceptionHandler(VersionConflictException.class)
+  public ResponseEntity<ErrorResponse> handleVersionConflictException(
+      VersionConflictException ex) {
+
+    ErrorResponse errorResponse = new ErrorResponse(HttpStatus.CONFLICT, ex.getMessage());
+
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+  }
+
 }
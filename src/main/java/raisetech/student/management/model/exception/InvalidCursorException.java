@@ -0,0 +1,13 @@
+package raisetech.student.management.model.exception;
+
+/**
+ * ページングのカーソルとして解釈できない値を指定した場合の例外を定義するクラスです。引数にメッセージを指定すると、例外発生時にメッセージを返します。
+ * Spring の @Transactional アノテーションは、デフォルトで非検査例外に対してロールバックを行うため、非検査例外としています。
+ */
+public class InvalidCursorException extends RuntimeException {
+
+  public InvalidCursorException(String message) {
+    super(message);
+  }
+
+}
@@ -0,0 +1,14 @@
+package raisetech.student.management.model.exception;
+
+/**
+ * 更新対象のバージョンが、更新前に取得したバージョンと一致しない場合に発生する例外を定義するクラスです（楽観的排他制御）。
+ * 他の更新と競合したことを示し、最新の情報を取得し直してから更新する必要があります。
+ * Spring の @Transactional アノテーションは、デフォルトで非検査例外に対してロールバックを行うため、非検査例外としています。
+ */
+public class VersionConflictException extends RuntimeException {
+
+  public VersionConflictException(String message) {
+    super(message);
+  }
+
+}
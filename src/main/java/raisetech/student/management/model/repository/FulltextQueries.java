@@ -0,0 +1,39 @@
+package raisetech.student.management.model.repository;
+
+/**
+ * 全文検索（MATCH ... AGAINST）の検索文字列を組み立てるマッパー用のユーティリティです。 全文検索索引はngramパーサーで2文字ずつに分割しているため、
+ * 2文字以上の検索文字列をフレーズ検索として渡します。
+ */
+public final class FulltextQueries {
+
+  /**
+   * 全文検索索引のトークンの長さ（MySQLのngram_token_size）です。
+   */
+  static final int NGRAM_TOKEN_SIZE = 2;
+
+  private FulltextQueries() {
+  }
+
+  /**
+   * 検索文字列を全文検索索引で絞り込めるかどうかを判定します。 トークンの長さに満たない検索文字列と、フレーズ検索の区切りである二重引用符を含む
+   * 検索文字列は索引で絞り込めません。
+   *
+   * @param value 検索文字列
+   * @return 全文検索索引で絞り込める場合はtrue
+   */
+  public static boolean isSearchable(String value) {
+    return value != null && value.indexOf('"') < 0
+        && value.codePointCount(0, value.length()) >= NGRAM_TOKEN_SIZE;
+  }
+
+  /**
+   * 検索文字列をBOOLEAN MODEのフレーズ検索の形式に変換します。 +や*などが演算子として解釈されないよう、二重引用符で囲みます。
+   *
+   * @param value 検索文字列（isSearchableがtrueであること）
+   * @return フレーズ検索の文字列
+   */
+  public static String phrase(String value) {
+    return "\"" + value + "\"";
+  }
+
+}
@@ -0,0 +1,55 @@
+package raisetech.student.management.model.repository;
+
+/**
+ * 部分一致・前方一致検索（LIKE）のパターンを組み立てるマッパー用のユーティリティです。 検索文字列に含まれる%や_がワイルドカードとして解釈されないよう、
+ * エスケープ文字（{@value #ESCAPE}）でエスケープしたうえで%を付けます。 マッパーではLIKEにESCAPE '!'を指定します。
+ */
+public final class LikePatterns {
+
+  /**
+   * LIKEのエスケープ文字です。 バックスラッシュは文字列リテラルでの扱いがMySQLとH2で異なるため、どちらでもそのまま書ける文字を使用します。
+   */
+  static final char ESCAPE = '!';
+
+  private LikePatterns() {
+  }
+
+  /**
+   * 検索文字列を部分一致のパターンに変換します。
+   *
+   * @param value 検索文字列
+   * @return 部分一致のパターン（nullの場合はnull）
+   */
+  public static String contains(String value) {
+    if (value == null) {
+      return null;
+    }
+    return escape(new StringBuilder(value.length() + 2).append('%'), value).append('%')
+        .toString();
+  }
+
+  /**
+   * 検索文字列を前方一致のパターンに変換します。
+   *
+   * @param value 検索文字列
+   * @return 前方一致のパターン（nullの場合はnull）
+   */
+  public static String startsWith(String value) {
+    if (value == null) {
+      return null;
+    }
+    return escape(new StringBuilder(value.length() + 1), value).append('%').toString();
+  }
+
+  private static StringBuilder escape(StringBuilder pattern, String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == ESCAPE || c == '%' || c == '_') {
+        pattern.append(ESCAPE);
+      }
+      pattern.append(c);
+    }
+    return pattern;
+  }
+
+}
@@ -0,0 +1,60 @@
+package raisetech.student.management.model.repository;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import raisetech.student.management.model.services.TextNormalizer;
+
+/**
+ * 検索用に正規化した列へ値を設定するタイプハンドラーです。 パラメータをTextNormalizerで正規化してから設定するため、正規化は登録・更新時に1回だけ行われます。
+ * NFKCの互換分解で1文字が複数の文字に展開されるため、正規化した列は元の列の{@value #MAX_EXPANSION}倍の長さで定義し、
+ * 正規化した値がその長さを超える場合は切り詰めて設定します。 読み込み時は値をそのまま返します。
+ */
+public class NormalizedTextTypeHandler extends BaseTypeHandler<String> {
+
+  /**
+   * 正規化前の値の長さに対する、正規化した値の長さの上限の倍率です。
+   */
+  static final int MAX_EXPANSION = 3;
+
+  @Override
+  public void setNonNullParameter(PreparedStatement ps, int i, String parameter,
+      JdbcType jdbcType) throws SQLException {
+    ps.setString(i, truncate(TextNormalizer.normalize(parameter),
+        parameter.length() * MAX_EXPANSION));
+  }
+
+  /**
+   * 値を指定した文字数までに切り詰めます。 サロゲートペアの途中では切らず、その手前までとします。
+   *
+   * @param value     値
+   * @param maxLength 文字数の上限
+   * @return 切り詰めた値
+   */
+  static String truncate(String value, int maxLength) {
+    if (value.length() <= maxLength) {
+      return value;
+    }
+    int end = Character.isHighSurrogate(value.charAt(maxLength - 1)) ? maxLength - 1 : maxLength;
+    return value.substring(0, end);
+  }
+
+  @Override
+  public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+    return rs.getString(columnName);
+  }
+
+  @Override
+  public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+    return rs.getString(columnIndex);
+  }
+
+  @Override
+  public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+    return cs.getString(columnIndex);
+  }
+
+}
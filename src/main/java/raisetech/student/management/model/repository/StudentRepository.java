@@ -2,9 +2,18 @@ package raisetech.student.management.model.repository;
 
 import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import raisetech.student.management.model.data.CourseSearchCriteria;
 import raisetech.student.management.model.data.CourseStatus;
+import raisetech.student.management.model.data.Status;
 import raisetech.student.management.model.data.Student;
 import raisetech.student.management.model.data.StudentCourse;
+import raisetech.student.management.model.data.StudentSearchCriteria;
+import raisetech.student.management.model.domain.CourseDetail;
+import raisetech.student.management.model.domain.CourseExportRow;
+import raisetech.student.management.model.domain.StudentDetail;
+import raisetech.student.management.model.domain.StudentSuggestion;
 
 /**
  * 受講生テーブルと受講生コース情報テーブルと紐づくRepositoryです。
@@ -13,26 +22,98 @@ import raisetech.student.management.model.data.StudentCourse;
 public interface StudentRepository {
 
   /**
-   * 受講生の全件検索を行います。
+   * 検索条件に合致する受講生詳細情報の検索を行います。 絞り込みはSQL側で行い、受講生と受講生コースを結合した1回の問い合わせで受講生ID順に取得します。
+   * 受講生IDをキーとしたキーセットページングに対応しており、afterIdより後の受講生を最大limit件取得します。
    *
-   * @return 受講生一覧（全件）
+   * @param criteria 検索条件
+   * @param afterId  前ページの最後の受講生ID（nullの場合は先頭から取得）
+   * @param limit    取得件数の上限（nullの場合は全件取得）
+   * @return 検索条件に合致する受講生詳細情報一覧
    */
-  List<Student> searchStudents();
+  List<StudentDetail> searchStudentDetails(@Param("criteria") StudentSearchCriteria criteria,
+      @Param("afterId") Integer afterId, @Param("limit") Integer limit);
 
   /**
-   * 受講生の検索を行います。
+   * 検索条件に合致する受講生詳細情報の検索を、氏名・ふりがな・ニックネーム・住所の全文検索索引（ngramパーサー）で候補を絞り込んだうえで行います。
+   * 絞り込んだ候補はLIKEで部分一致を確認するため、検索結果はsearchStudentDetailsと同じです。 全文検索索引を使用できないデータベースでは
+   * searchStudentDetailsと同じくLIKEのみで検索します。
+   *
+   * @param criteria 検索条件
+   * @param afterId  前ページの最後の受講生ID（nullの場合は先頭から取得）
+   * @param limit    取得件数の上限（nullの場合は全件取得）
+   * @return 検索条件に合致する受講生詳細情報一覧
+   */
+  List<StudentDetail> searchStudentDetailsFulltext(
+      @Param("criteria") StudentSearchCriteria criteria, @Param("afterId") Integer afterId,
+      @Param("limit") Integer limit);
+
+  /**
+   * ふりがなが前方一致する削除されていない受講生の入力候補の検索を行います。 受講生の入力候補の索引を使用できない場合に使用します。
+   * 正規化したふりがなから空白を除いた値を比較するため、索引と同じくひらがなとカタカナ、全角と半角、空白の有無を区別しません。
+   * 並び順は正規化したふりがな順（データベースの照合順序に従う）、同じふりがなの場合は受講生ID順です。
+   *
+   * @param prefix 正規化して空白を除いたふりがなの先頭部分
+   * @param limit  取得件数の上限
+   * @return 受講生の入力候補の一覧
+   */
+  List<StudentSuggestion> searchStudentSuggestions(@Param("prefix") String prefix,
+      @Param("limit") int limit);
+
+  /**
+   * 受講生詳細情報の検索を行います。 受講生と受講生コースを結合した1回の問い合わせで取得します。
    *
    * @param id 受講生ID
-   * @return IDに紐づく受講生の情報
+   * @return IDに紐づく受講生の詳細情報（存在しない場合はnull）
    */
-  Student searchStudent(int id);
+  StudentDetail searchStudentDetail(int id);
+
+  /**
+   * 受講生詳細情報のバージョンの検索を行います。 受講生と受講生コースのIDとバージョンのみを取得し、その他の項目は設定しません。
+   *
+   * @param id 受講生ID
+   * @return IDとバージョンのみを設定した受講生詳細情報（存在しない場合はnull）
+   */
+  StudentDetail searchStudentDetailVersion(int id);
+
+  /**
+   * 受講生詳細情報の全件を受講生ID順に1件ずつ読み込むCursorを取得します。 一覧をまとめてメモリ上に保持しないため、件数に関わらず使用するメモリは一定です。
+   * Cursorはトランザクション内で読み込み、読み込み後に必ずクローズしてください。
+   *
+   * @return 受講生詳細情報のCursor
+   */
+  Cursor<StudentDetail> exportStudentDetails();
+
+  /**
+   * 受講生の全件を受講生ID順に1件ずつ読み込むCursorを取得します。 候補表示用の索引の作成に使用するため、受講生ID・氏名・ふりがな・削除フラグ・バージョンのみを取得します。
+   * Cursorはトランザクション内で読み込み、読み込み後に必ずクローズしてください。
+   *
+   * @return 受講生のCursor
+   */
+  Cursor<Student> exportStudentNames();
+
+  /**
+   * 指定したメールアドレスの受講生が存在するかを検索します。 メールアドレスの一意制約の索引を使用するため、受講生テーブルの全件は読み込みません。
+   *
+   * @param mail メールアドレス
+   * @return 受講生が存在する場合はtrue
+   */
+  boolean existsByMail(String mail);
+
+  /**
+   * 指定したメールアドレスのうち、すでに登録されているものを検索します。 複数のメールアドレスの重複確認を1回の問い合わせで行います。
+   *
+   * @param mails メールアドレスの一覧（空の一覧は指定できません）
+   * @return 登録済みのメールアドレスの一覧
+   */
+  List<String> searchRegisteredMails(List<String> mails);
 
   /**
-   * 受講生のコース情報の全件検索を行います。
+   * 受講生の検索を行います。
    *
-   * @return 受講生のコース情報（全件）
+   * @param id 受講生ID
+   * @return IDに紐づく受講生の情報
    */
-  List<StudentCourse> searchStudentCoursesList();
+  Student searchStudent(int id);
 
   /**
    * 受講生コースの検索を行います。
@@ -43,19 +124,43 @@ public interface StudentRepository {
   StudentCourse searchStudentCourse(int id);
 
   /**
-   * 受講生IDに紐づく受講生コース情報を検索します。
+   * 受講生コース詳細情報のバージョンの検索を行います。 受講生コースとコース申込状況のIDとバージョンのみを取得し、その他の項目は設定しません。
+   *
+   * @param id 受講生コースID
+   * @return IDとバージョンのみを設定した受講生コース詳細情報（存在しない場合はnull）
+   */
+  CourseDetail searchCourseDetailVersion(int id);
+
+  /**
+   * 指定した受講生コースIDのうち、指定した受講生に紐づくものを検索します。 複数の受講生コースの存在確認を1回の問い合わせで行います。
+   * 他の受講生に紐づく受講生コースIDは、存在しないものとして扱います。
    *
    * @param studentId 受講生ID
-   * @return 受講生のIDに紐づく受講生のコース情報
+   * @param ids       受講生コースIDの一覧（空の一覧は指定できません）
+   * @return 受講生に紐づく受講生コースIDの一覧
    */
-  List<StudentCourse> searchStudentCourses(int studentId);
+  List<Integer> searchStudentCourseIds(@Param("studentId") int studentId,
+      @Param("ids") List<Integer> ids);
 
   /**
-   * コース申込状況の全件検索を行います。
+   * 検索条件に合致する受講生コース詳細情報の検索を行います。 受講生コースとコース申込状況を結合し、絞り込みはSQL側で行います。
+   * 受講生コースIDをキーとしたキーセットページングに対応しており、afterIdより後の受講生コースを最大limit件取得します。
    *
-   * @return コース申込状況（全件）
+   * @param criteria 検索条件
+   * @param afterId  前ページの最後の受講生コースID（nullの場合は先頭から取得）
+   * @param limit    取得件数の上限（nullの場合は全件取得）
+   * @return 検索条件に合致する受講生コース詳細情報一覧
    */
-  List<CourseStatus> searchCourseStatusList();
+  List<CourseDetail> searchCourseDetails(@Param("criteria") CourseSearchCriteria criteria,
+      @Param("afterId") Integer afterId, @Param("limit") Integer limit);
+
+  /**
+   * 受講生コースとコース申込状況を結合した行の全件を、受講生コースID順に1行ずつ読み込むCursorを取得します。
+   * 受講生コース詳細情報は組み立てず、1行を1件としてそのまま返します。 Cursorはトランザクション内で読み込み、読み込み後に必ずクローズしてください。
+   *
+   * @return 受講生コースとコース申込状況を結合した行のCursor
+   */
+  Cursor<CourseExportRow> exportCourses();
 
   /**
    * 受講生コースIDに紐づくコース申込状況を検索します。
@@ -65,6 +170,14 @@ public interface StudentRepository {
    */
   CourseStatus searchCourseStatus(int courseId);
 
+  /**
+   * 指定した受講生コースIDのうち、コース申込状況が存在するものを検索します。 複数の受講生コースの存在確認を1回の問い合わせで行います。
+   *
+   * @param courseIds 受講生コースIDの一覧（空の一覧は指定できません）
+   * @return コース申込状況が存在する受講生コースIDの一覧
+   */
+  List<Integer> searchCourseStatusCourseIds(List<Integer> courseIds);
+
   /**
    * 受講生の新規登録です。 新規の受講生の情報を受講生テーブルに追加します。
    *
@@ -73,36 +186,63 @@ public interface StudentRepository {
   void registerStudent(Student student);
 
   /**
-   * 受講生コース情報の新規登録です。 新規の受講生コースの情報を受講生コーステーブルに追加します。
+   * 受講生の一括新規登録です。 複数の受講生を1回の問い合わせで受講生テーブルに追加し、採番されたIDを各受講生に設定します。
+   *
+   * @param students 新規受講生の情報の一覧（空の一覧は指定できません）
+   */
+  void registerStudentsList(List<Student> students);
+
+  /**
+   * 受講生コース情報の一括新規登録です。 複数の受講生コースを1回の問い合わせで受講生コーステーブルに追加し、採番されたIDを各受講生コースに設定します。
    *
-   * @param studentCourse 新規受講生に登録するコース情報
+   * @param studentCourses 新規受講生に登録するコース情報の一覧（空の一覧は指定できません）
    */
-  void registerStudentCourses(StudentCourse studentCourse);
+  void registerStudentCoursesList(List<StudentCourse> studentCourses);
 
   /**
-   * @param courseStatus 新規の受講生コースに登録する申込状況
+   * コース申込状況の一括新規登録です。 複数のコース申込状況を1回の問い合わせでコース申込状況テーブルに追加し、採番されたIDを各申込状況に設定します。
+   *
+   * @param courseStatuses 新規の受講生コースに登録する申込状況の一覧（空の一覧は指定できません）
    */
-  void registerCourseStatus(CourseStatus courseStatus);
+  void registerCourseStatusList(List<CourseStatus> courseStatuses);
 
   /**
    * 受講生情報の更新です。受講生IDを参照して、受講生テーブルで該当する受講生情報を更新します。
+   * バージョンが指定した値と一致する場合のみ更新し、バージョンを1増やします（楽観的排他制御）。
    *
-   * @param student 受講生の更新情報
+   * @param student 受講生の更新情報（バージョンには更新前に取得した値を指定する）
+   * @return 更新対象となった行数（受講生IDが存在しない場合と、バージョンが一致しない場合は0）
    */
-  void updateStudent(Student student);
+  int updateStudent(Student student);
 
   /**
-   * 受講生のコース名の更新です。受講生IDを参照して、受講生コーステーブルで該当する受講生のコース名を更新します。
+   * 受講生のコース名の一括更新です。指定した受講生に紐づく複数の受講生コースのコース名を1回の問い合わせで更新します。
+   * 他の受講生に紐づく受講生コースと、バージョンが指定した値と一致しない受講生コースは更新しません。（楽観的排他制御）
    *
-   * @param studentCourse 受講生のコースの更新情報
+   * @param studentId      受講生ID
+   * @param studentCourses 受講生のコースの更新情報の一覧（空の一覧は指定できません。バージョンには更新前に取得した値を指定する）
+   * @return 更新件数
    */
-  void updateStudentCourses(StudentCourse studentCourse);
+  int updateStudentCoursesList(@Param("studentId") int studentId,
+      @Param("studentCourses") List<StudentCourse> studentCourses);
 
   /**
    * 受講生コースの申込状況の更新です。受講生コースIDを参照して、コース申込状況テーブルで該当するコース名の申込状況を更新します。
+   * バージョンが指定した値と一致する場合のみ更新し、バージョンを1増やします（楽観的排他制御）。
+   *
+   * @param courseStatus 　受講生コースの申込状況の更新情報（バージョンには更新前に取得した値を指定する）
+   * @return 更新対象となった行数（受講生コースIDに紐づく申込状況が存在しない場合と、バージョンが一致しない場合は0）
+   */
+  int updateCourseStatus(CourseStatus courseStatus);
+
+  /**
+   * 受講生コースの申込状況の一括更新です。指定した受講生コースIDに紐づく申込状況を、1回の問い合わせですべて同じ値に更新します。
    *
-   * @param courseStatus 　受講生コースの申込状況の更新情報
+   * @param courseIds 受講生コースIDの一覧（空の一覧は指定できません）
+   * @param status    更新後の申込状況
+   * @return 更新対象となった行数
    */
-  void updateCourseStatus(CourseStatus courseStatus);
+  int updateCourseStatuses(@Param("courseIds") List<Integer> courseIds,
+      @Param("status") Status status);
 
 }
@@ -0,0 +1,183 @@
+package raisetech.student.management.model.services;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180形式のCSVを1レコードずつ読み込むクラスです。 入力全体を読み込まず、内部のバッファに読み込んだ分だけを順次解析します。
+ * ダブルクォートで囲まれた項目内のカンマ・改行・2つ重ねたダブルクォートに対応し、先頭のBOMと空行は読み飛ばします。
+ * ダブルクォートが閉じられていないCSVなどでもメモリ使用量が入力の大きさに比例しないよう、項目は{@link #MAX_FIELD_LENGTH}文字、
+ * レコードは{@link #MAX_FIELDS}項目までを保持し、それを超える部分は読み飛ばします（いずれも取り込む列の長さと数より大きいため、
+ * 超えたレコードは入力チェックまたは項目の数の確認で取り込めない行になります）。
+ */
+class CsvReader implements Closeable {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private static final int NO_CHAR = -2;
+
+  /**
+   * 1つの項目として保持する文字数の上限です。
+   */
+  static final int MAX_FIELD_LENGTH = 1024;
+
+  /**
+   * 1つのレコードとして保持する項目の数の上限です。
+   */
+  static final int MAX_FIELDS = 256;
+
+  private final Reader reader;
+  private final char[] buffer = new char[BUFFER_SIZE];
+  private final StringBuilder field = new StringBuilder();
+  private int position;
+  private int limit;
+  private int pushedBack = NO_CHAR;
+  private boolean started;
+  private int lineNumber = 1;
+  private int recordLineNumber;
+
+  CsvReader(Reader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * 次のレコードを読み込みます。
+   *
+   * @return レコードの項目の一覧（入力の終わりに達した場合はnull）
+   * @throws MalformedCsvException ダブルクォートが閉じられないまま入力の終わりに達した場合
+   * @throws IOException           入力の読み込みに失敗した場合
+   */
+  List<String> readRecord() throws IOException {
+    int c = next();
+    if (!started) {
+      started = true;
+      if (c == '\uFEFF') {
+        c = next();
+      }
+    }
+    while (c == '\r' || c == '\n') {
+      skipLineBreak(c);
+      c = next();
+    }
+    if (c == -1) {
+      return null;
+    }
+
+    recordLineNumber = lineNumber;
+    List<String> fields = new ArrayList<>();
+    field.setLength(0);
+    boolean quoted = false;
+    while (true) {
+      if (quoted) {
+        if (c == -1) {
+          throw new MalformedCsvException(recordLineNumber, "ダブルクォートが閉じられていません。");
+        }
+        if (c == '"') {
+          c = next();
+          if (c != '"') {
+            quoted = false;
+            continue;
+          }
+        } else if (c == '\n') {
+          lineNumber++;
+        }
+        append(c);
+      } else if (c == ',') {
+        addField(fields);
+      } else if (c == '\r' || c == '\n' || c == -1) {
+        addField(fields);
+        skipLineBreak(c);
+        return fields;
+      } else if (c == '"' && field.isEmpty()) {
+        quoted = true;
+      } else {
+        append(c);
+      }
+      c = next();
+    }
+  }
+
+  /**
+   * 直前に読み込んだレコードが始まる行番号を取得します。
+   *
+   * @return 行番号（1始まり）
+   */
+  int getRecordLineNumber() {
+    return recordLineNumber;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private void append(int c) {
+    if (field.length() < MAX_FIELD_LENGTH) {
+      field.append((char) c);
+    }
+  }
+
+  private void addField(List<String> fields) {
+    if (fields.size() < MAX_FIELDS) {
+      fields.add(field.toString());
+    }
+    field.setLength(0);
+  }
+
+  /**
+   * 改行コード（CR、LF、CRLF）を1つ読み飛ばし、行番号を進めます。
+   *
+   * @param c 読み込み済みの文字
+   */
+  private void skipLineBreak(int c) throws IOException {
+    if (c == -1) {
+      return;
+    }
+    if (c == '\r') {
+      int n = next();
+      if (n != '\n') {
+        pushedBack = n;
+      }
+    }
+    lineNumber++;
+  }
+
+  private int next() throws IOException {
+    if (pushedBack != NO_CHAR) {
+      int c = pushedBack;
+      pushedBack = NO_CHAR;
+      return c;
+    }
+    if (position == limit) {
+      limit = reader.read(buffer, 0, buffer.length);
+      position = 0;
+      if (limit <= 0) {
+        limit = 0;
+        return -1;
+      }
+    }
+    return buffer[position++];
+  }
+
+  /**
+   * CSVの形式が不正なため、以降のレコードを読み込めない場合の例外です。
+   */
+  static class MalformedCsvException extends IOException {
+
+    private final int lineNumber;
+
+    MalformedCsvException(int lineNumber, String message) {
+      super(message);
+      this.lineNumber = lineNumber;
+    }
+
+    int getLineNumber() {
+      return lineNumber;
+    }
+
+  }
+
+}
@@ -0,0 +1,23 @@
+package raisetech.student.management.model.services;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * インメモリの索引に全件を読み込む際の読み込み元です。 索引は反映処理を排他してから読み込みを開始するため、
+ * 読み込み元はこのメソッドの中でCursorを開き、全件を渡し終えてから閉じます。
+ *
+ * @param <T> 読み込む要素の型
+ */
+@FunctionalInterface
+public interface IndexSource<T> {
+
+  /**
+   * 全件を順に渡します。
+   *
+   * @param action 要素ごとに実行する処理
+   * @throws IOException 読み込み元のクローズに失敗した場合
+   */
+  void forEach(Consumer<? super T> action) throws IOException;
+
+}
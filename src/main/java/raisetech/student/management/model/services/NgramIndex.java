@@ -0,0 +1,196 @@
+package raisetech.student.management.model.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 文字列の部分一致検索に用いるN-gramの転置索引です。 値に含まれる1文字（ユニグラム）と連続する2文字（バイグラム）ごとに、その文字を含む受講生IDの
+ * 昇順の一覧（ポスティングリスト）を保持します。 日本語の氏名や住所は2文字の組み合わせで十分に絞り込めるため、トライグラム以上は保持しません。
+ * 検索文字列の全バイグラムを含む受講生IDを候補として返すため、候補が実際に部分一致するかどうかは呼び出し側で確認する必要があります。
+ * スレッドセーフではないため、呼び出し側で排他します。
+ */
+class NgramIndex {
+
+  private static final long UNIGRAM = 1L << 32;
+
+  private static final int[] NO_IDS = new int[0];
+
+  private final Map<Long, Postings> postings = new HashMap<>();
+
+  /**
+   * 受講生IDを、値に含まれる各N-gramのポスティングリストに追加します。
+   *
+   * @param id    受講生ID
+   * @param value 値（nullの場合は何もしません）
+   */
+  void add(int id, String value) {
+    for (long gram : grams(value)) {
+      postings.computeIfAbsent(gram, key -> new Postings()).add(id);
+    }
+  }
+
+  /**
+   * 受講生IDを、値に含まれる各N-gramのポスティングリストから削除します。
+   *
+   * @param id    受講生ID
+   * @param value 追加時の値（nullの場合は何もしません）
+   */
+  void remove(int id, String value) {
+    for (long gram : grams(value)) {
+      Postings ids = postings.get(gram);
+      if (ids != null && ids.remove(id) && ids.size == 0) {
+        postings.remove(gram);
+      }
+    }
+  }
+
+  /**
+   * 部分一致の候補となる受講生IDを取得します。 検索文字列が1文字の場合はその文字のポスティングリストを、2文字以上の場合は全バイグラムの
+   * ポスティングリストを件数の少ない順に積集合を取った結果を返します。
+   *
+   * @param query 検索文字列
+   * @return 候補となる受講生IDの昇順の配列（検索文字列が空の場合は絞り込めないためnull）
+   */
+  int[] candidates(String query) {
+    if (query.isEmpty()) {
+      return null;
+    }
+
+    List<Postings> lists = new ArrayList<>();
+    for (long gram : queryGrams(query)) {
+      Postings ids = postings.get(gram);
+      if (ids == null) {
+        return NO_IDS;
+      }
+      lists.add(ids);
+    }
+    lists.sort(Comparator.comparingInt(ids -> ids.size));
+
+    int[] result = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+    for (int i = 1; i < lists.size() && result.length > 0; i++) {
+      result = intersect(result, lists.get(i).ids, lists.get(i).size);
+    }
+    return result;
+  }
+
+  /**
+   * 保持しているN-gramの種類数を取得します。
+   *
+   * @return N-gramの種類数
+   */
+  int gramCount() {
+    return postings.size();
+  }
+
+  /**
+   * 昇順の2つの受講生IDの一覧の積集合を取ります。 件数の少ない側の各受講生IDを、もう一方の一覧から二分探索します。
+   *
+   * @param ids       件数の少ない側の受講生IDの昇順の配列
+   * @param other     もう一方の受講生IDの昇順の配列
+   * @param otherSize もう一方の配列のうち有効な要素数
+   * @return 積集合の受講生IDの昇順の配列
+   */
+  static int[] intersect(int[] ids, int[] other, int otherSize) {
+    int[] result = new int[ids.length];
+    int count = 0;
+    int from = 0;
+    for (int id : ids) {
+      int found = Arrays.binarySearch(other, from, otherSize, id);
+      if (found >= 0) {
+        result[count++] = id;
+        from = found + 1;
+      } else {
+        from = -found - 1;
+      }
+    }
+    return Arrays.copyOf(result, count);
+  }
+
+  /**
+   * 値に含まれる重複のないユニグラムとバイグラムを取得します。
+   */
+  private static Set<Long> grams(String value) {
+    Set<Long> grams = new HashSet<>();
+    if (value == null) {
+      return grams;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      grams.add(unigram(value.charAt(i)));
+      if (i + 1 < value.length()) {
+        grams.add(bigram(value.charAt(i), value.charAt(i + 1)));
+      }
+    }
+    return grams;
+  }
+
+  /**
+   * 検索文字列の絞り込みに用いるN-gramを取得します。 2文字以上の場合は、ユニグラムはバイグラムに包含されるため用いません。
+   */
+  private static Set<Long> queryGrams(String query) {
+    Set<Long> grams = new HashSet<>();
+    if (query.length() == 1) {
+      grams.add(unigram(query.charAt(0)));
+      return grams;
+    }
+    for (int i = 0; i + 1 < query.length(); i++) {
+      grams.add(bigram(query.charAt(i), query.charAt(i + 1)));
+    }
+    return grams;
+  }
+
+  private static long unigram(char c) {
+    return UNIGRAM | c;
+  }
+
+  private static long bigram(char first, char second) {
+    return ((long) first << 16) | second;
+  }
+
+  /**
+   * 受講生IDの昇順の一覧です。 受講生IDは通常は昇順に追加されるため末尾に追加し、前後した場合のみ挿入位置を探します。
+   */
+  private static class Postings {
+
+    private int[] ids = new int[4];
+    private int size;
+
+    void add(int id) {
+      if (size > 0 && ids[size - 1] >= id) {
+        int found = Arrays.binarySearch(ids, 0, size, id);
+        if (found >= 0) {
+          return;
+        }
+        insert(-found - 1, id);
+        return;
+      }
+      insert(size, id);
+    }
+
+    boolean remove(int id) {
+      int found = Arrays.binarySearch(ids, 0, size, id);
+      if (found < 0) {
+        return false;
+      }
+      System.arraycopy(ids, found + 1, ids, found, size - found - 1);
+      size--;
+      return true;
+    }
+
+    private void insert(int position, int id) {
+      if (size == ids.length) {
+        ids = Arrays.copyOf(ids, ids.length * 2);
+      }
+      System.arraycopy(ids, position, ids, position + 1, size - position);
+      ids[position] = id;
+      size++;
+    }
+
+  }
+
+}
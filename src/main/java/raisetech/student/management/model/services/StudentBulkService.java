@@ -0,0 +1,225 @@
+package raisetech.student.management.model.services;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import raisetech.student.management.model.domain.BulkRegistrationResult;
+import raisetech.student.management.model.domain.IntegratedDetail;
+import raisetech.student.management.model.domain.StudentDetail;
+import raisetech.student.management.model.exception.EmailAlreadyExistsException;
+import raisetech.student.management.model.exception.InvalidBulkRequestException;
+import raisetech.student.management.model.exception.InvalidEnumException;
+
+/**
+ * 受講生の一括新規登録を行うサービスです。 リクエストボディ全体を一度にバインドせず、受講生の詳細情報を1件ずつ読み込んで検証し、
+ * 一定件数（チャンク）ごとにメールアドレスの重複確認と登録を行います。 登録はチャンクごとに独立したトランザクションで行うため、
+ * 途中のチャンクで失敗しても、それ以前に登録済みのチャンクは取り消されません。
+ */
+@Service
+public class StudentBulkService {
+
+  private final StudentService studentService;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final int chunkSize;
+
+  public StudentBulkService(StudentService studentService, ObjectMapper objectMapper,
+      Validator validator, @Value("${student.bulk.chunk-size:500}") int chunkSize) {
+    this.studentService = studentService;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * 受講生の詳細情報の一括新規登録です。 JSON配列、または1行に1件の受講生詳細情報を記述したNDJSONを読み込みます。
+   * 形式やバリデーションに誤りがある要素、および登録済みのメールアドレスを指定した要素は登録せず、その理由を処理結果に設定します。
+   * 途中でJSONの構文が壊れている場合は、それ以前の要素を登録したうえで以降の処理を中止します。
+   *
+   * @param body リクエストボディ
+   * @return 要素ごとの処理結果（リクエスト内の順序）
+   * @throws IOException リクエストボディの読み込みに失敗した場合
+   */
+  public List<BulkRegistrationResult> registerStudents(InputStream body) throws IOException {
+    List<BulkRegistrationResult> results = new ArrayList<>();
+    List<BulkItem> chunk = new ArrayList<>(chunkSize);
+    int index = 0;
+
+    try (JsonParser parser = objectMapper.createParser(body)) {
+      JsonToken token = firstToken(parser);
+      if (token == JsonToken.START_ARRAY) {
+        token = parser.nextToken();
+      }
+
+      try {
+        while (token != null && token != JsonToken.END_ARRAY) {
+          JsonNode node = parser.readValueAsTree();
+          StudentDetail studentDetail = toStudentDetail(index, node, results);
+          if (studentDetail != null) {
+            chunk.add(new BulkItem(index, studentDetail));
+            if (chunk.size() >= chunkSize) {
+              results.addAll(registerChunk(chunk));
+              chunk.clear();
+            }
+          }
+          index++;
+          token = parser.nextToken();
+        }
+      } catch (JsonProcessingException e) {
+        results.add(BulkRegistrationResult.failed(index, "JSONの構文が不正なため、以降の処理を中止しました。"));
+      }
+    }
+
+    results.addAll(registerChunk(chunk));
+    results.sort(Comparator.comparingInt(BulkRegistrationResult::getIndex));
+    return results;
+  }
+
+  /**
+   * リクエストボディの最初のトークンを読み込むメソッドです。 JSON配列またはJSONオブジェクトで始まらない場合は例外をスローします。
+   *
+   * @param parser パーサー
+   * @return 最初のトークン（空のリクエストボディの場合はnull）
+   * @throws IOException リクエストボディの読み込みに失敗した場合
+   */
+  private JsonToken firstToken(JsonParser parser) throws IOException {
+    JsonToken token;
+    try {
+      token = parser.nextToken();
+    } catch (JsonProcessingException e) {
+      token = JsonToken.NOT_AVAILABLE;
+    }
+
+    if (token != null && token != JsonToken.START_ARRAY && token != JsonToken.START_OBJECT) {
+      throw new InvalidBulkRequestException(
+          "リクエストボディは受講生の詳細情報のJSON配列またはNDJSONで指定してください。");
+    }
+    return token;
+  }
+
+  /**
+   * 読み込んだ要素を受講生の詳細情報に変換して検証するメソッドです。 変換や検証に失敗した場合は処理結果に理由を追加し、nullを返します。
+   *
+   * @param index   リクエスト内での位置
+   * @param node    読み込んだ要素
+   * @param results 処理結果
+   * @return 受講生の詳細情報（変換や検証に失敗した場合はnull）
+   */
+  private StudentDetail toStudentDetail(int index, JsonNode node,
+      List<BulkRegistrationResult> results) {
+    StudentDetail studentDetail;
+    try {
+      studentDetail = objectMapper.treeToValue(node, StudentDetail.class);
+    } catch (JsonProcessingException e) {
+      // Enum型の不正な値はInvalidEnumExceptionがJacksonの例外に包まれて通知されるため、その案内メッセージを返す
+      Throwable cause = e;
+      while (cause != null && !(cause instanceof InvalidEnumException)) {
+        cause = cause.getCause();
+      }
+      String message = cause != null ? cause.getMessage() : "受講生の詳細情報として解釈できない形式です。";
+      results.add(BulkRegistrationResult.failed(index, message));
+      return null;
+    }
+
+    if (studentDetail == null || studentDetail.getStudent() == null) {
+      results.add(BulkRegistrationResult.failed(index, "受講生情報が指定されていません。"));
+      return null;
+    }
+    if (studentDetail.getStudentCourses() == null) {
+      studentDetail.setStudentCourses(new ArrayList<>());
+    }
+
+    Set<ConstraintViolation<StudentDetail>> violations = validator.validate(studentDetail);
+    if (!violations.isEmpty()) {
+      List<Map<String, String>> errors = new ArrayList<>();
+      violations.forEach(violation -> {
+        Map<String, String> error = new HashMap<>();
+        error.put("field", violation.getPropertyPath().toString());
+        error.put("message", violation.getMessage());
+        errors.add(error);
+      });
+      results.add(BulkRegistrationResult.failed(index, "バリデーションエラーです。", errors));
+      return null;
+    }
+
+    return studentDetail;
+  }
+
+  /**
+   * 1チャンク分の受講生を登録するメソッドです。 メールアドレスの重複確認を1回の問い合わせで行い、
+   * 登録済みのメールアドレスやチャンク内で重複するメールアドレスを指定した要素を除いて一括登録します。
+   *
+   * @param chunk 登録対象の要素
+   * @return 要素ごとの処理結果
+   */
+  private List<BulkRegistrationResult> registerChunk(List<BulkItem> chunk) {
+    List<BulkRegistrationResult> results = new ArrayList<>(chunk.size());
+    if (chunk.isEmpty()) {
+      return results;
+    }
+
+    List<String> mails = chunk.stream()
+        .map(item -> item.studentDetail().getStudent().getMail())
+        .toList();
+    Set<String> unavailableMails = new HashSet<>();
+    studentService.searchRegisteredMails(mails)
+        .forEach(mail -> unavailableMails.add(mail.toLowerCase(Locale.ROOT)));
+
+    List<BulkItem> accepted = new ArrayList<>(chunk.size());
+    for (BulkItem item : chunk) {
+      String mail = item.studentDetail().getStudent().getMail();
+      // チャンク内で先に現れた要素と同じメールアドレスも、登録済みとして扱う
+      if (!unavailableMails.add(mail.toLowerCase(Locale.ROOT))) {
+        results.add(BulkRegistrationResult.failed(item.index(),
+            StudentService.emailAlreadyExistsMessage(mail)));
+      } else {
+        accepted.add(item);
+      }
+    }
+
+    if (accepted.isEmpty()) {
+      return results;
+    }
+
+    try {
+      List<IntegratedDetail> registered = studentService.registerStudents(
+          accepted.stream().map(BulkItem::studentDetail).toList());
+      for (int i = 0; i < accepted.size(); i++) {
+        results.add(BulkRegistrationResult.registered(accepted.get(i).index(),
+            registered.get(i).getStudentDetail().getStudent().getId()));
+      }
+    } catch (EmailAlreadyExistsException e) {
+      accepted.forEach(
+          item -> results.add(BulkRegistrationResult.failed(item.index(), e.getMessage())));
+    }
+
+    return results;
+  }
+
+  /**
+   * リクエスト内での位置と受講生の詳細情報の組です。
+   *
+   * @param index         リクエスト内での位置
+   * @param studentDetail 受講生の詳細情報
+   */
+  private record BulkItem(int index, StudentDetail studentDetail) {
+
+  }
+
+}
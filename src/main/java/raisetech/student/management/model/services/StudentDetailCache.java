@@ -0,0 +1,93 @@
+package raisetech.student.management.model.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.time.Duration;
+import java.util.function.IntFunction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.model.domain.CacheStatistics;
+import raisetech.student.management.model.domain.StudentDetail;
+
+/**
+ * 受講生詳細情報のキャッシュです。 受講生IDをキーとして、件数の上限と登録からの有効期間を設けてメモリ上に保持します。
+ * 同じ受講生IDの読み込みが同時に発生した場合は、1回の読み込みの結果を共有します。
+ * トランザクション内では未コミットの値をキャッシュしないよう、キャッシュを使用せずに読み込みます。
+ */
+@Component
+public class StudentDetailCache {
+
+  private final Cache<Integer, StudentDetail> cache;
+
+  public StudentDetailCache(
+      @Value("${student.cache.detail.maximum-size:10000}") long maximumSize,
+      @Value("${student.cache.detail.expire-after-write:10m}") Duration expireAfterWrite) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(expireAfterWrite)
+        .executor(Runnable::run)
+        .recordStats()
+        .build();
+  }
+
+  /**
+   * 受講生詳細情報を取得します。 キャッシュにない場合はloaderで読み込んでキャッシュします。 loaderがnullを返した場合はキャッシュしません。
+   *
+   * @param id     受講生ID
+   * @param loader 受講生IDから受講生詳細情報を読み込む処理
+   * @return 受講生詳細情報（存在しない場合はnull）
+   */
+  public StudentDetail get(int id, IntFunction<StudentDetail> loader) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return loader.apply(id);
+    }
+    return cache.get(id, loader::apply);
+  }
+
+  /**
+   * キャッシュにある受講生詳細情報のみを取得します。 読み込みは行わず、統計情報にも計上しません（条件付きGETの判定用）。
+   * トランザクション内では、getと同じくキャッシュを使用しません。
+   *
+   * @param id 受講生ID
+   * @return キャッシュにある受講生詳細情報（キャッシュにない場合はnull）
+   */
+  public StudentDetail getIfPresent(int id) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return null;
+    }
+    return cache.policy().getIfPresentQuietly(id);
+  }
+
+  /**
+   * 受講生詳細情報をキャッシュから破棄します。 トランザクション内で呼び出した場合は、コミット後に破棄します（ロールバックした場合は破棄しません）。
+   *
+   * @param id 受講生ID
+   */
+  public void evictAfterCommit(int id) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      cache.invalidate(id);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        cache.invalidate(id);
+      }
+    });
+  }
+
+  /**
+   * キャッシュの統計情報を取得します。
+   *
+   * @return キャッシュの統計情報
+   */
+  public CacheStatistics stats() {
+    CacheStats stats = cache.stats();
+    return new CacheStatistics(cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+        stats.evictionCount(), stats.hitRate());
+  }
+
+}
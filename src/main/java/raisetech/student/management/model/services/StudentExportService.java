@@ -0,0 +1,179 @@
+package raisetech.student.management.model.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import raisetech.student.management.model.domain.CourseExportRow;
+import raisetech.student.management.model.domain.StudentDetail;
+import raisetech.student.management.model.repository.StudentRepository;
+
+/**
+ * 受講生情報のエクスポートを行うサービスです。 検索結果を一覧としてメモリ上に保持せず、データベースから1件ずつ読み込みながら出力先へ書き出します。
+ */
+@Service
+public class StudentExportService {
+
+  /**
+   * 受講生コースのCSVの見出し行です。
+   */
+  static final String COURSE_CSV_HEADER = "受講生コースID,受講生ID,コース名,受講開始日時,受講終了日時,申込状況";
+
+  /**
+   * Excelで開いたときにUTF-8として認識させるためのBOMです。
+   */
+  static final char BOM = '\uFEFF';
+
+  /**
+   * 表計算ソフトで開いたときに数式として解釈される、CSVの項目の先頭の文字です。
+   */
+  static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+  private static final String CSV_LINE_SEPARATOR = "\r\n";
+
+  private static final DateTimeFormatter CSV_DATE_TIME_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+  /**
+   * CSVの出力先に書き出す際のバッファサイズです。
+   */
+  private static final int CSV_WRITE_BUFFER_SIZE = 64 * 1024;
+
+  private final StudentRepository repository;
+  private final ObjectMapper objectMapper;
+
+  public StudentExportService(StudentRepository repository, ObjectMapper objectMapper) {
+    this.repository = repository;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * 受講生詳細情報の全件を、1行に1件のNDJSON形式で受講生ID順に出力します。
+   * Cursorの読み込み中はデータベースの接続を保持する必要があるため、読み取り専用のトランザクション内で出力します。
+   * 1件ごとにフラッシュはせず、出力先のバッファが一杯になった時点で書き出します。出力先のクローズは呼び出し元で行います。
+   *
+   * @param out 出力先
+   * @throws IOException 出力先への書き込みに失敗した場合
+   */
+  @Transactional(readOnly = true)
+  public void exportStudents(OutputStream out) throws IOException {
+    ObjectWriter writer = objectMapper.writerFor(StudentDetail.class)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    try (Cursor<StudentDetail> cursor = repository.exportStudentDetails();
+        JsonGenerator generator = objectMapper.createGenerator(out)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+
+      for (StudentDetail studentDetail : cursor) {
+        writer.writeValue(generator, studentDetail);
+        generator.writeRaw('\n');
+      }
+    }
+  }
+
+  /**
+   * 受講生コースとコース申込状況の全件を、受講生コースID順にCSV形式で出力します。 受講生コース詳細情報は組み立てず、読み込んだ1行ごとに
+   * 使い回しのバッファへCSVの1行を組み立てて書き出します。 改行コードはCRLFで、申込状況が存在しない受講生コースの申込状況は空欄とします。
+   * 出力先のクローズは呼び出し元で行います。
+   *
+   * @param out 出力先
+   * @param bom 先頭にBOMを出力する場合はtrue
+   * @throws IOException 出力先への書き込みに失敗した場合
+   */
+  @Transactional(readOnly = true)
+  public void exportCoursesCsv(OutputStream out, boolean bom) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8),
+        CSV_WRITE_BUFFER_SIZE);
+    if (bom) {
+      writer.write(BOM);
+    }
+    writer.write(COURSE_CSV_HEADER);
+    writer.write(CSV_LINE_SEPARATOR);
+
+    StringBuilder line = new StringBuilder(256);
+    try (Cursor<CourseExportRow> cursor = repository.exportCourses()) {
+      for (CourseExportRow row : cursor) {
+        line.setLength(0);
+        appendCsvLine(line, row);
+        writer.append(line);
+      }
+    }
+    writer.flush();
+  }
+
+  /**
+   * 受講生コースとコース申込状況を結合した1行を、改行コードを含むCSVの1行としてバッファの末尾に追加します。
+   *
+   * @param line 追加先のバッファ
+   * @param row  受講生コースとコース申込状況を結合した行
+   */
+  static void appendCsvLine(StringBuilder line, CourseExportRow row) {
+    line.append(row.getId()).append(',');
+    line.append(row.getStudentId()).append(',');
+    appendCsvField(line, row.getCourseName());
+    line.append(',');
+    if (row.getStartDate() != null) {
+      CSV_DATE_TIME_FORMATTER.formatTo(row.getStartDate(), line);
+    }
+    line.append(',');
+    if (row.getEndDate() != null) {
+      CSV_DATE_TIME_FORMATTER.formatTo(row.getEndDate(), line);
+    }
+    line.append(',');
+    if (row.getStatus() != null) {
+      line.append(row.getStatus().name());
+    }
+    line.append(CSV_LINE_SEPARATOR);
+  }
+
+  /**
+   * 文字列をCSVの1項目としてバッファの末尾に追加します。 カンマ、ダブルクォート、改行を含む場合はダブルクォートで囲み、
+   * 値に含まれるダブルクォートは2つ重ねます（RFC 4180）。 nullの場合は空欄とします。
+   * 表計算ソフトで開いたときに数式として実行されないよう、{@link #FORMULA_PREFIXES}のいずれかで始まる値は先頭にアポストロフィを付けて
+   * ダブルクォートで囲みます（アポストロフィは文字列として扱う指定のため、表計算ソフトのセルの値には含まれません）。
+   *
+   * @param line  追加先のバッファ
+   * @param value 追加する値
+   */
+  static void appendCsvField(StringBuilder line, String value) {
+    if (value == null) {
+      return;
+    }
+
+    boolean formula = !value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0;
+    boolean quoted = formula;
+    for (int i = 0; i < value.length() && !quoted; i++) {
+      char c = value.charAt(i);
+      quoted = c == ',' || c == '"' || c == '\r' || c == '\n';
+    }
+    if (!quoted) {
+      line.append(value);
+      return;
+    }
+
+    line.append('"');
+    if (formula) {
+      line.append('\'');
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"') {
+        line.append('"');
+      }
+      line.append(c);
+    }
+    line.append('"');
+  }
+
+}
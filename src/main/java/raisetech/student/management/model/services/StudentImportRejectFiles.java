@@ -0,0 +1,169 @@
+package raisetech.student.management.model.services;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import raisetech.student.management.model.exception.ResourceNotFoundException;
+
+/**
+ * 受講生のCSV取り込みで取り込めなかった行を書き出すリジェクトファイルを管理するクラスです。 取り込めなかった行はすべて、検出した順に
+ * 行番号・理由・元の行の項目をCSVの1行としてファイルへ書き出します（レスポンスに含める件数の上限とは関係なく、メモリ上には保持しません）。
+ * リジェクトファイルはIDを指定してダウンロードでき、保持期間を過ぎたものは次のリジェクトファイルの作成時に削除します。
+ * 項目はエクスポートと同じ形式で書き出すため、数式として解釈される文字で始まる値は表計算ソフトで開いても実行されません。
+ */
+@Component
+public class StudentImportRejectFiles {
+
+  /**
+   * リジェクトファイルの見出し行のうち、元の行の列名の前に付ける列名です。
+   */
+  static final List<String> REJECT_COLUMNS = List.of("lineNumber", "reason");
+
+  private static final String FILE_SUFFIX = ".csv";
+
+  private static final String CSV_LINE_SEPARATOR = "\r\n";
+
+  private final Path directory;
+  private final Duration retention;
+
+  public StudentImportRejectFiles(
+      @Value("${student.import.reject-dir:${java.io.tmpdir}/student-import-rejects}") String directory,
+      @Value("${student.import.reject-retention:24h}") Duration retention) {
+    this.directory = Path.of(directory);
+    this.retention = retention;
+  }
+
+  /**
+   * リジェクトファイルを作成し、見出し行を書き出します。 作成前に、保持期間を過ぎたリジェクトファイルを削除します。
+   *
+   * @param header 取り込むCSVの見出し行
+   * @return 作成したリジェクトファイル
+   * @throws IOException ファイルの作成または書き込みに失敗した場合
+   */
+  RejectFile create(List<String> header) throws IOException {
+    Files.createDirectories(directory);
+    deleteExpired();
+
+    String id = UUID.randomUUID().toString();
+    Writer writer = Files.newBufferedWriter(directory.resolve(id + FILE_SUFFIX),
+        StandardCharsets.UTF_8);
+    try {
+      // 修正して再度取り込む際にExcelで開けるようBOMを付ける（取り込み時はBOMを読み飛ばす）
+      writer.write(StudentExportService.BOM);
+      StringBuilder line = new StringBuilder();
+      appendFields(line, REJECT_COLUMNS);
+      line.append(',');
+      appendFields(line, header);
+      writer.append(line).write(CSV_LINE_SEPARATOR);
+    } catch (IOException e) {
+      writer.close();
+      throw e;
+    }
+    return new RejectFile(id, writer);
+  }
+
+  /**
+   * リジェクトファイルの存在を確認し、パスを取得します。 IDはUUIDの形式のみを受け付けるため、ディレクトリの外のファイルは参照できません。
+   *
+   * @param id リジェクトファイルのID
+   * @return リジェクトファイルのパス
+   */
+  public Path resolve(String id) {
+    Path path = null;
+    try {
+      path = directory.resolve(UUID.fromString(id) + FILE_SUFFIX);
+    } catch (IllegalArgumentException e) {
+      // UUIDの形式でないIDは存在しないものとして扱う
+    }
+    if (path == null || !Files.isRegularFile(path)) {
+      throw new ResourceNotFoundException("リジェクトファイル「" + id + "」は存在しないか、保持期間を過ぎています。");
+    }
+    return path;
+  }
+
+  private void deleteExpired() throws IOException {
+    FileTime expiredBefore = FileTime.from(Instant.now().minus(retention));
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+      for (Path file : files) {
+        try {
+          if (Files.getLastModifiedTime(file).compareTo(expiredBefore) < 0) {
+            Files.deleteIfExists(file);
+          }
+        } catch (NoSuchFileException e) {
+          // 並行して実行した取り込みが先に削除した場合は何もしない
+        }
+      }
+    }
+  }
+
+  private static void appendFields(StringBuilder line, List<String> fields) {
+    for (int i = 0; i < fields.size(); i++) {
+      if (i > 0) {
+        line.append(',');
+      }
+      StudentExportService.appendCsvField(line, fields.get(i));
+    }
+  }
+
+  /**
+   * 1回の取り込みのリジェクトファイルです。 取り込めなかった行を1行ずつ書き出します。
+   */
+  static class RejectFile implements Closeable {
+
+    private final String id;
+    private final Writer writer;
+    private final StringBuilder line = new StringBuilder(256);
+
+    private RejectFile(String id, Writer writer) {
+      this.id = id;
+      this.writer = writer;
+    }
+
+    /**
+     * リジェクトファイルのIDを取得します。
+     *
+     * @return リジェクトファイルのID
+     */
+    String getId() {
+      return id;
+    }
+
+    /**
+     * 取り込めなかった行を書き出します。
+     *
+     * @param lineNumber 行が始まる行番号
+     * @param reason     取り込めなかった理由
+     * @param fields     元の行の項目
+     * @throws IOException 書き込みに失敗した場合
+     */
+    void write(int lineNumber, String reason, List<String> fields) throws IOException {
+      line.setLength(0);
+      line.append(lineNumber).append(',');
+      StudentExportService.appendCsvField(line, reason);
+      for (String field : fields) {
+        line.append(',');
+        StudentExportService.appendCsvField(line, field);
+      }
+      writer.append(line).write(CSV_LINE_SEPARATOR);
+    }
+
+    @Override
+    public void close() throws IOException {
+      writer.close();
+    }
+
+  }
+
+}
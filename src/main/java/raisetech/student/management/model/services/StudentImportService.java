@@ -0,0 +1,498 @@
+package raisetech.student.management.model.services;
+
+import jakarta.validation.Validator;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import raisetech.student.management.model.data.Gender;
+import raisetech.student.management.model.data.Status;
+import raisetech.student.management.model.data.Student;
+import raisetech.student.management.model.data.StudentCourse;
+import raisetech.student.management.model.domain.StudentDetail;
+import raisetech.student.management.model.domain.StudentImportRejectedRow;
+import raisetech.student.management.model.domain.StudentImportResult;
+import raisetech.student.management.model.exception.EmailAlreadyExistsException;
+import raisetech.student.management.model.exception.InvalidBulkRequestException;
+import raisetech.student.management.model.exception.InvalidEnumException;
+import raisetech.student.management.model.services.CsvReader.MalformedCsvException;
+import raisetech.student.management.model.services.StudentImportRejectFiles.RejectFile;
+
+/**
+ * 受講生のCSV取り込みを行うサービスです。 CSVを1行ずつ読み込んで検証し、受講生・受講生コース・コース申込状況を一定件数（チャンク）ごとの
+ * 複数行INSERTで登録します。 トランザクションはコミット間隔の人数ごとに区切るため、途中で失敗してもそれ以前にコミット済みの受講生は取り消されません。
+ * 取り込めなかった行は、すべてをリジェクトファイルへ書き出し、先頭から上限件数までを行番号と理由を付けて処理結果にも含めます
+ * （件数の多いCSVでもレスポンスが肥大化しないよう、処理結果には上限件数までとし、すべての行はリジェクトファイルからダウンロードします）。
+ */
+@Service
+public class StudentImportService {
+
+  /**
+   * 取り込みに使用できる列名です。 受講生コースの列は任意で、同じメールアドレスの行が連続する場合は1人の受講生の複数のコースとして取り込みます。
+   */
+  static final List<String> COLUMNS = List.of("fullname", "furigana", "nickname", "mail",
+      "address", "age", "gender", "remark", "courseName", "startDate", "endDate", "status");
+
+  private static final List<String> REQUIRED_COLUMNS = List.of("fullname", "furigana", "mail");
+
+  private final StudentService studentService;
+  private final StudentImportRejectFiles rejectFiles;
+  private final Validator validator;
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkSize;
+  private final int commitInterval;
+  private final int maxReportedRejects;
+
+  public StudentImportService(StudentService studentService,
+      StudentImportRejectFiles rejectFiles, Validator validator,
+      PlatformTransactionManager transactionManager,
+      @Value("${student.import.chunk-size:1000}") int chunkSize,
+      @Value("${student.import.commit-interval:10000}") int commitInterval,
+      @Value("${student.import.max-reported-rejects:1000}") int maxReportedRejects) {
+    this.studentService = studentService;
+    this.rejectFiles = rejectFiles;
+    this.validator = validator;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.chunkSize = chunkSize;
+    this.commitInterval = commitInterval;
+    this.maxReportedRejects = maxReportedRejects;
+  }
+
+  /**
+   * 受講生のCSV取り込みです。 1行目は列名の見出し行とし、{@link #COLUMNS}の列を任意の順序で指定できます（fullname、furigana、mailは必須）。
+   * 同じメールアドレスの行が連続する場合は、先頭の行の受講生情報で1人の受講生として登録し、各行の受講生コースをその受講生のコースとして登録します。
+   * 申込状況を指定しない受講生コースは「仮申込」で登録します。 途中でCSVの形式が壊れている場合は、それ以前の行を登録したうえで以降の処理を中止します。
+   * 取り込めなかった行がある場合は、すべての行をリジェクトファイルへ書き出し、そのIDを処理結果に含めます。
+   *
+   * @param body CSV（UTF-8）
+   * @return 取り込みの処理結果
+   * @throws IOException CSVの読み込み、またはリジェクトファイルの書き込みに失敗した場合
+   */
+  public StudentImportResult importStudents(InputStream body) throws IOException {
+    long startedAt = System.nanoTime();
+
+    try (CsvReader reader = new CsvReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+      List<String> header;
+      try {
+        header = reader.readRecord();
+      } catch (MalformedCsvException e) {
+        throw new InvalidBulkRequestException("CSVの見出し行を解釈できません。" + e.getMessage());
+      }
+
+      try (ImportRun run = new ImportRun(header, toColumnIndex(header))) {
+        try {
+          List<String> record;
+          while ((record = reader.readRecord()) != null) {
+            run.accept(reader.getRecordLineNumber(), record);
+          }
+        } catch (MalformedCsvException e) {
+          run.abort(e.getLineNumber(), e.getMessage());
+        }
+        run.finish();
+        return run.toResult(System.nanoTime() - startedAt);
+      }
+    }
+  }
+
+  /**
+   * 見出し行から列名と列の位置の対応を作成します。
+   *
+   * @param header 見出し行
+   * @return 列名と列の位置の対応
+   */
+  private static Map<String, Integer> toColumnIndex(List<String> header) {
+    if (header == null) {
+      throw new InvalidBulkRequestException("CSVに見出し行がありません。");
+    }
+
+    Map<String, Integer> columns = new HashMap<>();
+    List<String> unknownColumns = new ArrayList<>();
+    for (int i = 0; i < header.size(); i++) {
+      String column = header.get(i).strip();
+      if (!COLUMNS.contains(column)) {
+        unknownColumns.add(column);
+      } else if (columns.putIfAbsent(column, i) != null) {
+        throw new InvalidBulkRequestException("CSVの見出し行で列名が重複しています：" + column);
+      }
+    }
+    if (!unknownColumns.isEmpty()) {
+      throw new InvalidBulkRequestException(
+          "CSVの見出し行に使用できない列名があります：" + String.join(", ", unknownColumns));
+    }
+
+    List<String> missingColumns = REQUIRED_COLUMNS.stream()
+        .filter(column -> !columns.containsKey(column))
+        .toList();
+    if (!missingColumns.isEmpty()) {
+      throw new InvalidBulkRequestException(
+          "CSVの見出し行に必須の列がありません：" + String.join(", ", missingColumns));
+    }
+    return columns;
+  }
+
+  /**
+   * 1回の取り込みの状態（登録待ちの受講生、件数、取り込めなかった行）を保有し、行ごとの処理を行うクラスです。
+   * リジェクトファイルは最初に取り込めなかった行を検出した時点で作成し、クローズ時に閉じます。
+   */
+  private class ImportRun implements Closeable {
+
+    private final List<String> header;
+    private final Map<String, Integer> columns;
+
+    /**
+     * 読み込み中の受講生です。 次に異なるメールアドレスの行を読み込んだ時点で登録待ちに移します。
+     */
+    private ImportItem current;
+
+    /**
+     * 直前に取り込めなかった受講生のメールアドレスです。 続く同じメールアドレスの行も取り込みません。
+     */
+    private String rejectedMail;
+
+    private final List<ImportItem> pending = new ArrayList<>();
+    private final Set<String> pendingMails = new HashSet<>();
+
+    private int totalRows;
+    private int importedStudents;
+    private int importedCourses;
+    private int rejectedRows;
+
+    private final List<StudentImportRejectedRow> rejects = new ArrayList<>();
+    private RejectFile rejectFile;
+
+    ImportRun(List<String> header, Map<String, Integer> columns) {
+      this.header = header;
+      this.columns = columns;
+    }
+
+    void accept(int lineNumber, List<String> fields) throws IOException {
+      totalRows++;
+      ImportRow row = new ImportRow(lineNumber, fields);
+      if (fields.size() != header.size()) {
+        reject(row, "列数が見出し行と一致しません。（見出し行：" + header.size() + "列、この行：" + fields.size()
+            + "列）");
+        return;
+      }
+
+      String mail = value(fields, "mail");
+      if (current != null && mail != null && mail.equalsIgnoreCase(current.student.getMail())) {
+        acceptCourseRow(row);
+      } else if (rejectedMail != null && mail != null && mail.equalsIgnoreCase(rejectedMail)) {
+        reject(row, "同じ受講生の先頭の行を取り込めなかったため、取り込みませんでした。");
+      } else {
+        closeCurrent();
+        rejectedMail = null;
+        acceptStudentRow(row, mail);
+      }
+    }
+
+    /**
+     * 受講生の先頭の行を処理します。 受講生情報と受講生コースのいずれかに誤りがある場合は、受講生ごと取り込みません。
+     */
+    private void acceptStudentRow(ImportRow row, String mail) throws IOException {
+      List<String> errors = new ArrayList<>();
+      ImportItem item = new ImportItem(toStudent(row.fields(), errors));
+      addCourse(item, row.fields(), errors);
+
+      if (!errors.isEmpty()) {
+        rejectedMail = mail;
+        reject(row, String.join(" / ", errors));
+        return;
+      }
+      item.rows.add(row);
+      current = item;
+    }
+
+    /**
+     * 読み込み中の受講生と同じメールアドレスの行を、その受講生のコースとして処理します。 受講生情報の列は参照しません。
+     */
+    private void acceptCourseRow(ImportRow row) throws IOException {
+      List<String> errors = new ArrayList<>();
+      addCourse(current, row.fields(), errors);
+
+      if (!errors.isEmpty()) {
+        reject(row, String.join(" / ", errors));
+        return;
+      }
+      current.rows.add(row);
+    }
+
+    /**
+     * 読み込み中の受講生を登録待ちに移し、登録待ちがコミット間隔の人数に達した場合は登録します。
+     */
+    private void closeCurrent() throws IOException {
+      if (current == null) {
+        return;
+      }
+
+      ImportItem item = current;
+      current = null;
+      if (!pendingMails.add(item.student.getMail().toLowerCase(Locale.ROOT))) {
+        rejectAll(item, "CSV内で同じメールアドレスの受講生が重複しています。");
+        return;
+      }
+      pending.add(item);
+      if (pending.size() >= commitInterval) {
+        commit();
+      }
+    }
+
+    /**
+     * 登録待ちの受講生を1つのトランザクションで登録します。 チャンクごとに登録済みのメールアドレスを確認し、登録済みの受講生は取り込みません。
+     * 同時に登録されたメールアドレスとの一意制約違反が発生した場合は、トランザクション全体を取り消し、登録待ちの全受講生を取り込みません。
+     */
+    private void commit() throws IOException {
+      if (pending.isEmpty()) {
+        return;
+      }
+
+      List<ImportItem> registered = new ArrayList<>();
+      List<ImportItem> duplicated = new ArrayList<>();
+      try {
+        transactionTemplate.executeWithoutResult(status -> {
+          for (int from = 0; from < pending.size(); from += chunkSize) {
+            registerChunk(pending.subList(from, Math.min(from + chunkSize, pending.size())),
+                registered, duplicated);
+          }
+        });
+      } catch (EmailAlreadyExistsException e) {
+        for (ImportItem item : pending) {
+          rejectAll(item, "同じメールアドレスの受講生が同時に登録されたため、コミット単位（" + pending.size()
+              + "人）の登録を取り消しました。");
+        }
+        registered.clear();
+        duplicated.clear();
+      }
+
+      for (ImportItem item : duplicated) {
+        rejectAll(item, StudentService.emailAlreadyExistsMessage(item.student.getMail()));
+      }
+      for (ImportItem item : registered) {
+        importedStudents++;
+        importedCourses += item.courses.size();
+      }
+      pending.clear();
+      pendingMails.clear();
+    }
+
+    void abort(int lineNumber, String message) throws IOException {
+      totalRows++;
+      reject(new ImportRow(lineNumber, List.of()), message + "以降の行は取り込みませんでした。");
+    }
+
+    void finish() throws IOException {
+      closeCurrent();
+      commit();
+    }
+
+    StudentImportResult toResult(long elapsedNanos) {
+      double rowsPerSecond = elapsedNanos > 0 ? totalRows * 1_000_000_000d / elapsedNanos : 0;
+      return new StudentImportResult(totalRows, importedStudents, importedCourses, rejectedRows,
+          elapsedNanos / 1_000_000, rowsPerSecond, rejects,
+          rejectFile == null ? null : rejectFile.getId());
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (rejectFile != null) {
+        rejectFile.close();
+      }
+    }
+
+    private void rejectAll(ImportItem item, String reason) throws IOException {
+      for (ImportRow row : item.rows) {
+        reject(row, reason);
+      }
+    }
+
+    /**
+     * 取り込めなかった行を数えてリジェクトファイルへ書き出し、上限件数に達するまでは行番号と理由を付けて処理結果にも追加します。
+     */
+    private void reject(ImportRow row, String reason) throws IOException {
+      rejectedRows++;
+      if (rejectFile == null) {
+        rejectFile = rejectFiles.create(header);
+      }
+      rejectFile.write(row.lineNumber(), reason, row.fields());
+      if (rejects.size() < maxReportedRejects) {
+        rejects.add(new StudentImportRejectedRow(row.lineNumber(), reason, row.fields()));
+      }
+    }
+
+    private String value(List<String> fields, String column) {
+      Integer index = columns.get(column);
+      if (index == null) {
+        return null;
+      }
+      String value = fields.get(index).strip();
+      return value.isEmpty() ? null : value;
+    }
+
+    private Student toStudent(List<String> fields, List<String> errors) {
+      Student student = new Student();
+      student.setFullname(value(fields, "fullname"));
+      student.setFurigana(value(fields, "furigana"));
+      student.setNickname(value(fields, "nickname"));
+      student.setMail(value(fields, "mail"));
+      student.setAddress(value(fields, "address"));
+      student.setRemark(value(fields, "remark"));
+
+      String age = value(fields, "age");
+      if (age != null) {
+        try {
+          student.setAge(Integer.valueOf(age));
+        } catch (NumberFormatException e) {
+          errors.add("age: 整数で指定してください。入力値：" + age);
+        }
+      }
+      String gender = value(fields, "gender");
+      if (gender != null) {
+        try {
+          student.setGender(Gender.fromString(gender));
+        } catch (InvalidEnumException e) {
+          errors.add(e.getMessage());
+        }
+      }
+
+      validate(student, errors);
+      return student;
+    }
+
+    /**
+     * 行の受講生コースの列を受講生に追加します。 受講生コースの列がすべて空欄の場合は何もせず、誤りがある場合は追加しません。
+     */
+    private void addCourse(ImportItem item, List<String> fields, List<String> errors) {
+      String courseName = value(fields, "courseName");
+      String status = value(fields, "status");
+      if (courseName == null && status == null && value(fields, "startDate") == null
+          && value(fields, "endDate") == null) {
+        return;
+      }
+
+      List<String> courseErrors = new ArrayList<>();
+      StudentCourse studentCourse = new StudentCourse();
+      studentCourse.setCourseName(courseName);
+      studentCourse.setStartDate(toDateTime(fields, "startDate", courseErrors));
+      studentCourse.setEndDate(toDateTime(fields, "endDate", courseErrors));
+      Status courseStatus = Status.仮申込;
+      if (status != null) {
+        try {
+          courseStatus = Status.fromString(status);
+        } catch (InvalidEnumException e) {
+          courseErrors.add(e.getMessage());
+        }
+      }
+      validate(studentCourse, courseErrors);
+
+      if (!courseErrors.isEmpty()) {
+        errors.addAll(courseErrors);
+        return;
+      }
+      item.courses.add(studentCourse);
+      item.statuses.add(courseStatus);
+    }
+
+    private LocalDateTime toDateTime(List<String> fields, String column, List<String> errors) {
+      String value = value(fields, column);
+      if (value == null) {
+        return null;
+      }
+      try {
+        return value.length() == 10 ? LocalDate.parse(value).atStartOfDay()
+            : LocalDateTime.parse(value.replace(' ', 'T'));
+      } catch (DateTimeParseException e) {
+        errors.add(column + ": 「yyyy-MM-dd HH:mm:ss」または「yyyy-MM-dd」の形式で指定してください。入力値：" + value);
+        return null;
+      }
+    }
+
+    private void validate(Object bean, List<String> errors) {
+      validator.validate(bean).stream()
+          .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+          .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+          .forEach(errors::add);
+    }
+
+  }
+
+  /**
+   * チャンク内の受講生を登録します。 登録済みのメールアドレスの受講生は登録せず、duplicatedに追加します。
+   * 登録と、インメモリ索引などへのコミット後の反映はStudentServiceに委ねます。
+   *
+   * @param chunk      登録する受講生の一覧
+   * @param registered 登録した受講生の追加先
+   * @param duplicated 登録済みのメールアドレスのため登録しなかった受講生の追加先
+   */
+  private void registerChunk(List<ImportItem> chunk, List<ImportItem> registered,
+      List<ImportItem> duplicated) {
+    Set<String> registeredMails = new HashSet<>();
+    for (String mail : studentService.searchRegisteredMails(
+        chunk.stream().map(item -> item.student.getMail()).toList())) {
+      registeredMails.add(mail.toLowerCase(Locale.ROOT));
+    }
+
+    List<ImportItem> targets = new ArrayList<>(chunk.size());
+    for (ImportItem item : chunk) {
+      if (registeredMails.contains(item.student.getMail().toLowerCase(Locale.ROOT))) {
+        duplicated.add(item);
+      } else {
+        targets.add(item);
+      }
+    }
+    if (targets.isEmpty()) {
+      return;
+    }
+
+    List<StudentDetail> studentDetails = new ArrayList<>(targets.size());
+    List<Status> statuses = new ArrayList<>();
+    for (ImportItem item : targets) {
+      studentDetails.add(new StudentDetail(item.student, item.courses));
+      statuses.addAll(item.statuses);
+    }
+    studentService.registerImportedStudents(studentDetails, statuses);
+    registered.addAll(targets);
+  }
+
+  /**
+   * CSVの1行です。
+   *
+   * @param lineNumber 行が始まる行番号
+   * @param fields     行の項目の一覧
+   */
+  private record ImportRow(int lineNumber, List<String> fields) {
+
+  }
+
+  /**
+   * 取り込む1人の受講生です。 受講生コースと申込状況は同じ順序で保有し、取り込めなかった場合に備えて元の行も保有します。
+   */
+  private static class ImportItem {
+
+    private final Student student;
+    private final List<StudentCourse> courses = new ArrayList<>();
+    private final List<Status> statuses = new ArrayList<>();
+    private final List<ImportRow> rows = new ArrayList<>();
+
+    ImportItem(Student student) {
+      this.student = student;
+    }
+
+  }
+
+}
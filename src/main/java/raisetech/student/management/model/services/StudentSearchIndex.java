@@ -0,0 +1,722 @@
+package raisetech.student.management.model.services;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.model.data.Gender;
+import raisetech.student.management.model.data.Student;
+import raisetech.student.management.model.data.StudentCourse;
+import raisetech.student.management.model.data.StudentSearchCriteria;
+import raisetech.student.management.model.domain.StudentDetail;
+
+/**
+ * 受講生一覧検索用のインメモリ索引です。 student.search.modeにmemoryを指定した場合に、受講生と受講生コースを列ごとの配列（列指向）で保持し、
+ * データベースに問い合わせずに受講生一覧検索の条件を評価します。 IDはint、性別は列挙子の序数、日時はエポック日と0時からの秒数、
+ * コース名は辞書の番号で保持します。 受講生は受講生ID順に並べ、受講生コースは受講生ごとに配列上の連結リストとして受講生コースID順に保持します。
+ * 氏名・ふりがな・ニックネーム・メールアドレス・住所の部分一致の条件は、列ごとのN-gramの転置索引で候補を絞り込んだうえで確認します。
+ * 起動時に全件を読み込み、以降は登録・更新のコミット後に差分を反映します。 検索と反映は読み書きロックで排他します。
+ * 反映は受講生のバージョンを比較して古い変更を捨てるため、同じ変更を重ねて反映しても、反映の順序が前後しても結果は変わりません。
+ */
+@Component
+public class StudentSearchIndex {
+
+  /**
+   * データベースに問い合わせて検索するモードです（既定）。
+   */
+  static final String MODE_DATABASE = "database";
+
+  /**
+   * インメモリ索引で検索するモードです。
+   */
+  static final String MODE_MEMORY = "memory";
+
+  /**
+   * データベースの全文検索索引で文字列の条件を絞り込んで検索するモードです。
+   */
+  static final String MODE_FULLTEXT = "fulltext";
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private static final int NONE = -1;
+  private static final int NO_AGE = Integer.MIN_VALUE;
+  private static final int NO_DATE = Integer.MIN_VALUE;
+  private static final byte NO_GENDER = -1;
+
+  private static final Gender[] GENDERS = Gender.values();
+
+  private final boolean enabled;
+  private final boolean fulltext;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private volatile boolean loaded;
+
+  // 検索と反映の対象の列（書き込みロックを取得して置き換える）
+  private Columns columns = new Columns();
+
+  // 全件の読み込み中に反映した変更（読み込みの完了後に、読み込んだ列へ重ねて反映する。読み込み中以外はnull）
+  private List<Consumer<Columns>> pendingChanges;
+
+  public StudentSearchIndex(@Value("${student.search.mode:" + MODE_DATABASE + "}") String mode) {
+    if (!MODE_DATABASE.equals(mode) && !MODE_MEMORY.equals(mode) && !MODE_FULLTEXT.equals(mode)) {
+      throw new IllegalArgumentException(
+          "student.search.modeには「" + MODE_DATABASE + "」「" + MODE_MEMORY + "」「" + MODE_FULLTEXT
+              + "」のいずれかを指定してください。入力値：" + mode);
+    }
+    this.enabled = MODE_MEMORY.equals(mode);
+    this.fulltext = MODE_FULLTEXT.equals(mode);
+  }
+
+  /**
+   * インメモリ索引で検索するモードかどうかを判定します。
+   *
+   * @return インメモリ索引で検索する場合はtrue
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * データベースの全文検索索引で文字列の条件を絞り込むモードかどうかを判定します。
+   *
+   * @return 全文検索索引で絞り込む場合はtrue
+   */
+  public boolean isFulltext() {
+    return fulltext;
+  }
+
+  /**
+   * インメモリ索引で検索できる状態かどうかを判定します。 全件の読み込みが完了していない場合と、トランザクション内で呼び出した場合は
+   * （未コミットの変更が索引に反映されていないため）検索できません。
+   *
+   * @return インメモリ索引で検索できる場合はtrue
+   */
+  public boolean isAvailable() {
+    return enabled && loaded && !TransactionSynchronizationManager.isActualTransactionActive();
+  }
+
+  /**
+   * 受講生詳細情報の全件を読み込み、索引を作り直します。 受講生詳細情報は受講生ID順、受講生コースは受講生コースID順に並んでいる前提です。
+   * 全件はロックを取得せずに新しい列へ読み込むため、読み込み中も検索とコミット後の反映は待たされません。
+   * 読み込み元のCursorを開く前から読み込みの完了までに反映した変更は控えておき、読み込んだ列へ重ねて反映してから短い書き込みロックで置き換えます。
+   * 反映は古い変更を捨てるため、読み込んだ全件に含まれる変更を重ねて反映しても結果は変わらず、読み込み中の変更も失われません。
+   *
+   * @param source 受講生詳細情報の全件の読み込み元
+   * @throws IOException 読み込み元のクローズに失敗した場合
+   */
+  public synchronized void load(IndexSource<StudentDetail> source) throws IOException {
+    lock.writeLock().lock();
+    try {
+      pendingChanges = new ArrayList<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    Columns loading = new Columns();
+    try {
+      source.forEach(loading::put);
+    } catch (IOException | RuntimeException e) {
+      lock.writeLock().lock();
+      try {
+        pendingChanges = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      throw e;
+    }
+
+    lock.writeLock().lock();
+    try {
+      pendingChanges.forEach(change -> change.accept(loading));
+      pendingChanges = null;
+      columns = loading;
+      loaded = true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 受講生一覧検索です。 受講生ID順に、afterIdより後の受講生のうち条件に合致するものを最大limit件取得します。
+   * 受講生の文字列の条件は正規化した値どうしの部分一致（全角・半角、ひらがな・カタカナ、英字の大文字・小文字を区別しない）、
+   * コース名の条件は英字の大文字・小文字を区別しない部分一致、受講生コースの条件は条件ごとにいずれかの受講生コースが満たす場合に合致とします（データベースに問い合わせる場合と同じです）。
+   * 文字列の条件を指定した場合はN-gramの転置索引で絞り込んだ候補のみを、指定しない場合は全受講生を順に確認します。
+   *
+   * @param criteria 検索条件
+   * @param afterId  前ページの最後の受講生ID（nullの場合は先頭から取得）
+   * @param limit    取得件数の上限（nullの場合は全件取得）
+   * @return 受講生詳細情報一覧
+   */
+  public List<StudentDetail> search(StudentSearchCriteria criteria, Integer afterId,
+      Integer limit) {
+    lock.readLock().lock();
+    try {
+      return columns.search(criteria, afterId, limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * 新規登録した受講生詳細情報を索引に追加します。 トランザクション内で呼び出した場合は、コミット後に追加します（ロールバックした場合は追加しません）。
+   * 索引に同じ受講生IDの受講生が存在する場合は置き換えます（索引の受講生の方がバージョンが新しい場合は置き換えません）。
+   *
+   * @param studentDetails 登録した受講生詳細情報の一覧（受講生IDと受講生コースIDが採番済みであること）
+   */
+  public void putAfterCommit(List<StudentDetail> studentDetails) {
+    if (!enabled || studentDetails.isEmpty()) {
+      return;
+    }
+    afterCommit(target -> studentDetails.forEach(target::put));
+  }
+
+  /**
+   * 更新した受講生と受講生コースのコース名を索引に反映します。 トランザクション内で呼び出した場合は、コミット後に反映します。
+   * 受講生コースは、索引上でその受講生に紐づくもののみを反映します。
+   * 索引の受講生のバージョンが更新後のバージョン以上の場合は、反映済みとして何もしません。
+   * 索引に受講生が存在しない場合（登録の反映より先に更新を反映する場合）は、更新した受講生と受講生コースで追加します。
+   *
+   * @param student        更新した受講生（バージョンは更新後の値）
+   * @param studentCourses コース名を更新した受講生コースの一覧（バージョンは更新後の値）
+   */
+  public void updateAfterCommit(Student student, List<StudentCourse> studentCourses) {
+    if (!enabled) {
+      return;
+    }
+    afterCommit(target -> target.update(student, studentCourses));
+  }
+
+  /**
+   * 索引に保持している受講生の件数を取得します。
+   *
+   * @return 受講生の件数
+   */
+  int size() {
+    lock.readLock().lock();
+    try {
+      return columns.studentCount;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * 索引が使用している受講生コースの行数を取得します。 置き換えにより参照されなくなった行は再利用するため、受講生コースの件数を超えて増えません。
+   *
+   * @return 受講生コースの行数
+   */
+  int courseRows() {
+    lock.readLock().lock();
+    try {
+      return columns.courseCount;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * 変更を書き込みロックを取得して反映します。 全件の読み込み中の場合は、読み込みの完了後に読み込んだ列へ重ねて反映するために控えておきます。
+   */
+  private void afterCommit(Consumer<Columns> change) {
+    Runnable locked = () -> {
+      lock.writeLock().lock();
+      try {
+        change.accept(columns);
+        if (pendingChanges != null) {
+          pendingChanges.add(change);
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    };
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      locked.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        locked.run();
+      }
+    });
+  }
+
+  /**
+   * 昇順の受講生IDの配列のうち、afterIdより大きい最初の位置を取得します。
+   */
+  private static int indexAfter(int[] sortedIds, int afterId) {
+    int index = Arrays.binarySearch(sortedIds, afterId);
+    return index < 0 ? -index - 1 : index + 1;
+  }
+
+  private static boolean onOrAfter(int day, int from) {
+    return day != NO_DATE && day >= from;
+  }
+
+  private static boolean onOrBefore(int day, int to) {
+    return day != NO_DATE && day <= to;
+  }
+
+  private static boolean contains(String key, String value) {
+    return value == null || (key != null && key.contains(value));
+  }
+
+  private static String toKey(String value) {
+    return value == null ? null : value.toLowerCase(Locale.ROOT);
+  }
+
+  private static int toDay(LocalDateTime dateTime) {
+    return dateTime == null ? NO_DATE : (int) dateTime.toLocalDate().toEpochDay();
+  }
+
+  private static int toSecond(LocalDateTime dateTime) {
+    return dateTime == null ? 0 : dateTime.toLocalTime().toSecondOfDay();
+  }
+
+  private static LocalDateTime toDateTime(int day, int second) {
+    if (day == NO_DATE) {
+      return null;
+    }
+    return LocalDateTime.of(LocalDate.ofEpochDay(day), LocalTime.ofSecondOfDay(second));
+  }
+
+  private static int toDay(LocalDate date) {
+    return date == null ? NO_DATE : (int) date.toEpochDay();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T grow(T array, int capacity) {
+    Object grown = Array.newInstance(array.getClass().getComponentType(), capacity);
+    System.arraycopy(array, 0, grown, 0, Array.getLength(array));
+    return (T) grown;
+  }
+
+  /**
+   * 索引の列です。 受講生と受講生コースの列、N-gramの転置索引、コース名の辞書をまとめて保持し、全件の読み込みでは新しい列を作って置き換えます。
+   */
+  private static class Columns {
+
+    // 受講生の列（添字は受講生ID順の行番号）
+    private int studentCount;
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private String[] fullnames = new String[INITIAL_CAPACITY];
+    private String[] furiganas = new String[INITIAL_CAPACITY];
+    private String[] nicknames = new String[INITIAL_CAPACITY];
+    private String[] mails = new String[INITIAL_CAPACITY];
+    private String[] addresses = new String[INITIAL_CAPACITY];
+    private String[] remarks = new String[INITIAL_CAPACITY];
+    private int[] ages = new int[INITIAL_CAPACITY];
+    private byte[] genders = new byte[INITIAL_CAPACITY];
+    private boolean[] deleted = new boolean[INITIAL_CAPACITY];
+    private int[] versions = new int[INITIAL_CAPACITY];
+    private int[] firstCourses = new int[INITIAL_CAPACITY];
+    private int[] lastCourses = new int[INITIAL_CAPACITY];
+
+    // 部分一致の比較に用いる正規化した列（データベースの正規化した列と同じくTextNormalizerで正規化する）
+    private String[] fullnameKeys = new String[INITIAL_CAPACITY];
+    private String[] furiganaKeys = new String[INITIAL_CAPACITY];
+    private String[] nicknameKeys = new String[INITIAL_CAPACITY];
+    private String[] mailKeys = new String[INITIAL_CAPACITY];
+    private String[] addressKeys = new String[INITIAL_CAPACITY];
+
+    // 部分一致の候補を絞り込むN-gramの転置索引（正規化した列ごと）
+    private final NgramIndex fullnameGrams = new NgramIndex();
+    private final NgramIndex furiganaGrams = new NgramIndex();
+    private final NgramIndex nicknameGrams = new NgramIndex();
+    private final NgramIndex mailGrams = new NgramIndex();
+    private final NgramIndex addressGrams = new NgramIndex();
+
+    // 受講生コースの列（添字は行番号。置き換えで参照されなくなった行は、nextCoursesでつないだ空き行の連結リストから再利用する）
+    private int courseCount;
+    private int freeCourses = NONE;
+    private int[] courseIds = new int[INITIAL_CAPACITY];
+    private int[] courseNameCodes = new int[INITIAL_CAPACITY];
+    private int[] startDays = new int[INITIAL_CAPACITY];
+    private int[] startSeconds = new int[INITIAL_CAPACITY];
+    private int[] endDays = new int[INITIAL_CAPACITY];
+    private int[] endSeconds = new int[INITIAL_CAPACITY];
+    private int[] nextCourses = new int[INITIAL_CAPACITY];
+    private int[] courseVersions = new int[INITIAL_CAPACITY];
+
+    // コース名の辞書
+    private final List<String> courseNames = new ArrayList<>();
+    private final List<String> courseNameKeys = new ArrayList<>();
+    private final Map<String, Integer> courseNameCodeMap = new HashMap<>();
+
+    private List<StudentDetail> search(StudentSearchCriteria criteria, Integer afterId,
+        Integer limit) {
+      Query query = new Query(criteria, this);
+      int max = limit == null ? Integer.MAX_VALUE : limit;
+      List<StudentDetail> studentDetails = new ArrayList<>();
+
+      if (query.candidates == null) {
+        for (int row = afterId == null ? 0 : rowAfter(afterId);
+            row < studentCount && studentDetails.size() < max; row++) {
+          if (matches(row, query)) {
+            studentDetails.add(toStudentDetail(row));
+          }
+        }
+        return studentDetails;
+      }
+
+      int[] candidates = query.candidates;
+      for (int i = afterId == null ? 0 : indexAfter(candidates, afterId);
+          i < candidates.length && studentDetails.size() < max; i++) {
+        int row = Arrays.binarySearch(ids, 0, studentCount, candidates[i]);
+        if (row >= 0 && matches(row, query)) {
+          studentDetails.add(toStudentDetail(row));
+        }
+      }
+      return studentDetails;
+    }
+
+    /**
+     * 受講生詳細情報を索引に追加します。 受講生IDは通常は末尾に追加されますが、採番順とコミット順が前後した場合は受講生ID順の位置に挿入します。
+     * 同じ受講生IDの受講生が存在する場合は、受講生の列と受講生コースの一覧を置き換えます（置き換え前の受講生コースの行は空き行として再利用します）。
+     */
+    private void put(StudentDetail studentDetail) {
+      Student student = studentDetail.getStudent();
+      int row = Arrays.binarySearch(ids, 0, studentCount, student.getId());
+      if (row < 0) {
+        row = -row - 1;
+        insertStudentRow(row);
+        ids[row] = student.getId();
+      } else if (versions[row] > student.getVersion()) {
+        return;
+      } else {
+        removeGrams(row);
+        releaseCourses(row);
+      }
+      setStudentColumns(row, student);
+
+      firstCourses[row] = NONE;
+      lastCourses[row] = NONE;
+      for (StudentCourse studentCourse : studentDetail.getStudentCourses()) {
+        appendCourse(row, studentCourse);
+      }
+    }
+
+    private void update(Student student, List<StudentCourse> studentCourses) {
+      int row = Arrays.binarySearch(ids, 0, studentCount, student.getId());
+      if (row < 0) {
+        put(new StudentDetail(student, studentCourses));
+        return;
+      }
+      if (versions[row] >= student.getVersion()) {
+        return;
+      }
+      removeGrams(row);
+      setStudentColumns(row, student);
+
+      for (StudentCourse studentCourse : studentCourses) {
+        for (int course = firstCourses[row]; course != NONE; course = nextCourses[course]) {
+          if (courseIds[course] == studentCourse.getId()) {
+            courseNameCodes[course] = courseNameCode(studentCourse.getCourseName());
+            courseVersions[course] = studentCourse.getVersion();
+            break;
+          }
+        }
+      }
+    }
+
+    private void setStudentColumns(int row, Student student) {
+      fullnames[row] = student.getFullname();
+      furiganas[row] = student.getFurigana();
+      nicknames[row] = student.getNickname();
+      mails[row] = student.getMail();
+      addresses[row] = student.getAddress();
+      remarks[row] = student.getRemark();
+      ages[row] = student.getAge() == null ? NO_AGE : student.getAge();
+      genders[row] = student.getGender() == null ? NO_GENDER : (byte) student.getGender().ordinal();
+      deleted[row] = student.isDeleted();
+      versions[row] = student.getVersion();
+
+      fullnameKeys[row] = TextNormalizer.normalize(student.getFullname());
+      furiganaKeys[row] = TextNormalizer.normalize(student.getFurigana());
+      nicknameKeys[row] = TextNormalizer.normalize(student.getNickname());
+      mailKeys[row] = TextNormalizer.normalize(student.getMail());
+      addressKeys[row] = TextNormalizer.normalize(student.getAddress());
+
+      int id = ids[row];
+      fullnameGrams.add(id, fullnameKeys[row]);
+      furiganaGrams.add(id, furiganaKeys[row]);
+      nicknameGrams.add(id, nicknameKeys[row]);
+      mailGrams.add(id, mailKeys[row]);
+      addressGrams.add(id, addressKeys[row]);
+    }
+
+    /**
+     * 受講生の列を置き換える前に、置き換え前の値のN-gramを転置索引から削除します。
+     */
+    private void removeGrams(int row) {
+      int id = ids[row];
+      fullnameGrams.remove(id, fullnameKeys[row]);
+      furiganaGrams.remove(id, furiganaKeys[row]);
+      nicknameGrams.remove(id, nicknameKeys[row]);
+      mailGrams.remove(id, mailKeys[row]);
+      addressGrams.remove(id, addressKeys[row]);
+    }
+
+    /**
+     * 受講生コースの一覧を置き換える前に、置き換え前の受講生コースの行を空き行の連結リストへ戻します。
+     */
+    private void releaseCourses(int row) {
+      int course = firstCourses[row];
+      while (course != NONE) {
+        int next = nextCourses[course];
+        nextCourses[course] = freeCourses;
+        freeCourses = course;
+        course = next;
+      }
+    }
+
+    private void insertStudentRow(int row) {
+      if (studentCount == ids.length) {
+        int capacity = ids.length * 2;
+        ids = grow(ids, capacity);
+        fullnames = grow(fullnames, capacity);
+        furiganas = grow(furiganas, capacity);
+        nicknames = grow(nicknames, capacity);
+        mails = grow(mails, capacity);
+        addresses = grow(addresses, capacity);
+        remarks = grow(remarks, capacity);
+        ages = grow(ages, capacity);
+        genders = grow(genders, capacity);
+        deleted = grow(deleted, capacity);
+        versions = grow(versions, capacity);
+        firstCourses = grow(firstCourses, capacity);
+        lastCourses = grow(lastCourses, capacity);
+        fullnameKeys = grow(fullnameKeys, capacity);
+        furiganaKeys = grow(furiganaKeys, capacity);
+        nicknameKeys = grow(nicknameKeys, capacity);
+        mailKeys = grow(mailKeys, capacity);
+        addressKeys = grow(addressKeys, capacity);
+      }
+      if (row < studentCount) {
+        for (Object column : new Object[]{ids, fullnames, furiganas, nicknames, mails, addresses,
+            remarks, ages, genders, deleted, versions, firstCourses, lastCourses, fullnameKeys,
+            furiganaKeys, nicknameKeys, mailKeys, addressKeys}) {
+          System.arraycopy(column, row, column, row + 1, studentCount - row);
+        }
+      }
+      studentCount++;
+    }
+
+    private void appendCourse(int row, StudentCourse studentCourse) {
+      int course;
+      if (freeCourses != NONE) {
+        course = freeCourses;
+        freeCourses = nextCourses[course];
+      } else {
+        if (courseCount == courseIds.length) {
+          int capacity = courseIds.length * 2;
+          courseIds = grow(courseIds, capacity);
+          courseNameCodes = grow(courseNameCodes, capacity);
+          startDays = grow(startDays, capacity);
+          startSeconds = grow(startSeconds, capacity);
+          endDays = grow(endDays, capacity);
+          endSeconds = grow(endSeconds, capacity);
+          nextCourses = grow(nextCourses, capacity);
+          courseVersions = grow(courseVersions, capacity);
+        }
+        course = courseCount++;
+      }
+
+      courseIds[course] = studentCourse.getId();
+      courseNameCodes[course] = courseNameCode(studentCourse.getCourseName());
+      startDays[course] = toDay(studentCourse.getStartDate());
+      startSeconds[course] = toSecond(studentCourse.getStartDate());
+      endDays[course] = toDay(studentCourse.getEndDate());
+      endSeconds[course] = toSecond(studentCourse.getEndDate());
+      nextCourses[course] = NONE;
+      courseVersions[course] = studentCourse.getVersion();
+
+      if (lastCourses[row] == NONE) {
+        firstCourses[row] = course;
+      } else {
+        nextCourses[lastCourses[row]] = course;
+      }
+      lastCourses[row] = course;
+    }
+
+    private int courseNameCode(String courseName) {
+      Integer code = courseNameCodeMap.get(courseName);
+      if (code == null) {
+        code = courseNames.size();
+        courseNames.add(courseName);
+        courseNameKeys.add(toKey(courseName));
+        courseNameCodeMap.put(courseName, code);
+      }
+      return code;
+    }
+
+    /**
+     * 受講生IDがafterIdより大きい最初の行番号を取得します。
+     */
+    private int rowAfter(int afterId) {
+      int row = Arrays.binarySearch(ids, 0, studentCount, afterId);
+      return row < 0 ? -row - 1 : row + 1;
+    }
+
+    private boolean matches(int row, Query query) {
+      if (query.deleted != null && deleted[row] != query.deleted) {
+        return false;
+      }
+      if (query.gender != NO_GENDER && genders[row] != query.gender) {
+        return false;
+      }
+      if (query.minAge != null && (ages[row] == NO_AGE || ages[row] < query.minAge)) {
+        return false;
+      }
+      if (query.maxAge != null && (ages[row] == NO_AGE || ages[row] > query.maxAge)) {
+        return false;
+      }
+      if (!contains(fullnameKeys[row], query.fullname)
+          || !contains(furiganaKeys[row], query.furigana)
+          || !contains(nicknameKeys[row], query.nickname)
+          || !contains(mailKeys[row], query.mail)
+          || !contains(addressKeys[row], query.address)) {
+        return false;
+      }
+      if (!query.hasCourseConditions) {
+        return true;
+      }
+
+      // 受講生コースの条件は、条件ごとに別々の受講生コースが満たしてもよい
+      boolean[] courseNameMatches = query.courseNameMatches;
+      return (courseNameMatches == null
+          || anyCourse(row, course -> courseNameMatches[courseNameCodes[course]]))
+          && (query.startDayFrom == NO_DATE
+          || anyCourse(row, course -> onOrAfter(startDays[course], query.startDayFrom)))
+          && (query.startDayTo == NO_DATE
+          || anyCourse(row, course -> onOrBefore(startDays[course], query.startDayTo)))
+          && (query.endDayFrom == NO_DATE
+          || anyCourse(row, course -> onOrAfter(endDays[course], query.endDayFrom)))
+          && (query.endDayTo == NO_DATE
+          || anyCourse(row, course -> onOrBefore(endDays[course], query.endDayTo)));
+    }
+
+    private boolean anyCourse(int row, IntPredicate condition) {
+      for (int course = firstCourses[row]; course != NONE; course = nextCourses[course]) {
+        if (condition.test(course)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private StudentDetail toStudentDetail(int row) {
+      Student student = new Student(ids[row], fullnames[row], furiganas[row], nicknames[row],
+          mails[row], addresses[row], ages[row] == NO_AGE ? null : ages[row],
+          genders[row] == NO_GENDER ? null : GENDERS[genders[row]], remarks[row], deleted[row],
+          versions[row]);
+
+      List<StudentCourse> studentCourses = new ArrayList<>();
+      for (int course = firstCourses[row]; course != NONE; course = nextCourses[course]) {
+        studentCourses.add(new StudentCourse(courseIds[course], ids[row],
+            courseNames.get(courseNameCodes[course]),
+            toDateTime(startDays[course], startSeconds[course]),
+            toDateTime(endDays[course], endSeconds[course]), courseVersions[course]));
+      }
+      return new StudentDetail(student, studentCourses);
+    }
+
+  }
+
+  /**
+   * 検索条件を索引上での比較に適した形に変換したものです。 コース名の条件は、辞書の各コース名が合致するかどうかをあらかじめ判定しておきます。
+   * 文字列の条件は、各列のN-gramの転置索引から得た候補の受講生IDの積集合を取っておきます。
+   */
+  private static class Query {
+
+    private final String fullname;
+    private final String furigana;
+    private final String nickname;
+    private final String mail;
+    private final String address;
+    private final Integer minAge;
+    private final Integer maxAge;
+    private final byte gender;
+    private final Boolean deleted;
+    private final boolean[] courseNameMatches;
+    private final int startDayFrom;
+    private final int startDayTo;
+    private final int endDayFrom;
+    private final int endDayTo;
+    private final boolean hasCourseConditions;
+    private final int[] candidates;
+
+    Query(StudentSearchCriteria criteria, Columns columns) {
+      fullname = TextNormalizer.normalize(criteria.getFullname());
+      furigana = TextNormalizer.normalize(criteria.getFurigana());
+      nickname = TextNormalizer.normalize(criteria.getNickname());
+      mail = TextNormalizer.normalize(criteria.getMail());
+      address = TextNormalizer.normalize(criteria.getAddress());
+      minAge = criteria.getMinAge();
+      maxAge = criteria.getMaxAge();
+      gender = criteria.getGender() == null ? NO_GENDER : (byte) criteria.getGender().ordinal();
+      deleted = criteria.getDeleted();
+
+      String courseName = toKey(criteria.getCourseName());
+      if (courseName == null) {
+        courseNameMatches = null;
+      } else {
+        courseNameMatches = new boolean[columns.courseNameKeys.size()];
+        for (int code = 0; code < courseNameMatches.length; code++) {
+          courseNameMatches[code] = contains(columns.courseNameKeys.get(code), courseName);
+        }
+      }
+      startDayFrom = toDay(criteria.getStartDateFrom());
+      startDayTo = toDay(criteria.getStartDateTo());
+      endDayFrom = toDay(criteria.getEndDateFrom());
+      endDayTo = toDay(criteria.getEndDateTo());
+      hasCourseConditions = courseNameMatches != null || startDayFrom != NO_DATE
+          || startDayTo != NO_DATE || endDayFrom != NO_DATE || endDayTo != NO_DATE;
+
+      int[] narrowed = null;
+      narrowed = narrow(narrowed, columns.fullnameGrams, fullname);
+      narrowed = narrow(narrowed, columns.furiganaGrams, furigana);
+      narrowed = narrow(narrowed, columns.nicknameGrams, nickname);
+      narrowed = narrow(narrowed, columns.mailGrams, mail);
+      narrowed = narrow(narrowed, columns.addressGrams, address);
+      candidates = narrowed;
+    }
+
+    /**
+     * 文字列の条件の候補で、これまでの候補を絞り込みます。
+     *
+     * @return 絞り込んだ候補（文字列の条件で絞り込めない場合はnull）
+     */
+    private static int[] narrow(int[] candidates, NgramIndex grams, String value) {
+      if (value == null || (candidates != null && candidates.length == 0)) {
+        return candidates;
+      }
+      int[] found = grams.candidates(value);
+      if (found == null) {
+        return candidates;
+      }
+      if (candidates == null) {
+        return found;
+      }
+      return candidates.length <= found.length
+          ? NgramIndex.intersect(candidates, found, found.length)
+          : NgramIndex.intersect(found, candidates, candidates.length);
+    }
+
+  }
+
+}
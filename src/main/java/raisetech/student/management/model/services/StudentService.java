@@ -1,26 +1,38 @@
 package raisetech.student.management.model.services;
 
-import java.time.LocalDate;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import raisetech.student.management.model.converter.CourseConverter;
-import raisetech.student.management.model.converter.StudentConverter;
 import raisetech.student.management.model.data.CourseSearchCriteria;
 import raisetech.student.management.model.data.CourseStatus;
-import raisetech.student.management.model.data.Gender;
 import raisetech.student.management.model.data.Status;
 import raisetech.student.management.model.data.Student;
 import raisetech.student.management.model.data.StudentCourse;
 import raisetech.student.management.model.data.StudentSearchCriteria;
+import raisetech.student.management.model.domain.CacheStatistics;
 import raisetech.student.management.model.domain.CourseDetail;
+import raisetech.student.management.model.domain.CourseStatusBulkUpdateResult;
 import raisetech.student.management.model.domain.IntegratedDetail;
 import raisetech.student.management.model.domain.StudentDetail;
+import raisetech.student.management.model.domain.StudentSuggestion;
+import raisetech.student.management.model.domain.TableChanges;
 import raisetech.student.management.model.exception.EmailAlreadyExistsException;
 import raisetech.student.management.model.exception.ResourceNotFoundException;
+import raisetech.student.management.model.exception.VersionConflictException;
 import raisetech.student.management.model.repository.StudentRepository;
+import raisetech.student.management.model.services.TableChangeCounter.Table;
 
 /**
  * 受講生情報を取り扱うサービスです。 受講生の検索や登録や更新処理を行います。
@@ -28,176 +40,202 @@ import raisetech.student.management.model.repository.StudentRepository;
 @Service
 public class StudentService {
 
+  /**
+   * IN句に一度に指定するIDの上限です。 これを超える一括処理は、この件数ごとに分割して問い合わせます。
+   */
+  static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
   private final StudentRepository repository;
-  private final StudentConverter studentConverter;
   private final CourseConverter courseConverter;
-
-  public StudentService(StudentRepository repository, StudentConverter studentConverter,
-      CourseConverter courseConverter) {
+  private final StudentDetailCache detailCache;
+  private final StudentSearchIndex searchIndex;
+  private final StudentSuggestIndex suggestIndex;
+  private final TableChangeCounter changeCounter;
+
+  public StudentService(StudentRepository repository, CourseConverter courseConverter,
+      StudentDetailCache detailCache, StudentSearchIndex searchIndex,
+      StudentSuggestIndex suggestIndex, TableChangeCounter changeCounter) {
     this.repository = repository;
-    this.studentConverter = studentConverter;
     this.courseConverter = courseConverter;
+    this.detailCache = detailCache;
+    this.searchIndex = searchIndex;
+    this.suggestIndex = suggestIndex;
+    this.changeCounter = changeCounter;
   }
 
   /**
-   * 受講生一覧検索です。 受講生の一覧と受講生のコース一覧をconverterで受講生詳細情報一覧に変換します。 指定されたリクエストパラメータの値に応じてフィルタリングを行います。
+   * 受講生一覧検索用のインメモリ索引に、受講生詳細情報の全件を読み込みます。 インメモリ索引で検索するモードの場合のみ、アプリケーションの起動完了時に実行します。
+   * 読み込みが完了するまでの受講生一覧検索はデータベースに問い合わせます。 読み込み中にコミットされた登録・更新は、読み込みの完了後に索引に反映されます。
    *
-   * @return 受講生詳細情報一覧
+   * @throws IOException Cursorのクローズに失敗した場合
    */
-  public List<StudentDetail> searchStudentList(StudentSearchCriteria criteria) {
-    List<Student> students = repository.searchStudents();
-    List<StudentCourse> studentsCoursesList = repository.searchStudentCoursesList();
-    List<StudentDetail> studentDetails = studentConverter.convertStudentDetails(students,
-        studentsCoursesList);
-
-    return studentDetails.stream()
-        .filter(
-            studentDetail -> doesStringContainSubstring(studentDetail.getStudent().getFullname(),
-                criteria.getFullname()))
-
-        .filter(
-            studentDetail -> doesStringContainSubstring(studentDetail.getStudent().getFurigana(),
-                criteria.getFurigana()))
-
-        .filter(
-            studentDetail -> doesStringContainSubstring(studentDetail.getStudent().getNickname(),
-                criteria.getNickname()))
-
-        .filter(studentDetail -> doesStringContainSubstring(studentDetail.getStudent().getMail(),
-            criteria.getMail()))
-
-        .filter(studentDetail -> doesStringContainSubstring(studentDetail.getStudent().getAddress(),
-            criteria.getAddress()))
-
-        .filter(studentDetail -> isIntegerMoreThan(studentDetail.getStudent().getAge(),
-            criteria.getMinAge()))
-
-        .filter(studentDetail -> isIntegerLessThan(studentDetail.getStudent().getAge(),
-            criteria.getMaxAge()))
-
-        .filter(studentDetail -> isGenderMatching(studentDetail.getStudent().getGender(),
-            criteria.getGender()))
-
-        .filter(studentDetail -> isBooleanEqual(studentDetail.getStudent().isDeleted(),
-            criteria.getDeleted()))
-
-        .filter(studentDetail -> studentDetail.getStudentCourses()
-            .stream()
-            .anyMatch(studentCourse -> doesStringContainSubstring(studentCourse.getCourseName(),
-                criteria.getCourseName())))
-
-        .filter(studentDetail -> studentDetail.getStudentCourses()
-            .stream()
-            .anyMatch(studentCourse -> isDateOnOrAfter(studentCourse.getStartDate().toLocalDate(),
-                criteria.getStartDateFrom())))
-
-        .filter(studentDetail -> studentDetail.getStudentCourses()
-            .stream()
-            .anyMatch(studentCourse -> isDateOnOrBefore(studentCourse.getStartDate().toLocalDate(),
-                criteria.getStartDateTo())))
-
-        .filter(studentDetail -> studentDetail.getStudentCourses()
-            .stream()
-            .anyMatch(studentCourse -> isDateOnOrAfter(studentCourse.getEndDate().toLocalDate(),
-                criteria.getEndDateFrom())))
-
-        .filter(studentDetail -> studentDetail.getStudentCourses()
-            .stream()
-            .anyMatch(studentCourse -> isDateOnOrBefore(studentCourse.getStartDate().toLocalDate(),
-                criteria.getEndDateFrom())))
-
-        .toList();
-
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void loadSearchIndex() throws IOException {
+    if (!searchIndex.isEnabled()) {
+      return;
+    }
+    // Cursorを開く前から索引が反映を控えておけるよう、読み込み元としてCursorを開く処理ごと渡す
+    searchIndex.load(action -> {
+      try (Cursor<StudentDetail> cursor = repository.exportStudentDetails()) {
+        for (StudentDetail studentDetail : cursor) {
+          action.accept(studentDetail);
+        }
+      }
+    });
   }
 
   /**
-   * 受講生コース詳細一覧検索です。 受講生コースの一覧とコース申込状況一覧をcourseConverterでコース詳細情報一覧に変換します。
-   * 指定されたリクエストパラメータの値に応じてフィルタリングを行います。
+   * 受講生の入力候補の索引に、受講生の全件を読み込みます。 アプリケーションの起動完了時に実行します。
+   * 読み込み中にコミットされた登録・更新は、読み込みの完了後に索引に反映されます。
    *
-   * @return コース詳細情報一覧
+   * @throws IOException Cursorのクローズに失敗した場合
    */
-  public List<CourseDetail> searchStudentCourseList(CourseSearchCriteria criteria) {
-    List<StudentCourse> studentCoursesList = repository.searchStudentCoursesList();
-    List<CourseStatus> courseStatusesList = repository.searchCourseStatusList();
-    List<CourseDetail> courseDetails = courseConverter.convertCourseDetails(studentCoursesList,
-        courseStatusesList);
-
-    return courseDetails.stream()
-        .filter(courseDetail -> doesStringContainSubstring(
-            courseDetail.getStudentCourse().getCourseName(), criteria.getCourseName()))
-
-        .filter(courseDetail -> isDateOnOrAfter(
-            courseDetail.getStudentCourse().getStartDate().toLocalDate(),
-            criteria.getStartDateFrom()))
-
-        .filter(courseDetail -> isDateOnOrBefore(
-            courseDetail.getStudentCourse().getStartDate().toLocalDate(),
-            criteria.getStartDateTo()))
-
-        .filter(courseDetail -> isDateOnOrAfter(
-            courseDetail.getStudentCourse().getEndDate().toLocalDate(),
-            criteria.getEndDateFrom()))
-
-        .filter(courseDetail -> isDateOnOrBefore(
-            courseDetail.getStudentCourse().getEndDate().toLocalDate(),
-            criteria.getEndDateTo()))
-
-        .filter(courseDetail -> isStatusMatching(courseDetail.getCourseStatus().getStatus(),
-            criteria.getStatus()))
-
-        .toList();
-
-  }
-
-  private boolean doesStringContainSubstring(String targetValue, String criteriaValue) {
-    return criteriaValue == null || targetValue.contains(criteriaValue);
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void loadSuggestIndex() throws IOException {
+    suggestIndex.load(action -> {
+      try (Cursor<Student> cursor = repository.exportStudentNames()) {
+        for (Student student : cursor) {
+          action.accept(student);
+        }
+      }
+    });
   }
 
-  private boolean isIntegerMoreThan(Integer targetValue, Integer criteriaValue) {
-    return criteriaValue == null || targetValue >= criteriaValue;
+  /**
+   * 受講生一覧検索です。 指定されたリクエストパラメータの値に応じたフィルタリングはSQL側で行い、条件に合致する受講生と受講生のコース一覧を1回の問い合わせで取得します。
+   *
+   * @param criteria 検索条件
+   * @return 受講生詳細情報一覧
+   */
+  public List<StudentDetail> searchStudentList(StudentSearchCriteria criteria) {
+    return searchStudentList(criteria, null, null);
   }
 
-  private boolean isIntegerLessThan(Integer targetValue, Integer criteriaValue) {
-    return criteriaValue == null || targetValue <= criteriaValue;
+  /**
+   * 受講生一覧検索（キーセットページング）です。 受講生ID順に、afterIdより後の受講生のうち条件に合致するものを最大limit件取得します。
+   * OFFSETを使用しないため、後方のページでも先頭ページと同じコストで取得できます。
+   * インメモリ索引で検索できる場合は、データベースに問い合わせずに索引上で条件を評価します。
+   * 全文検索モードの場合は、文字列の条件を全文検索索引で絞り込んだうえでデータベースに問い合わせます。
+   *
+   * @param criteria 検索条件
+   * @param afterId  前ページの最後の受講生ID（nullの場合は先頭から取得）
+   * @param limit    取得件数の上限（nullの場合は全件取得）
+   * @return 受講生詳細情報一覧
+   */
+  public List<StudentDetail> searchStudentList(StudentSearchCriteria criteria, Integer afterId,
+      Integer limit) {
+    if (searchIndex.isAvailable()) {
+      return searchIndex.search(criteria, afterId, limit);
+    }
+    if (searchIndex.isFulltext()) {
+      return repository.searchStudentDetailsFulltext(criteria, afterId, limit);
+    }
+    return repository.searchStudentDetails(criteria, afterId, limit);
   }
 
-  private boolean isBooleanEqual(Boolean targetValue, Boolean criteriaValue) {
-    return criteriaValue == null || targetValue == criteriaValue;
+  /**
+   * 受講生一覧検索の対象となるテーブル（受講生、受講生コース）の変更状況の取得です。 一覧検索の条件付きGETの判定用に、データベースに問い合わせずに取得します。
+   *
+   * @return 受講生と受講生コースのテーブルの変更状況
+   */
+  public TableChanges searchStudentListChanges() {
+    return changeCounter.changes(Table.STUDENTS, Table.STUDENTS_COURSES);
   }
 
-  private boolean isDateOnOrAfter(LocalDate targetDate, LocalDate criteriaDate) {
-    return criteriaDate == null || targetDate.isAfter(criteriaDate);
+  /**
+   * 受講生の入力候補の検索です。 ふりがなが前方一致する削除されていない受講生の受講生IDと氏名を、データベースに問い合わせずに索引から取得します。
+   * 索引の読み込みが完了していない場合と、トランザクション内で呼び出した場合はデータベースに問い合わせます。
+   *
+   * @param furigana ふりがなの先頭部分（ひらがな・カタカナ、全角・半角、空白の有無は区別しません）
+   * @param limit    取得件数の上限
+   * @return 受講生の入力候補の一覧
+   */
+  public List<StudentSuggestion> suggestStudents(String furigana, int limit) {
+    if (suggestIndex.isAvailable()) {
+      return suggestIndex.suggest(furigana, limit);
+    }
+    String prefix = StudentSuggestIndex.toKey(furigana);
+    if (prefix.isEmpty()) {
+      return List.of();
+    }
+    return repository.searchStudentSuggestions(prefix, limit);
   }
 
-  private boolean isDateOnOrBefore(LocalDate targetDate, LocalDate criteriaDate) {
-    return criteriaDate == null || targetDate.isBefore(criteriaDate);
+  /**
+   * 受講生コース詳細一覧検索です。 受講生コースとコース申込状況を結合したうえで、指定されたリクエストパラメータの値に応じたフィルタリングをSQL側で行います。
+   *
+   * @param criteria 検索条件
+   * @return コース詳細情報一覧
+   */
+  public List<CourseDetail> searchStudentCourseList(CourseSearchCriteria criteria) {
+    return searchStudentCourseList(criteria, null, null);
   }
 
-  private boolean isGenderMatching(Gender targetValue, Gender criteriaValue) {
-    return criteriaValue == null || targetValue == criteriaValue;
+  /**
+   * 受講生コース詳細一覧検索（キーセットページング）です。 受講生コースID順に、afterIdより後の受講生コースのうち条件に合致するものを最大limit件取得します。
+   *
+   * @param criteria 検索条件
+   * @param afterId  前ページの最後の受講生コースID（nullの場合は先頭から取得）
+   * @param limit    取得件数の上限（nullの場合は全件取得）
+   * @return コース詳細情報一覧
+   */
+  public List<CourseDetail> searchStudentCourseList(CourseSearchCriteria criteria,
+      Integer afterId, Integer limit) {
+    return repository.searchCourseDetails(criteria, afterId, limit);
   }
 
-  private boolean isStatusMatching(Status targetValue, Status criteriaValue) {
-    return criteriaValue == null || targetValue == criteriaValue;
+  /**
+   * 受講生コース詳細一覧検索の対象となるテーブル（受講生コース、コース申込状況）の変更状況の取得です。
+   * 一覧検索の条件付きGETの判定用に、データベースに問い合わせずに取得します。
+   *
+   * @return 受講生コースとコース申込状況のテーブルの変更状況
+   */
+  public TableChanges searchStudentCourseListChanges() {
+    return changeCounter.changes(Table.STUDENTS_COURSES, Table.COURSE_STATUS);
   }
 
   /**
-   * 受講生検索です。 IDに紐づく任意の受講生の情報を取得した後、その受講生に紐づく受講生コース情報を取得し、受講生の情報を設定します。
+   * 受講生検索です。 IDに紐づく任意の受講生の情報と、その受講生に紐づく受講生コース情報を1回の問い合わせで取得します。
+   * 取得した受講生詳細情報はキャッシュし、受講生の登録・更新のコミット後に破棄します。
    *
    * @param id 受講生ID
    * @return IDに紐づく受講生の詳細情報
    */
   public StudentDetail searchStudent(int id) {
-    Student student = repository.searchStudent(id);
+    StudentDetail studentDetail = detailCache.get(id, repository::searchStudentDetail);
 
-    if (student == null) {
+    if (studentDetail == null) {
       throw new ResourceNotFoundException("受講生ID 「" + id + "」は存在しません");
     }
 
-    List<StudentCourse> studentCourses = repository.searchStudentCourses(student.getId());
+    return studentDetail;
+
+  }
 
-    return new StudentDetail(student, studentCourses);
+  /**
+   * 受講生詳細情報のバージョンの検索です。 条件付きGETの判定用に、キャッシュにある受講生詳細情報をそのまま返します。
+   * キャッシュにない場合のみ、受講生と受講生コースのIDとバージョンのみを主キーで取得します（受講生詳細情報は組み立てず、キャッシュもしません）。
+   *
+   * @param id 受講生ID
+   * @return キャッシュにある受講生詳細情報、またはIDとバージョンのみを設定した受講生詳細情報（存在しない場合はnull）
+   */
+  public StudentDetail searchStudentVersion(int id) {
+    StudentDetail cached = detailCache.getIfPresent(id);
+    if (cached != null) {
+      return cached;
+    }
+    return repository.searchStudentDetailVersion(id);
+  }
 
+  /**
+   * 受講生詳細情報のキャッシュの統計情報を取得します。
+   *
+   * @return キャッシュの統計情報
+   */
+  public CacheStatistics searchStudentDetailCacheStats() {
+    return detailCache.stats();
   }
 
   /**
@@ -219,9 +257,20 @@ public class StudentService {
 
   }
 
+  /**
+   * 受講生コース詳細情報のバージョンの検索です。 条件付きGETの判定用に、受講生コースとコース申込状況のIDとバージョンのみを取得します。
+   *
+   * @param id 受講生コースID
+   * @return IDとバージョンのみを設定した受講生コース詳細情報（存在しない場合はnull）
+   */
+  public CourseDetail searchStudentCourseVersion(int id) {
+    return repository.searchCourseDetailVersion(id);
+  }
+
   /**
    * 受講生の詳細情報の新規登録です。 受講生の詳細情報から受講生の情報と受講生のコース情報を取り出し、それぞれ新規登録します。
-   * 新規登録の際、コース情報に初期情報（受講生ID、コース開始日、終了日）を自動で設定します。 また、コース申込状況に受講生コースIDを設定します。
+   * 新規登録の際、コース情報に初期情報（受講生ID、コース開始日、終了日）を自動で設定します。 また、コース申込状況に受講生コースIDと初期状態（仮申込）を設定します。
+   * 受講生コースとコース申込状況は、それぞれ1回の問い合わせで一括登録します。
    *
    * @param studentDetail 受講生の詳細情報
    * @return 新規登録される受講生の詳細とコース詳細の統合情報
@@ -230,39 +279,181 @@ public class StudentService {
   public IntegratedDetail registerStudent(StudentDetail studentDetail) {
     Student student = studentDetail.getStudent();
 
-    for (Student studentAtDb : repository.searchStudents()) {
-      if (studentAtDb.getMail().equals(student.getMail())) {
-        throw new EmailAlreadyExistsException(
-            "メールアドレス(" + student.getMail() + ")はすでに登録されているため使用できません。");
-      }
+    // 事前の存在確認で大半の重複を弾き、同時登録による重複はメールアドレスの一意制約違反として検出する。
+    if (repository.existsByMail(student.getMail())) {
+      throw new EmailAlreadyExistsException(emailAlreadyExistsMessage(student.getMail()));
     }
 
-    repository.registerStudent(student);
+    // バージョンはデータベースの初期値と同じ値にし、インメモリ索引へ反映する値と一致させる。
+    student.setVersion(0);
+    try {
+      repository.registerStudent(student);
+    } catch (DuplicateKeyException e) {
+      throw new EmailAlreadyExistsException(emailAlreadyExistsMessage(student.getMail()), e);
+    }
+    detailCache.evictAfterCommit(student.getId());
 
-    List<CourseDetail> courseDetails = new ArrayList<>();
+    // registerStudentの引数として渡されたstudentDetail内のオブジェクト（student、studentCourses）はデータベース登録後の値に更新される。
+    List<StudentCourse> studentCourses = studentDetail.getStudentCourses();
+    studentCourses.forEach(studentCourse -> initStudentCourses(studentCourse, student));
+    List<CourseDetail> courseDetails = registerCourses(studentCourses);
+    searchIndex.putAfterCommit(List.of(studentDetail));
+    suggestIndex.putAfterCommit(List.of(student));
+    changeCounter.incrementAfterCommit(Table.STUDENTS);
 
-    studentDetail.getStudentCourses().forEach(studentCourse -> {
-      initStudentCourses(studentCourse, student);
-      repository.registerStudentCourses(studentCourse);
+    return new IntegratedDetail(studentDetail, courseDetails);
 
-      CourseStatus courseStatus = new CourseStatus();
-      courseStatus.setCourseId(studentCourse.getId());
-      repository.registerCourseStatus(courseStatus);
+  }
+
+  /**
+   * 登録済みのメールアドレスの検索です。 指定したメールアドレスのうち、すでに登録されているものを1回の問い合わせで取得します。
+   *
+   * @param mails メールアドレスの一覧
+   * @return 登録済みのメールアドレス
+   */
+  public Set<String> searchRegisteredMails(List<String> mails) {
+    if (mails.isEmpty()) {
+      return new HashSet<>();
+    }
+    return new HashSet<>(repository.searchRegisteredMails(mails));
+  }
+
+  /**
+   * 受講生の詳細情報の一括新規登録です。 受講生、受講生コース、コース申込状況をそれぞれ1回の問い合わせで新規登録します。
+   * メールアドレスの重複確認は呼び出し側でsearchRegisteredMailsを用いて事前に行う前提とし、同時登録などで一意制約違反が発生した場合は
+   * EmailAlreadyExistsExceptionをスローして全件をロールバックします。
+   *
+   * @param studentDetails 受講生の詳細情報の一覧
+   * @return 新規登録される受講生の詳細とコース詳細の統合情報の一覧（引数と同じ順序）
+   */
+  @Transactional
+  public List<IntegratedDetail> registerStudents(List<StudentDetail> studentDetails) {
+    if (studentDetails.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    List<Student> students = studentDetails.stream().map(StudentDetail::getStudent).toList();
+    students.forEach(student -> student.setVersion(0));
+    try {
+      repository.registerStudentsList(students);
+    } catch (DuplicateKeyException e) {
+      throw new EmailAlreadyExistsException(
+          "登録対象のメールアドレスが同時に登録されたため、登録を取り消しました。", e);
+    }
 
-      CourseDetail courseDetail = new CourseDetail();
-      courseDetail.setStudentCourse(studentCourse);
-      // 返り値であるIntegratedDetailには、Repository層で追加されたstatus（仮申込）をセットする必要がある。
-      // RepositoryでuseGeneratedKeysを指定しているため、IDは自動で取得される。
-      // registerStudentの引数として渡されたstudentDetail内のオブジェクト（student、studentCourses）はデータベース登録後の値に更新される。
-      CourseStatus savedCourseStatus = repository.searchCourseStatus(studentCourse.getId());
-      courseDetail.setCourseStatus(savedCourseStatus);
+    List<StudentCourse> studentCourses = new ArrayList<>();
+    for (StudentDetail studentDetail : studentDetails) {
+      studentDetail.getStudentCourses().forEach(
+          studentCourse -> initStudentCourses(studentCourse, studentDetail.getStudent()));
+      studentCourses.addAll(studentDetail.getStudentCourses());
+    }
+    List<CourseDetail> courseDetails = registerCourses(studentCourses);
+    searchIndex.putAfterCommit(studentDetails);
+    suggestIndex.putAfterCommit(students);
+    changeCounter.incrementAfterCommit(Table.STUDENTS);
+
+    // 受講生コースは受講生の順に並んでいるため、各受講生のコース数ずつ先頭から割り当てる。
+    List<IntegratedDetail> integratedDetails = new ArrayList<>(studentDetails.size());
+    int from = 0;
+    for (StudentDetail studentDetail : studentDetails) {
+      int to = from + studentDetail.getStudentCourses().size();
+      integratedDetails.add(
+          new IntegratedDetail(studentDetail, new ArrayList<>(courseDetails.subList(from, to))));
+      from = to;
+    }
 
-      courseDetails.add(courseDetail);
+    return integratedDetails;
 
-    });
+  }
 
-    return new IntegratedDetail(studentDetail, courseDetails);
+  /**
+   * 取り込んだ受講生の詳細情報の一括新規登録です。 受講生、受講生コース、コース申込状況をそれぞれ1回の問い合わせで新規登録します。
+   * registerStudentsと異なり、受講生コースの開始日・終了日は取り込んだ値のまま登録し、コース申込状況には受講生コースごとに指定した値を設定します。
+   * メールアドレスの重複確認は呼び出し側でsearchRegisteredMailsを用いて事前に行う前提とし、同時登録などで一意制約違反が発生した場合は
+   * EmailAlreadyExistsExceptionをスローします。 呼び出し側のトランザクションに参加するため、ロールバックの範囲は呼び出し側で決まります。
+   *
+   * @param studentDetails 受講生の詳細情報の一覧
+   * @param statuses       受講生コースごとのコース申込状況（受講生の順、受講生内は受講生コースの順）
+   */
+  @Transactional
+  public void registerImportedStudents(List<StudentDetail> studentDetails,
+      List<Status> statuses) {
+    if (studentDetails.isEmpty()) {
+      return;
+    }
+
+    List<Student> students = studentDetails.stream().map(StudentDetail::getStudent).toList();
+    students.forEach(student -> student.setVersion(0));
+    try {
+      repository.registerStudentsList(students);
+    } catch (DuplicateKeyException e) {
+      throw new EmailAlreadyExistsException(
+          "登録対象のメールアドレスが同時に登録されたため、登録を取り消しました。", e);
+    }
+
+    List<StudentCourse> studentCourses = new ArrayList<>();
+    for (StudentDetail studentDetail : studentDetails) {
+      studentDetail.getStudentCourses().forEach(
+          studentCourse -> studentCourse.setStudentId(studentDetail.getStudent().getId()));
+      studentCourses.addAll(studentDetail.getStudentCourses());
+    }
+    registerCourses(studentCourses, statuses);
+    searchIndex.putAfterCommit(studentDetails);
+    suggestIndex.putAfterCommit(students);
+    changeCounter.incrementAfterCommit(Table.STUDENTS);
+  }
 
+  /**
+   * 受講生コースとコース申込状況を新規登録するメソッドです。 それぞれ複数行INSERTで一括登録し、コース申込状況には初期状態（仮申込）を設定します。
+   *
+   * @param studentCourses 初期情報を設定済みの受講生コースの一覧
+   * @return 受講生コースの詳細情報の一覧（引数と同じ順序）
+   */
+  private List<CourseDetail> registerCourses(List<StudentCourse> studentCourses) {
+    return registerCourses(studentCourses,
+        Collections.nCopies(studentCourses.size(), Status.仮申込));
+  }
+
+  /**
+   * 受講生コースとコース申込状況を新規登録するメソッドです。 それぞれ複数行INSERTで一括登録し、コース申込状況には指定した値を設定します。
+   * RepositoryでuseGeneratedKeysを指定しているため、採番されたIDは各オブジェクトに設定されます。
+   * 登録した値をそのまま返り値に使用するため、申込状況の再検索は行いません。
+   *
+   * @param studentCourses 初期情報を設定済みの受講生コースの一覧
+   * @param statuses       受講生コースごとのコース申込状況（受講生コースと同じ順序）
+   * @return 受講生コースの詳細情報の一覧（引数と同じ順序）
+   */
+  private List<CourseDetail> registerCourses(List<StudentCourse> studentCourses,
+      List<Status> statuses) {
+    if (studentCourses.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    studentCourses.forEach(studentCourse -> studentCourse.setVersion(0));
+    repository.registerStudentCoursesList(studentCourses);
+
+    List<CourseStatus> courseStatuses = new ArrayList<>(studentCourses.size());
+    for (int i = 0; i < studentCourses.size(); i++) {
+      CourseStatus courseStatus = new CourseStatus();
+      courseStatus.setCourseId(studentCourses.get(i).getId());
+      courseStatus.setStatus(statuses.get(i));
+      courseStatus.setVersion(0);
+      courseStatuses.add(courseStatus);
+    }
+    repository.registerCourseStatusList(courseStatuses);
+    changeCounter.incrementAfterCommit(Table.STUDENTS_COURSES, Table.COURSE_STATUS);
+
+    return courseConverter.convertCourseDetails(studentCourses, courseStatuses);
+  }
+
+  /**
+   * メールアドレスの重複時に返すメッセージを作成するメソッドです。
+   *
+   * @param mail メールアドレス
+   * @return メッセージ
+   */
+  static String emailAlreadyExistsMessage(String mail) {
+    return "メールアドレス(" + mail + ")はすでに登録されているため使用できません。";
   }
 
   /**
@@ -281,40 +472,125 @@ public class StudentService {
 
   /**
    * 受講生の詳細情報の更新です。 指定した受講生詳細情報に紐づく受講生および受講生コースを更新します。
+   * 受講生コースが受講生に紐づくことは更新前に1回の問い合わせでまとめて確認し、受講生の存在は更新件数で確認します。受講生コースは一括で更新します。
+   * 他の受講生に紐づく受講生コースIDは、存在しないIDとして扱います。
+   * 存在しないIDが含まれる場合は例外をスローし、トランザクションをロールバックします。 インメモリ索引などへのコミット後の反映は、すべての更新が成功した後に登録します。
+   * 他の受講生が使用しているメールアドレスに変更しようとした場合は、一意制約違反をEmailAlreadyExistsExceptionとして返します。
+   * 受講生または受講生コースのバージョンが更新前に取得した値と一致しない場合は、他の更新と競合したものとしてVersionConflictExceptionをスローします。
+   * 受講生コースのバージョンは一括更新の更新件数で確認し、指定した受講生コースの件数と一致しない場合は競合とみなします。
    *
-   * @param studentDetail 更新される受講生の詳細情報
+   * @param studentDetail 更新される受講生の詳細情報（受講生と受講生コースのバージョンには更新前に取得した値を指定する）
    */
   @Transactional
   public void updateStudent(StudentDetail studentDetail) {
-    int studentId = studentDetail.getStudent().getId();
-    if (repository.searchStudent(studentId) == null) {
-      throw new ResourceNotFoundException("受講生ID 「" + studentId + "」は存在しません");
+    Student student = studentDetail.getStudent();
+    List<StudentCourse> studentCourses = studentDetail.getStudentCourses();
+
+    // 受講生コースが受講生に紐づくことの確認を先に行い、紐づかないIDが含まれる場合は何も更新せずに例外をスローする。
+    List<Integer> courseIds = studentCourses.stream().map(StudentCourse::getId).toList();
+    if (!courseIds.isEmpty()) {
+      Set<Integer> existingCourseIds = new HashSet<>(
+          repository.searchStudentCourseIds(student.getId(), courseIds));
+      for (Integer courseId : courseIds) {
+        if (!existingCourseIds.contains(courseId)) {
+          throw new ResourceNotFoundException("受講生コースID 「" + courseId + "」は存在しません");
+        }
+      }
     }
 
-    for (StudentCourse studentCourse : studentDetail.getStudentCourses()) {
-      if (repository.searchStudentCourse(studentCourse.getId()) == null) {
-        throw new ResourceNotFoundException(
-            "受講生コースID 「" + studentCourse.getId() + "」は存在しません");
+    int updatedCount;
+    try {
+      updatedCount = repository.updateStudent(student);
+    } catch (DuplicateKeyException e) {
+      throw new EmailAlreadyExistsException(emailAlreadyExistsMessage(student.getMail()), e);
+    }
+    if (updatedCount == 0) {
+      if (repository.searchStudent(student.getId()) == null) {
+        throw new ResourceNotFoundException("受講生ID 「" + student.getId() + "」は存在しません");
       }
+      throw new VersionConflictException(
+          "受講生ID 「" + student.getId() + "」は他の更新により変更されています。最新の情報を取得してから更新してください");
+    }
+    // 存在確認は済んでいるため、更新件数が受講生コースの件数と一致しない場合はバージョンの競合である。
+    if (!studentCourses.isEmpty()
+        && repository.updateStudentCoursesList(student.getId(), studentCourses)
+        != new HashSet<>(courseIds).size()) {
+      throw new VersionConflictException("受講生ID 「" + student.getId()
+          + "」の受講生コースは他の更新により変更されています。最新の情報を取得してから更新してください");
+    }
+    student.setVersion(student.getVersion() + 1);
+    studentCourses.forEach(
+        studentCourse -> studentCourse.setVersion(studentCourse.getVersion() + 1));
+
+    // すべての更新が成功した後にのみ、コミット後の反映処理を登録する。
+    detailCache.evictAfterCommit(student.getId());
+    searchIndex.updateAfterCommit(student, studentCourses);
+    suggestIndex.putAfterCommit(List.of(student));
+    if (studentCourses.isEmpty()) {
+      changeCounter.incrementAfterCommit(Table.STUDENTS);
+    } else {
+      changeCounter.incrementAfterCommit(Table.STUDENTS, Table.STUDENTS_COURSES);
     }
-
-    repository.updateStudent(studentDetail.getStudent());
-    studentDetail.getStudentCourses().forEach(repository::updateStudentCourses);
 
   }
 
   /**
-   * コース申込状況の更新です。指定したコース申込状況に紐づく情報を更新します。
+   * コース申込状況の更新です。指定したコース申込状況に紐づく情報を更新します。 存在確認は事前の検索ではなく更新件数で行い、
+   * 更新できなかった場合のみ、申込状況が存在しないのかバージョンが一致しないのかを確認します。
    *
-   * @param courseStatus コース申込状況
+   * @param courseStatus コース申込状況（バージョンには更新前に取得した値を指定する）
    */
   @Transactional
   public void updateCourseStatus(CourseStatus courseStatus) {
-    if (repository.searchStudentCourse(courseStatus.getCourseId()) == null) {
-      throw new ResourceNotFoundException(
-          "受講生コースID 「" + courseStatus.getCourseId() + "」は存在しません");
+    if (repository.updateCourseStatus(courseStatus) == 0) {
+      if (repository.searchCourseStatus(courseStatus.getCourseId()) == null) {
+        throw new ResourceNotFoundException(
+            "受講生コースID 「" + courseStatus.getCourseId() + "」は存在しません");
+      }
+      throw new VersionConflictException("受講生コースID 「" + courseStatus.getCourseId()
+          + "」の申込状況は他の更新により変更されています。最新の情報を取得してから更新してください");
+    }
+    courseStatus.setVersion(courseStatus.getVersion() + 1);
+    changeCounter.incrementAfterCommit(Table.COURSE_STATUS);
+  }
+
+  /**
+   * コース申込状況の一括更新です。 指定した受講生コースIDに紐づく申込状況を、すべて同じ値に更新します。
+   * IDは{@value #IN_CLAUSE_CHUNK_SIZE}件ごとに、存在確認と更新をそれぞれ1回の問い合わせで行います。
+   * 申込状況が存在しない受講生コースIDは更新せず、処理結果として返します。
+   *
+   * @param courseIds 受講生コースIDの一覧
+   * @param status    更新後の申込状況
+   * @return 更新件数と、申込状況が存在しなかった受講生コースIDの一覧
+   */
+  @Transactional
+  public CourseStatusBulkUpdateResult updateCourseStatuses(List<Integer> courseIds,
+      Status status) {
+    List<Integer> distinctCourseIds = new ArrayList<>(new LinkedHashSet<>(courseIds));
+    List<Integer> notFoundCourseIds = new ArrayList<>();
+    int updatedCount = 0;
+
+    for (int from = 0; from < distinctCourseIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+      List<Integer> chunk = distinctCourseIds.subList(from,
+          Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinctCourseIds.size()));
+
+      Set<Integer> existingCourseIds = new HashSet<>(
+          repository.searchCourseStatusCourseIds(chunk));
+      for (Integer courseId : chunk) {
+        if (!existingCourseIds.contains(courseId)) {
+          notFoundCourseIds.add(courseId);
+        }
+      }
+
+      if (!existingCourseIds.isEmpty()) {
+        updatedCount += repository.updateCourseStatuses(chunk, status);
+      }
     }
-    repository.updateCourseStatus(courseStatus);
+    if (updatedCount > 0) {
+      changeCounter.incrementAfterCommit(Table.COURSE_STATUS);
+    }
+
+    return new CourseStatusBulkUpdateResult(updatedCount, notFoundCourseIds);
   }
 
 }
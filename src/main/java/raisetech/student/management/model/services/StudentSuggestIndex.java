@@ -0,0 +1,201 @@
+package raisetech.student.management.model.services;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.model.data.Student;
+import raisetech.student.management.model.domain.StudentSuggestion;
+
+/**
+ * ふりがなの前方一致による受講生の入力候補の索引です。 正規化したふりがなの順に並べた候補をメモリ上に保持し、前方一致する範囲の先頭から候補を取得します。
+ * ふりがなはTextNormalizerで正規化したうえで空白を除くため、ひらがなとカタカナ、全角と半角、空白の有無を区別せずに検索できます。
+ * 削除済みの受講生は候補に含めません。 起動時に全件を読み込み、以降は登録・更新のコミット後に差分を反映します。
+ * 全件の読み込みが完了するまでと、トランザクション内で呼び出す場合は索引を使用できないため、データベースに問い合わせます。
+ * 候補の取得はロックを取らずに行い、読み込みと反映のみを排他します。 反映は受講生のバージョンを比較して古い変更を捨てるため、
+ * 同じ変更を重ねて反映しても、反映の順序が前後しても結果は変わりません。
+ */
+@Component
+public class StudentSuggestIndex {
+
+  /**
+   * 正規化したふりがなと受講生IDの区切り文字です。 同じふりがなの受講生は受講生ID順に並びます。
+   */
+  private static final char KEY_SEPARATOR = '\u0000';
+
+  private final NavigableMap<String, StudentSuggestion> suggestions =
+      new ConcurrentSkipListMap<>();
+  private final Map<Integer, String> keys = new ConcurrentHashMap<>();
+
+  /**
+   * 反映済みの受講生のバージョンです（削除した受講生を含む）。 読み込みと反映の排他の中でのみ参照します。
+   */
+  private final Map<Integer, Integer> versions = new HashMap<>();
+
+  /**
+   * 読み込みと反映の排他です。 読み込み中はデータベースから読み込むため、仮想スレッドを占有しないようにsynchronizedではなくロックを使用します。
+   */
+  private final Lock lock = new ReentrantLock();
+
+  private volatile boolean loaded;
+
+  /**
+   * 索引から候補を取得できる状態かどうかを判定します。 全件の読み込みが完了していない場合（読み込み中を含む）と、トランザクション内で呼び出した場合は
+   * （未コミットの変更が索引に反映されていないため）取得できません。
+   *
+   * @return 索引から候補を取得できる場合はtrue
+   */
+  public boolean isAvailable() {
+    return loaded && !TransactionSynchronizationManager.isActualTransactionActive();
+  }
+
+  /**
+   * 受講生の全件を読み込み、索引を作り直します。 読み込み元のCursorを開く前にロックを取得し、読み込みの完了まで保持します。
+   * そのため、Cursorを開く前にコミットされた変更は読み込む全件に含まれ、Cursorを開いた後にコミットされた変更は読み込みの完了後に反映されます。
+   * 読み込み中（読み込みに失敗した場合はその後も）は索引を使用できない状態とします。
+   *
+   * @param source 受講生の全件の読み込み元（受講生ID・氏名・ふりがな・削除フラグ・バージョンのみ設定されていればよい）
+   * @throws IOException 読み込み元のクローズに失敗した場合
+   */
+  public void load(IndexSource<Student> source) throws IOException {
+    lock.lock();
+    try {
+      loaded = false;
+      suggestions.clear();
+      keys.clear();
+      versions.clear();
+      source.forEach(this::put);
+      loaded = true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * ふりがなが前方一致する受講生の入力候補を、正規化したふりがな順、同じふりがなの場合は受講生ID順に最大limit件取得します。
+   *
+   * @param furigana ふりがなの先頭部分
+   * @param limit    取得件数の上限
+   * @return 受講生の入力候補の一覧（正規化したふりがなが空の場合は空の一覧）
+   */
+  public List<StudentSuggestion> suggest(String furigana, int limit) {
+    List<StudentSuggestion> result = new ArrayList<>();
+    String prefix = toKey(furigana);
+    if (prefix.isEmpty()) {
+      return result;
+    }
+
+    for (Map.Entry<String, StudentSuggestion> entry : suggestions.tailMap(prefix).entrySet()) {
+      if (result.size() >= limit || !entry.getKey().startsWith(prefix)) {
+        break;
+      }
+      result.add(entry.getValue());
+    }
+    return result;
+  }
+
+  /**
+   * 登録・更新した受講生を索引に反映します。 トランザクション内で呼び出した場合は、コミット後に反映します（ロールバックした場合は反映しません）。
+   * 削除フラグが設定された受講生は索引から除きます。 索引に反映済みの受講生の方がバージョンが新しい場合は反映しません。
+   *
+   * @param students 登録・更新した受講生の一覧（受講生IDが採番済みであること）
+   */
+  public void putAfterCommit(List<Student> students) {
+    if (students.isEmpty()) {
+      return;
+    }
+    List<StudentSuggestion> changes = students.stream()
+        .map(student -> new StudentSuggestion(student.getId(), student.getFullname(),
+            student.getFurigana()))
+        .toList();
+    List<Boolean> deleted = students.stream().map(Student::isDeleted).toList();
+    List<Integer> changeVersions = students.stream().map(Student::getVersion).toList();
+
+    Runnable apply = () -> {
+      lock.lock();
+      try {
+        for (int i = 0; i < changes.size(); i++) {
+          put(changes.get(i), deleted.get(i), changeVersions.get(i));
+        }
+      } finally {
+        lock.unlock();
+      }
+    };
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      apply.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        apply.run();
+      }
+    });
+  }
+
+  /**
+   * 索引に保持している候補の件数を取得します。
+   *
+   * @return 候補の件数
+   */
+  int size() {
+    return keys.size();
+  }
+
+  private void put(Student student) {
+    put(new StudentSuggestion(student.getId(), student.getFullname(), student.getFurigana()),
+        student.isDeleted(), student.getVersion());
+  }
+
+  private void put(StudentSuggestion suggestion, boolean deleted, int version) {
+    Integer current = versions.get(suggestion.getId());
+    if (current != null && current > version) {
+      return;
+    }
+    versions.put(suggestion.getId(), version);
+
+    String oldKey = keys.remove(suggestion.getId());
+    if (oldKey != null) {
+      suggestions.remove(oldKey);
+    }
+    if (deleted || suggestion.getFurigana() == null) {
+      return;
+    }
+
+    String key = toKey(suggestion.getFurigana()) + KEY_SEPARATOR
+        + String.format("%010d", suggestion.getId());
+    suggestions.put(key, suggestion);
+    keys.put(suggestion.getId(), key);
+  }
+
+  /**
+   * ふりがなを索引のキーに変換します。 正規化したうえで空白を除きます。
+   *
+   * @param furigana ふりがな
+   * @return 索引のキー（nullの場合は空文字列）
+   */
+  static String toKey(String furigana) {
+    if (furigana == null) {
+      return "";
+    }
+    String normalized = TextNormalizer.normalize(furigana);
+    StringBuilder key = new StringBuilder(normalized.length());
+    for (int i = 0; i < normalized.length(); i++) {
+      char c = normalized.charAt(i);
+      if (!Character.isWhitespace(c)) {
+        key.append(c);
+      }
+    }
+    return key.toString();
+  }
+
+}
@@ -0,0 +1,70 @@
+package raisetech.student.management.model.services;
+
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.model.domain.TableChanges;
+
+/**
+ * テーブルごとの変更カウンタです。 受講生、受講生コース、コース申込状況のテーブルごとに、書き込みのコミット後に1ずつ増えるカウンタを保持します。
+ * 一覧検索の条件付きGETで、データベースに問い合わせずに一覧が変わっていないことを判定するために使用します。
+ * カウンタはプロセス内でのみ保持するため、起動日時を世代としてバージョンに含め、再起動前のバージョンと一致しないようにしています。
+ * すべての書き込みがこのアプリケーションのサービスを経由することを前提とします。
+ */
+@Component
+public class TableChangeCounter {
+
+  /**
+   * 変更を数えるテーブルです。
+   */
+  public enum Table {
+    STUDENTS, STUDENTS_COURSES, COURSE_STATUS
+  }
+
+  private final String generation = Long.toString(System.currentTimeMillis(), 36);
+  private final AtomicLongArray counts = new AtomicLongArray(Table.values().length);
+
+  /**
+   * テーブルの変更カウンタを1増やします。 トランザクション内で呼び出した場合は、コミット後に増やします（ロールバックした場合は増やしません）。
+   * 索引やキャッシュへのコミット後の反映がすべて終わってから増やすため、新しいバージョンで古い一覧が返ることはありません。
+   *
+   * @param tables 変更したテーブル
+   */
+  public void incrementAfterCommit(Table... tables) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      increment(tables);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if (status == STATUS_COMMITTED) {
+          increment(tables);
+        }
+      }
+    });
+  }
+
+  /**
+   * 指定したテーブルの変更状況を取得します。 一覧を検索する前に取得することで、検索中に変更された場合も次の取得でバージョンが変わります。
+   *
+   * @param tables 一覧検索の対象となるテーブル
+   * @return テーブルの変更状況
+   */
+  public TableChanges changes(Table... tables) {
+    StringJoiner version = new StringJoiner(".").add(generation);
+    for (Table table : tables) {
+      version.add(Long.toString(counts.get(table.ordinal())));
+    }
+    return new TableChanges(version.toString());
+  }
+
+  private void increment(Table... tables) {
+    for (Table table : tables) {
+      counts.incrementAndGet(table.ordinal());
+    }
+  }
+
+}
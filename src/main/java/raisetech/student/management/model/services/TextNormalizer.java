@@ -0,0 +1,54 @@
+package raisetech.student.management.model.services;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * 日本語の文字列を検索用に正規化するクラスです。 全角・半角の違い（NFKC）、ひらがなとカタカナの違い、英字の大文字・小文字の違いを吸収します。
+ */
+public final class TextNormalizer {
+
+  private static final char HIRAGANA_FIRST = 'ぁ';
+  private static final char HIRAGANA_LAST = 'ゖ';
+  private static final char HIRAGANA_ITERATION_MARK = 'ゝ';
+  private static final char HIRAGANA_VOICED_ITERATION_MARK = 'ゞ';
+  private static final int KATAKANA_OFFSET = 'ァ' - 'ぁ';
+
+  private TextNormalizer() {
+  }
+
+  /**
+   * 文字列を正規化します。 NFKCで全角英数字・半角カタカナなどを統一した後、ひらがなをカタカナに変換し、英字を小文字にします。
+   *
+   * @param value 文字列
+   * @return 正規化した文字列（nullの場合はnull）
+   */
+  public static String normalize(String value) {
+    if (value == null) {
+      return null;
+    }
+    String normalized = Normalizer.normalize(value, Normalizer.Form.NFKC);
+
+    StringBuilder builder = null;
+    for (int i = 0; i < normalized.length(); i++) {
+      char c = normalized.charAt(i);
+      char converted = toKatakana(c);
+      if (converted != c && builder == null) {
+        builder = new StringBuilder(normalized);
+      }
+      if (builder != null) {
+        builder.setCharAt(i, converted);
+      }
+    }
+    return (builder == null ? normalized : builder.toString()).toLowerCase(Locale.ROOT);
+  }
+
+  private static char toKatakana(char c) {
+    if ((c >= HIRAGANA_FIRST && c <= HIRAGANA_LAST) || c == HIRAGANA_ITERATION_MARK
+        || c == HIRAGANA_VOICED_ITERATION_MARK) {
+      return (char) (c + KATAKANA_OFFSET);
+    }
+    return c;
+  }
+
+}
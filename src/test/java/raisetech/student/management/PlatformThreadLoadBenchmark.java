@@ -0,0 +1,23 @@
+package raisetech.student.management;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.annotation.DirtiesContext;
+
+/**
+ * リクエストをTomcatのスレッドプール（プラットフォームスレッド）で処理する場合の負荷ベンチマークです。
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+    "spring.threads.virtual.enabled=false",
+    RequestThreadLoadBenchmark.POOL_PROPERTIES,
+    RequestThreadLoadBenchmark.TOMCAT_PROPERTIES
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class PlatformThreadLoadBenchmark extends RequestThreadLoadBenchmark {
+
+  @Override
+  boolean virtualThreads() {
+    return false;
+  }
+
+}
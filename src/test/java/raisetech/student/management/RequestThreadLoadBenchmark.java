@@ -0,0 +1,143 @@
+package raisetech.student.management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.catalina.connector.Connector;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+/**
+ * リクエストを処理するスレッドの方式ごとの負荷ベンチマークの共通処理です。 起動したアプリケーションに、H2のテスト用データベースを検索する一覧検索を
+ * 同時に発行し、スループットと応答時間の99パーセンタイルを出力します。 サブクラスでスレッドの方式（プラットフォームスレッド／仮想スレッド）を切り替えます。
+ * コネクションプールの接続数はどちらの方式でも同じ値とし、Tomcatのスレッドプールの上限（200）を超える同時リクエスト数で比較します。
+ * 通常のテストからは除外しており、./gradlew benchmark で実行します。 同時リクエスト数と総リクエスト数は、システムプロパティ
+ * benchmark.concurrency と benchmark.requests で変更できます。
+ */
+@Tag("benchmark")
+abstract class RequestThreadLoadBenchmark {
+
+  /**
+   * ベンチマークで共通に指定するプロパティです。 コネクションプールはリクエストを処理するスレッド数とは独立した値とします。
+   */
+  static final String POOL_PROPERTIES = "spring.datasource.hikari.maximum-pool-size=10";
+  static final String TOMCAT_PROPERTIES = "server.tomcat.threads.max=200";
+
+  private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+  private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20000);
+  private static final int WARMUP_REQUESTS = Integer.getInteger("benchmark.warmup", 2000);
+
+  /**
+   * 検索条件を変えて受講生一覧・受講生コース一覧を検索するパスです。 条件付きGETのヘッダーは送らないため、毎回データベースに問い合わせます。
+   */
+  private static final List<String> PATHS = List.of(
+      "/students?furigana=%E3%81%AF%E3%81%AA%E3%81%93",
+      "/students?courseName=Java",
+      "/students?limit=2",
+      "/students/courses?status=%E4%BB%AE%E7%94%B3%E8%BE%BC",
+      "/students/courses?limit=3");
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private ServletWebServerApplicationContext context;
+
+  /**
+   * リクエストを仮想スレッドで処理するモードかどうかを返します。
+   *
+   * @return 仮想スレッドで実行する場合はtrue
+   */
+  abstract boolean virtualThreads();
+
+  @Test
+  void 一覧検索の負荷_スループットと応答時間の99パーセンタイルを出力すること() throws Exception {
+    // 事前準備：リクエストがモードに応じたスレッドで処理されること
+    Connector connector = ((TomcatWebServer) context.getWebServer()).getTomcat().getConnector();
+    assertEquals(virtualThreads(),
+        connector.getProtocolHandler().getExecutor() instanceof VirtualThreadExecutor);
+
+    HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+    run(client, WARMUP_REQUESTS);
+
+    // 実行
+    long started = System.nanoTime();
+    long[] latencies = run(client, REQUESTS);
+    long elapsed = System.nanoTime() - started;
+
+    // 検証と出力
+    Arrays.sort(latencies);
+    double throughput = REQUESTS / (elapsed / 1_000_000_000.0);
+    System.out.printf(
+        "[benchmark] mode=%s concurrency=%d requests=%d throughput=%.1f req/s p50=%.2f ms"
+            + " p99=%.2f ms max=%.2f ms%n",
+        virtualThreads() ? "virtual" : "platform", CONCURRENCY, REQUESTS, throughput,
+        percentile(latencies, 0.50), percentile(latencies, 0.99),
+        latencies[latencies.length - 1] / 1_000_000.0);
+  }
+
+  /**
+   * 指定した件数のリクエストを、同時リクエスト数ずつ並行して発行します。 すべてのリクエストが200で応答されることを確認します。
+   *
+   * @param client HTTPクライアント
+   * @param count  リクエスト数
+   * @return 各リクエストの応答時間（ナノ秒）
+   */
+  private long[] run(HttpClient client, int count) throws Exception {
+    long[] latencies = new long[count];
+    AtomicInteger next = new AtomicInteger();
+    try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<?>> futures = new ArrayList<>(CONCURRENCY);
+      for (int i = 0; i < CONCURRENCY; i++) {
+        futures.add(workers.submit(() -> {
+          for (int n = next.getAndIncrement(); n < count; n = next.getAndIncrement()) {
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + port + PATHS.get(n % PATHS.size())))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+            long started = System.nanoTime();
+            HttpResponse<String> response = client.send(request,
+                HttpResponse.BodyHandlers.ofString());
+            latencies[n] = System.nanoTime() - started;
+            assertEquals(200, response.statusCode(), () -> response.body());
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+    return latencies;
+  }
+
+  /**
+   * 昇順に並べた応答時間のパーセンタイルをミリ秒で返します（nearest-rank法）。
+   */
+  private static double percentile(long[] sorted, double percentile) {
+    int rank = (int) Math.ceil(percentile * sorted.length);
+    return sorted[Math.max(rank - 1, 0)] / 1_000_000.0;
+  }
+
+}
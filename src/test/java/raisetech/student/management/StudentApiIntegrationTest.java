@@ -2,9 +2,11 @@ package raisetech.student.management;
 
 import static org.hamcrest.Matchers.contains;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static raisetech.student.management.model.data.Gender.男性;
@@ -14,7 +16,9 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -26,9 +30,11 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import raisetech.student.management.model.data.CourseSearchCriteria;
@@ -218,6 +224,31 @@ public class StudentApiIntegrationTest {
 
   }
 
+  @Test
+  void 受講生詳細の一覧検索_カーソルをたどることで全件を受講生ID順に重複なく取得できること()
+      throws Exception {
+    List<Integer> actualStudentIds = new ArrayList<>();
+    String cursor = null;
+
+    do {
+      MvcResult result = mockMvc.perform(get("/students")
+              .param("limit", "2")
+              .param("after", cursor)
+              .accept(MediaType.APPLICATION_JSON))
+          .andExpect(status().isOk())
+          .andReturn();
+
+      JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString());
+      assertTrue(page.size() <= 2);
+      page.forEach(studentDetail -> actualStudentIds.add(
+          studentDetail.get("student").get("id").asInt()));
+      cursor = result.getResponse().getHeader("X-Next-Cursor");
+    } while (cursor != null);
+
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5), actualStudentIds);
+
+  }
+
   @ParameterizedTest
   @MethodSource("provideCourseTestCases")
   void 受講生コース詳細の一覧検索_リクエストパラメータに応じて検索結果を取得できること(
@@ -314,6 +345,31 @@ public class StudentApiIntegrationTest {
 
   }
 
+  @Test
+  void 受講生コース詳細の一覧検索_カーソルをたどることで全件を受講生コースID順に重複なく取得できること()
+      throws Exception {
+    List<Integer> actualCourseIds = new ArrayList<>();
+    String cursor = null;
+
+    do {
+      MvcResult result = mockMvc.perform(get("/students/courses")
+              .param("limit", "3")
+              .param("after", cursor)
+              .accept(MediaType.APPLICATION_JSON))
+          .andExpect(status().isOk())
+          .andReturn();
+
+      JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString());
+      assertTrue(page.size() <= 3);
+      page.forEach(courseDetail -> actualCourseIds.add(
+          courseDetail.get("studentCourse").get("id").asInt()));
+      cursor = result.getResponse().getHeader("X-Next-Cursor");
+    } while (cursor != null);
+
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8), actualCourseIds);
+
+  }
+
   @Test
   void 受講生詳細の検索_正常系_指定した受講生IDに合致したstudentDetailが返ってくること()
       throws Exception {
@@ -374,6 +430,64 @@ public class StudentApiIntegrationTest {
 
   }
 
+  @Test
+  void 受講生一覧と受講生コース一覧の検索_正常系_変更されていない場合はETagに対して304が返ってくること()
+      throws Exception {
+    // 実行と検証：ETagのみが返る（Last-Modifiedは秒単位のため、同じ秒の変更を見逃さないように返さない）
+    MvcResult students = mockMvc.perform(get("/students").param("furigana", "はなこ"))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG))
+        .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+        .andReturn();
+    MvcResult courses = mockMvc.perform(get("/students/courses").param("courseName", "Java"))
+        .andExpect(status().isOk())
+        .andReturn();
+
+    // 実行と検証：同じ検索条件に対して304が返る
+    mockMvc.perform(get("/students").param("furigana", "ハナコ")
+            .header(HttpHeaders.IF_NONE_MATCH, students.getResponse().getHeader(HttpHeaders.ETAG)))
+        .andExpect(status().isNotModified());
+    mockMvc.perform(get("/students/courses").param("courseName", "Java")
+            .header(HttpHeaders.IF_NONE_MATCH, courses.getResponse().getHeader(HttpHeaders.ETAG)))
+        .andExpect(status().isNotModified());
+
+    // 実行と検証：受講生一覧のETagは受講生コース一覧には一致しない
+    mockMvc.perform(get("/students/courses").param("courseName", "Java")
+            .header(HttpHeaders.IF_NONE_MATCH, students.getResponse().getHeader(HttpHeaders.ETAG)))
+        .andExpect(status().isOk());
+
+  }
+
+  @Test
+  void 受講生コース詳細の検索_正常系_申込状況を更新するまではIfNoneMatchのETagに対して304が返ってくること()
+      throws Exception {
+    // 実行と検証：更新前は同じETagに対して304が返る
+    mockMvc.perform(get("/students/courses/detail").param("id", "1"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"0-0\""));
+    mockMvc.perform(get("/students/courses/detail").param("id", "1")
+            .header(HttpHeaders.IF_NONE_MATCH, "\"0-0\""))
+        .andExpect(status().isNotModified());
+
+    mockMvc.perform(MockMvcRequestBuilders.put("/students/courses/statuses/update")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(
+                """
+                    {"courseId":1, "status":"受講中", "version":0}
+                    """
+            ))
+        .andExpect(status().isOk());
+
+    // 実行と検証：更新後は古いETagに対して新しいバージョンの受講生コース詳細が返る
+    mockMvc.perform(get("/students/courses/detail").param("id", "1")
+            .header(HttpHeaders.IF_NONE_MATCH, "\"0-0\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"0-1\""))
+        .andExpect(jsonPath("$.courseStatus.status").value("受講中"))
+        .andExpect(jsonPath("$.courseStatus.version").value(1));
+
+  }
+
   @Test
   void 受講生コース詳細の検索_異常系_存在しない受講生IDを指定したときに例外がスローされること()
       throws Exception {
@@ -589,6 +703,169 @@ public class StudentApiIntegrationTest {
 
   }
 
+  @Test
+  void 受講生の一括新規登録_JSON配列を指定して要素ごとに登録され_登録済みのメールアドレスの要素は登録されないこと()
+      throws Exception {
+    // 実行
+    MvcResult result = mockMvc.perform(post("/students/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(
+                """
+                    [
+                        {
+                            "student": {
+                                "fullname": "田中昭三",
+                                "furigana": "たなかしょうぞう",
+                                "mail": "shozo.bulk@example.com",
+                                "gender": "男性"
+                            },
+                            "studentCourses": [
+                                {"courseName": "Java"},
+                                {"courseName": "Ruby"}
+                            ]
+                        },
+                        {
+                            "student": {
+                                "fullname": "山田太郎",
+                                "furigana": "やまだたろう",
+                                "mail": "taro.yamada@example.com",
+                                "gender": "男性"
+                            },
+                            "studentCourses": []
+                        }
+                    ]
+                    """
+            ))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].index").value(0))
+        .andExpect(jsonPath("$[0].registered").value(true))
+        .andExpect(jsonPath("$[1].index").value(1))
+        .andExpect(jsonPath("$[1].registered").value(false))
+        .andExpect(jsonPath("$[1].message").value(
+            "メールアドレス(taro.yamada@example.com)はすでに登録されているため使用できません。"))
+        .andReturn();
+
+    // 検証：登録された受講生を受講生コースとともに取得できること
+    int studentId = objectMapper.readTree(result.getResponse().getContentAsString())
+        .get(0).get("studentId").asInt();
+    mockMvc.perform(get("/students/detail").param("id", String.valueOf(studentId)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.student.mail").value("shozo.bulk@example.com"))
+        .andExpect(jsonPath("$.studentCourses[*].courseName", contains("Java", "Ruby")));
+
+  }
+
+  @Test
+  void 受講生の一括新規登録_NDJSONを指定して1行ごとに登録されること() throws Exception {
+    // 実行と検証
+    mockMvc.perform(post("/students/bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .content("""
+                {"student": {"fullname": "一括一郎", "furigana": "いっかついちろう", "mail": "ichiro.bulk@example.com"}, "studentCourses": [{"courseName": "AWS"}]}
+                {"student": {"fullname": "一括二郎", "furigana": "いっかつじろう", "mail": "jiro.bulk@example.com"}}
+                """))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[*].registered", contains(true, true)));
+
+  }
+
+  @Test
+  void 受講生CSV取り込み_CSVの受講生と受講生コースが登録され_誤りのある行はリジェクトされること() throws Exception {
+    // 実行
+    MvcResult result = mockMvc.perform(post("/students/import")
+            .contentType("text/csv")
+            .content("""
+                fullname,furigana,mail,gender,courseName,startDate,status
+                取込太郎,とりこみたろう,taro.import@example.com,男性,Java,2024-04-01 09:00:00,受講中
+                取込太郎,とりこみたろう,taro.import@example.com,男性,AWS,2024-05-01,
+                山田太郎,やまだたろう,taro.yamada@example.com,男性,,,
+                """.getBytes(StandardCharsets.UTF_8)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalRows").value(3))
+        .andExpect(jsonPath("$.importedStudents").value(1))
+        .andExpect(jsonPath("$.importedCourses").value(2))
+        .andExpect(jsonPath("$.rejectedRows").value(1))
+        .andExpect(jsonPath("$.rejects[0].lineNumber").value(4))
+        .andExpect(jsonPath("$.rejects[0].reason").value(
+            "メールアドレス(taro.yamada@example.com)はすでに登録されているため使用できません。"))
+        .andReturn();
+
+    // 検証：取り込めなかった行をリジェクトファイルとしてダウンロードできること
+    String rejectFileId = objectMapper.readTree(result.getResponse().getContentAsString())
+        .get("rejectFileId").asText();
+    mockMvc.perform(get("/students/import/rejects").param("id", rejectFileId))
+        .andExpect(status().isOk())
+        .andExpect(content().string("""
+            \uFEFFlineNumber,reason,fullname,furigana,mail,gender,courseName,startDate,status\r
+            4,メールアドレス(taro.yamada@example.com)はすでに登録されているため使用できません。,\
+            山田太郎,やまだたろう,taro.yamada@example.com,男性,,,\r
+            """));
+
+    // 検証：登録された受講生を受講生コースとともに取得できること
+    mockMvc.perform(get("/students").param("mail", "taro.import@example.com"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].studentCourses[*].courseName", contains("Java", "AWS")))
+        .andExpect(jsonPath("$[0].studentCourses[0].startDate").value("2024-04-01T09:00:00"));
+
+  }
+
+  @Test
+  void 受講生詳細情報のエクスポート_全受講生の詳細情報が受講生ID順に1行ずつNDJSONで返ってくること() throws Exception {
+    // 実行
+    MvcResult result = mockMvc.perform(get("/students/export"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andReturn();
+
+    // 検証
+    String[] lines = result.getResponse().getContentAsString().split("\n");
+    assertEquals(5, lines.length);
+
+    JsonNode first = objectMapper.readTree(lines[0]);
+    assertEquals(1, first.get("student").get("id").asInt());
+    assertEquals(2, first.get("studentCourses").size());
+    assertEquals("Java", first.get("studentCourses").get(0).get("courseName").asText());
+
+    JsonNode last = objectMapper.readTree(lines[4]);
+    assertEquals(5, last.get("student").get("id").asInt());
+    assertEquals(1, last.get("studentCourses").size());
+
+  }
+
+  @Test
+  void 受講生の入力候補検索_ひらがなで入力したふりがなに前方一致する削除されていない受講生が返ってくること()
+      throws Exception {
+    // 実行と検証：ふりがなはカタカナで登録されている
+    mockMvc.perform(get("/students/suggest").param("furigana", "やまだ"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(1))
+        .andExpect(jsonPath("$[0].id").value(1))
+        .andExpect(jsonPath("$[0].fullname").value("山田太郎"));
+
+    // 削除済みの受講生（ナカムラケンタ）は含まれない
+    mockMvc.perform(get("/students/suggest").param("furigana", "な"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(0));
+
+  }
+
+  @Test
+  void 受講生コースのCSVエクスポート_見出し行に続いて全受講生コースが申込状況とともに返ってくること() throws Exception {
+    // 実行
+    MvcResult result = mockMvc.perform(get("/students/courses/export.csv"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith("text/csv"))
+        .andReturn();
+
+    // 検証
+    String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\r\n");
+    assertEquals(9, lines.length);
+    assertEquals("受講生コースID,受講生ID,コース名,受講開始日時,受講終了日時,申込状況", lines[0]);
+    assertEquals("1,1,Java,2024-04-01 09:00:00,2024-07-31 17:00:00,仮申込", lines[1]);
+    assertEquals("8,5,AWS,2024-04-03 10:00:00,2024-08-02 12:00:00,受講終了", lines[8]);
+
+  }
+
   @Test
   void 受講生の更新_正常系_JSON形式のリクエストボディを指定して_更新処理が成功しました_というメッセージが返ってくること()
       throws Exception {
@@ -609,18 +886,21 @@ public class StudentApiIntegrationTest {
                                 "age": 21,
                                 "gender": "その他",
                                 "deleted": true,
-                                "remark": "更新のテストです。"
+                                "remark": "更新のテストです。",
+                                "version": 0
                             },
                             "studentCourses": [
                                 {
                                     "id": 1,
                                     "student_id": 1,
-                                    "courseName": "Java2"
+                                    "courseName": "Java2",
+                                    "version": 0
                                 },
                                 {
                                     "id":2,
                                     "student_id": 1,
-                                    "courseName": "Ruby2"
+                                    "courseName": "Ruby2",
+                                    "version": 0
                                 }
                             ]
                         }
@@ -653,18 +933,21 @@ public class StudentApiIntegrationTest {
                                 "age": 56,
                                 "gender": "男性",
                                 "remark": "更新のテストです。",
-                                "deleted": true
+                                "deleted": true,
+                                "version": 0
                             },
                             "studentCourses": [
                                 {
                                     "id": 1,
                                     "student_id": 999,
-                                    "courseName": "Java"
+                                    "courseName": "Java",
+                                    "version": 0
                                 },
                                 {
                                     "id":2,
                                     "student_id": 999,
-                                    "courseName": "Ruby"
+                                    "courseName": "Ruby",
+                                    "version": 0
                                 }
                             ]
                         }
@@ -694,18 +977,21 @@ public class StudentApiIntegrationTest {
                                 "age": 56,
                                 "gender": "男性",
                                 "remark": "更新のテストです。年齢を56に、deletedをtrueにしています。",
-                                "deleted": true
+                                "deleted": true,
+                                "version": 0
                             },
                             "studentCourses": [
                                 {
                                     "id": 1,
                                     "student_id": 1,
-                                    "courseName": "Java"
+                                    "courseName": "Java",
+                                    "version": 0
                                 },
                                 {
                                     "id":999,
                                     "student_id": 1,
-                                    "courseName": "Ruby"
+                                    "courseName": "Ruby",
+                                    "version": 0
                                 }
                             ]
                         }
@@ -717,6 +1003,115 @@ public class StudentApiIntegrationTest {
 
   }
 
+  @Test
+  void 受講生の更新_異常系_取得後に他の更新が行われた受講生コースを指定したときに409が返ってくること()
+      throws Exception {
+    // 実行と検証：受講生のバージョンは一致するが、受講生コースID 2のバージョンが一致しない
+    mockMvc.perform(MockMvcRequestBuilders.put("/students/update")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(
+                """
+                        {
+                            "student": {
+                                "id": 1,
+                                "fullname": "田中昭三",
+                                "furigana": "たなかしょうぞう",
+                                "mail": "shozo@example.com",
+                                "gender": "男性",
+                                "deleted": false,
+                                "version": 0
+                            },
+                            "studentCourses": [
+                                {
+                                    "id": 1,
+                                    "courseName": "Java2",
+                                    "version": 0
+                                },
+                                {
+                                    "id": 2,
+                                    "courseName": "Ruby2",
+                                    "version": 1
+                                }
+                            ]
+                        }
+                    """
+            ))
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.message").value(
+            "受講生ID 「1」の受講生コースは他の更新により変更されています。最新の情報を取得してから更新してください"));
+
+  }
+
+  @Test
+  void 受講生の更新_異常系_他の受講生の受講生コースIDを指定したときに例外をスローし他の受講生のコースが更新されないこと()
+      throws Exception {
+    // 実行と検証：受講生コースID 3は受講生ID 2に紐づく
+    mockMvc.perform(MockMvcRequestBuilders.put("/students/update")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(
+                """
+                        {
+                            "student": {
+                                "id": 1,
+                                "fullname": "田中昭三",
+                                "furigana": "たなかしょうぞう",
+                                "mail": "shozo@example.com",
+                                "gender": "男性",
+                                "deleted": false,
+                                "version": 0
+                            },
+                            "studentCourses": [
+                                {
+                                    "id": 3,
+                                    "student_id": 1,
+                                    "courseName": "Java",
+                                    "version": 0
+                                }
+                            ]
+                        }
+                    """
+            ))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.message")
+            .value("受講生コースID 「3」は存在しません"));
+
+    mockMvc.perform(get("/students/courses/detail").param("id", "3"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.studentCourse.courseName").value("Design"));
+
+  }
+
+  @Test
+  void 受講生の更新_異常系_他の受講生のメールアドレスを指定したときに例外がスローされること()
+      throws Exception {
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.put("/students/update")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(
+                """
+                        {
+                            "student": {
+                                "id": 1,
+                                "fullname": "山田太郎",
+                                "furigana": "ヤマダタロウ",
+                                "nickname": "たろう",
+                                "mail": "hanako.sato@example.com",
+                                "address": "東京都",
+                                "age": 20,
+                                "gender": "男性",
+                                "deleted": false,
+                                "version": 0
+                            },
+                            "studentCourses": []
+                        }
+                    """
+            ))
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.message").value(
+            "メールアドレス(hanako.sato@example.com)はすでに登録されているため使用できません。"));
+
+  }
+
   @Test
   void コース申込状況の更新_正常系_エンドポイントでサービスの処理が適切に呼び出され_更新処理が成功しました_というメッセージが返ってくること()
       throws Exception {
@@ -724,7 +1119,7 @@ public class StudentApiIntegrationTest {
             .contentType(MediaType.APPLICATION_JSON)
             .content(
                 """
-                    {"courseId":1, "status":"受講中"}
+                    {"courseId":1, "status":"受講中", "version":0}
                     """
             ))
         .andExpect(status().isOk())
@@ -741,7 +1136,7 @@ public class StudentApiIntegrationTest {
             .contentType(MediaType.APPLICATION_JSON)
             .content(
                 """
-                    {"courseId":999, "status":"受講中"}
+                    {"courseId":999, "status":"受講中", "version":0}
                     """
             ))
         .andExpect(status().isNotFound())
@@ -749,4 +1144,48 @@ public class StudentApiIntegrationTest {
 
   }
 
+  @Test
+  void コース申込状況の更新_異常系_取得時のバージョンで2回更新したときに2回目は409が返ってくること()
+      throws Exception {
+    String content = """
+        {"courseId":1, "status":"受講中", "version":0}
+        """;
+
+    // 実行と検証：1回目は取得時のバージョンが一致するため更新される
+    mockMvc.perform(MockMvcRequestBuilders.put("/students/courses/statuses/update")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(content))
+        .andExpect(status().isOk());
+
+    // 実行と検証：2回目はバージョンが変わっているため更新されない
+    mockMvc.perform(MockMvcRequestBuilders.put("/students/courses/statuses/update")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(content))
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.message").value(
+            "受講生コースID 「1」の申込状況は他の更新により変更されています。最新の情報を取得してから更新してください"));
+
+  }
+
+  @Test
+  void コース申込状況の一括更新_正常系_指定した受講生コースの申込状況が更新され存在しないIDが返ってくること()
+      throws Exception {
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.put("/students/courses/statuses/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(
+                """
+                    {"courseIds":[1, 2, 999], "status":"受講中"}
+                    """
+            ))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.updatedCount").value(2))
+        .andExpect(jsonPath("$.notFoundCourseIds", contains(999)));
+
+    mockMvc.perform(get("/students/courses/detail").param("id", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.courseStatus.status").value("受講中"));
+
+  }
+
 }
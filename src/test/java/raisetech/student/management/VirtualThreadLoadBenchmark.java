@@ -0,0 +1,23 @@
+package raisetech.student.management;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.annotation.DirtiesContext;
+
+/**
+ * リクエストを仮想スレッドで処理する場合の負荷ベンチマークです。
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+    "spring.threads.virtual.enabled=true",
+    RequestThreadLoadBenchmark.POOL_PROPERTIES,
+    RequestThreadLoadBenchmark.TOMCAT_PROPERTIES
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class VirtualThreadLoadBenchmark extends RequestThreadLoadBenchmark {
+
+  @Override
+  boolean virtualThreads() {
+    return true;
+  }
+
+}
@@ -1,24 +1,36 @@
 package raisetech.student.management.controller;
 
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static raisetech.student.management.model.data.Gender.男性;
 import static raisetech.student.management.model.data.Status.仮申込;
+import static raisetech.student.management.model.data.Status.受講中;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -26,10 +38,13 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -38,10 +53,23 @@ import raisetech.student.management.model.data.CourseStatus;
 import raisetech.student.management.model.data.Student;
 import raisetech.student.management.model.data.StudentCourse;
 import raisetech.student.management.model.data.StudentSearchCriteria;
+import raisetech.student.management.model.domain.BulkRegistrationResult;
+import raisetech.student.management.model.domain.CacheStatistics;
 import raisetech.student.management.model.domain.CourseDetail;
+import raisetech.student.management.model.domain.CourseStatusBulkUpdateResult;
 import raisetech.student.management.model.domain.StudentDetail;
+import raisetech.student.management.model.domain.StudentImportRejectedRow;
+import raisetech.student.management.model.domain.StudentImportResult;
+import raisetech.student.management.model.domain.StudentSuggestion;
+import raisetech.student.management.model.domain.TableChanges;
 import raisetech.student.management.model.exception.EmailAlreadyExistsException;
+import raisetech.student.management.model.exception.InvalidBulkRequestException;
 import raisetech.student.management.model.exception.ResourceNotFoundException;
+import raisetech.student.management.model.exception.VersionConflictException;
+import raisetech.student.management.model.services.StudentBulkService;
+import raisetech.student.management.model.services.StudentExportService;
+import raisetech.student.management.model.services.StudentImportRejectFiles;
+import raisetech.student.management.model.services.StudentImportService;
 import raisetech.student.management.model.services.StudentService;
 
 @WebMvcTest(StudentController.class) //Spring MVCのうち、Web層（特にコントローラ層）の単体テストに使用される
@@ -56,6 +84,21 @@ class StudentControllerTest {
   @MockBean
   private StudentService service;
 
+  @MockBean
+  private StudentBulkService bulkService;
+
+  @MockBean
+  private StudentExportService exportService;
+
+  @MockBean
+  private StudentImportService importService;
+
+  @MockBean
+  private StudentImportRejectFiles rejectFiles;
+
+  @TempDir
+  private Path tempDir;
+
   private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
   //ここでロケールを設定しないと、Github Actions上でLinux環境（ubuntu）でテスト実行したときにバリデーションエラー時のメッセージが英語になりアサーションエラーが発生してしまう。
@@ -64,6 +107,13 @@ class StudentControllerTest {
     Locale.setDefault(new Locale("ja", "JP"));
   }
 
+  // 一覧検索の条件付きGETの判定用に、テーブルの変更状況を返すようにしておく
+  @BeforeEach
+  void before() {
+    when(service.searchStudentListChanges()).thenReturn(new TableChanges("s.1.2"));
+    when(service.searchStudentCourseListChanges()).thenReturn(new TableChanges("s.2.3"));
+  }
+
   /**
    * テスト用にStudentDetailオブジェクトを作成するメソッドです。受講生IDのみセットされたインスタンスが生成されます。
    *
@@ -110,7 +160,96 @@ class StudentControllerTest {
         .andExpect(status().isOk());
 
     // 検証：適切な型の引数を入力した際に１回実行されることを確認
-    verify(service, times(1)).searchStudentList(any(StudentSearchCriteria.class));
+    verify(service, times(1)).searchStudentList(any(StudentSearchCriteria.class), isNull(),
+        isNull());
+  }
+
+  @Test
+  void 受講生詳細の一覧検索_取得件数の上限まで取得できた場合に次ページのカーソルが返りそのカーソルで次ページを検索できること()
+      throws Exception {
+    // 事前準備
+    List<StudentDetail> firstPage = List.of(createTestStudentDetail(1),
+        createTestStudentDetail(2));
+    when(service.searchStudentList(any(StudentSearchCriteria.class), isNull(), eq(2)))
+        .thenReturn(firstPage);
+
+    // 実行と検証
+    String nextCursor = mockMvc.perform(
+            MockMvcRequestBuilders.get("/students").param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(header().exists("X-Next-Cursor"))
+        .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+    mockMvc.perform(
+            MockMvcRequestBuilders.get("/students").param("limit", "2")
+                .param("after", nextCursor))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+    // 検証：2ページ目は1ページ目の最後の受講生IDより後から検索されること
+    verify(service, times(1)).searchStudentList(any(StudentSearchCriteria.class), eq(2), eq(2));
+  }
+
+  @Test
+  void 受講生詳細の一覧検索_正常系_テーブルが変更されていない場合はIfNoneMatchのETagに対して検索せずに304が返ってくること()
+      throws Exception {
+    // 実行と検証：1回目はETagが返る
+    String etag = mockMvc.perform(
+            MockMvcRequestBuilders.get("/students").param("furigana", "はなこ"))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG))
+        .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    // 実行と検証：正規化すると同じ検索条件には304が返る
+    mockMvc.perform(MockMvcRequestBuilders.get("/students").param("furigana", "ハナコ")
+            .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified());
+
+    // 実行と検証：検索条件が異なる場合は検索される
+    mockMvc.perform(MockMvcRequestBuilders.get("/students").param("furigana", "はなこ")
+            .param("limit", "10")
+            .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk());
+
+    // 実行と検証：テーブルが変更された場合は検索される
+    when(service.searchStudentListChanges()).thenReturn(new TableChanges("s.2.2"));
+    mockMvc.perform(MockMvcRequestBuilders.get("/students").param("furigana", "ハナコ")
+            .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk());
+
+    // 検証：304の場合は検索されないこと
+    verify(service, times(1)).searchStudentList(any(StudentSearchCriteria.class), isNull(),
+        isNull());
+    verify(service, times(1)).searchStudentList(any(StudentSearchCriteria.class), isNull(),
+        eq(10));
+  }
+
+  @Test
+  void 受講生詳細の一覧検索_異常系_取得件数の上限に範囲外の値を指定したときに入力チェックがかかること()
+      throws Exception {
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.get("/students").param("limit", "0"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("バリデーションエラーです。"))
+        .andExpect(jsonPath("$.errors[0].field").value("limit"));
+
+    mockMvc.perform(MockMvcRequestBuilders.get("/students").param("limit", "1001"))
+        .andExpect(status().isBadRequest());
+
+    verify(service, never()).searchStudentList(any(StudentSearchCriteria.class), any(), any());
+  }
+
+  @Test
+  void 受講生詳細の一覧検索_異常系_解釈できないカーソルを指定したときに例外がスローされること()
+      throws Exception {
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.get("/students").param("after", "invalid"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("カーソルの形式が不正です。入力値：invalid"));
+
+    verify(service, never()).searchStudentList(any(StudentSearchCriteria.class), any(), any());
   }
 
   @Test
@@ -125,7 +264,78 @@ class StudentControllerTest {
         .andExpect(status().isOk());
 
     // 検証：適切な型の引数を入力した際に１回実行されることを確認
-    verify(service, times(1)).searchStudentCourseList(any(CourseSearchCriteria.class));
+    verify(service, times(1)).searchStudentCourseList(any(CourseSearchCriteria.class), isNull(),
+        eq(1000));
+  }
+
+  @Test
+  void 受講生コース詳細の一覧検索_取得件数の上限まで取得できた場合に次ページのカーソルとURLが返ってくること()
+      throws Exception {
+    // 事前準備
+    List<CourseDetail> firstPage = List.of(createTestCourseDetail(7),
+        createTestCourseDetail(8));
+    when(service.searchStudentCourseList(any(CourseSearchCriteria.class), isNull(), eq(2)))
+        .thenReturn(firstPage);
+
+    // 実行と検証
+    String nextCursor = mockMvc.perform(
+            MockMvcRequestBuilders.get("/students/courses?courseName=Java&limit=2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+    mockMvc.perform(
+            MockMvcRequestBuilders.get("/students/courses?courseName=Java&limit=2"))
+        .andExpect(header().string("Link",
+            "<http://localhost/students/courses?courseName=Java&limit=2&after=" + nextCursor
+                + ">; rel=\"next\""));
+
+    mockMvc.perform(
+            MockMvcRequestBuilders.get("/students/courses").param("limit", "2")
+                .param("after", nextCursor))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist("X-Next-Cursor"))
+        .andExpect(header().doesNotExist("Link"));
+
+    // 検証：2ページ目は1ページ目の最後の受講生コースIDより後から検索されること
+    verify(service, times(1)).searchStudentCourseList(any(CourseSearchCriteria.class), eq(8),
+        eq(2));
+  }
+
+  @Test
+  void 受講生コース詳細の一覧検索_正常系_テーブルが変更されていない場合はIfNoneMatchのETagに対して検索せずに304が返ってくること()
+      throws Exception {
+    // 実行と検証：1回目はETagが返る
+    String etag = mockMvc.perform(
+            MockMvcRequestBuilders.get("/students/courses").param("status", "受講中"))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    // 実行と検証：同じ検索条件には304が返る
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/courses").param("status", "受講中")
+            .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified());
+
+    // 実行と検証：検索条件が異なる場合は検索される
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/courses").param("status", "仮申込")
+            .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk());
+
+    // 検証：304の場合は検索されないこと
+    verify(service, times(2)).searchStudentCourseList(any(CourseSearchCriteria.class), isNull(),
+        eq(1000));
+  }
+
+  @Test
+  void 受講生コース詳細の一覧検索_異常系_取得件数の上限を超える値を指定したときに入力チェックがかかること()
+      throws Exception {
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/courses").param("limit", "1001"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors[0].field").value("limit"));
+
+    verify(service, never()).searchStudentCourseList(any(CourseSearchCriteria.class), any(),
+        any());
   }
 
   @Test
@@ -148,6 +358,53 @@ class StudentControllerTest {
     verify(service, times(1)).searchStudent(id);
   }
 
+  @Test
+  void 受講生詳細の検索_正常系_バージョンから作成したETagが返りIfNoneMatchが一致する場合は受講生詳細を組み立てずに304が返ってくること()
+      throws Exception {
+    // 事前準備
+    int id = 555;
+    StudentDetail studentDetail = createTestStudentDetail(id);
+    studentDetail.getStudent().setVersion(3);
+    studentDetail.getStudentCourses().get(1).setVersion(2);
+    when(service.searchStudentVersion(id)).thenReturn(studentDetail);
+    when(service.searchStudent(id)).thenReturn(studentDetail);
+
+    // 実行と検証：初回はETagが返り、同じETagを指定した場合は304が返る
+    String eTag = mockMvc.perform(
+            MockMvcRequestBuilders.get("/students/detail").param("id", String.valueOf(id)))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"3-2-2\""))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/detail").param("id", String.valueOf(id))
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, eTag))
+        .andExpect(content().string(""));
+
+    verify(service, times(2)).searchStudentVersion(id);
+    verify(service, times(1)).searchStudent(id);
+  }
+
+  @Test
+  void 受講生詳細の検索_正常系_IfNoneMatchのETagが古い場合は受講生詳細が返ってくること() throws Exception {
+    // 事前準備
+    int id = 555;
+    StudentDetail studentDetail = createTestStudentDetail(id);
+    studentDetail.getStudent().setVersion(4);
+    when(service.searchStudentVersion(id)).thenReturn(studentDetail);
+    when(service.searchStudent(id)).thenReturn(studentDetail);
+
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/detail").param("id", String.valueOf(id))
+            .header(HttpHeaders.IF_NONE_MATCH, "\"3-2-0\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"4-2-0\""))
+        .andExpect(jsonPath("$.student.version").value(4));
+
+    verify(service, times(1)).searchStudent(id);
+  }
+
   @Test
   void 受講生詳細の検索_異常系_存在しない受講生IDを指定したときに例外がスローされること()
       throws Exception {
@@ -184,6 +441,25 @@ class StudentControllerTest {
     verify(service, times(1)).searchStudentCourse(id);
   }
 
+  @Test
+  void 受講生コース詳細の検索_正常系_IfNoneMatchのETagが一致する場合は受講生コース詳細を取得せずに304が返ってくること()
+      throws Exception {
+    // 事前準備
+    int id = 666;
+    CourseDetail courseDetail = createTestCourseDetail(id);
+    courseDetail.getStudentCourse().setVersion(1);
+    courseDetail.getCourseStatus().setVersion(5);
+    when(service.searchStudentCourseVersion(id)).thenReturn(courseDetail);
+
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/courses/detail")
+            .param("id", String.valueOf(id))
+            .header(HttpHeaders.IF_NONE_MATCH, "\"1-5\""))
+        .andExpect(status().isNotModified());
+
+    verify(service, never()).searchStudentCourse(id);
+  }
+
   @Test
   void 受講生コース詳細の検索_異常系_存在しない受講生IDを指定したときに例外がスローされること()
       throws Exception {
@@ -283,6 +559,217 @@ class StudentControllerTest {
 
   }
 
+  @Test
+  void 受講生の一括新規登録_正常系_エンドポイントでサービスの処理が適切に呼び出され要素ごとの処理結果が返ってくること()
+      throws Exception {
+    // 事前準備
+    when(bulkService.registerStudents(any(InputStream.class))).thenReturn(List.of(
+        BulkRegistrationResult.registered(0, 10),
+        BulkRegistrationResult.failed(1, "受講生情報が指定されていません。")));
+
+    // 実行と検証
+    mockMvc.perform(post("/students/bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .content("{\"student\": {}}\n{}\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(jsonPath("$[0].index").value(0))
+        .andExpect(jsonPath("$[0].registered").value(true))
+        .andExpect(jsonPath("$[0].studentId").value(10))
+        .andExpect(jsonPath("$[1].index").value(1))
+        .andExpect(jsonPath("$[1].registered").value(false))
+        .andExpect(jsonPath("$[1].message").value("受講生情報が指定されていません。"));
+
+    verify(bulkService, times(1)).registerStudents(any(InputStream.class));
+  }
+
+  @Test
+  void 受講生の一括新規登録_異常系_解釈できないリクエストボディを指定したときに例外がスローされること()
+      throws Exception {
+    // 事前準備
+    when(bulkService.registerStudents(any(InputStream.class))).thenThrow(
+        new InvalidBulkRequestException("リクエストボディは受講生の詳細情報のJSON配列またはNDJSONで指定してください。"));
+
+    // 実行と検証
+    mockMvc.perform(post("/students/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("123"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value(
+            "リクエストボディは受講生の詳細情報のJSON配列またはNDJSONで指定してください。"));
+  }
+
+  @Test
+  void 受講生の入力候補検索_正常系_エンドポイントでサービスの処理が適切に呼び出され候補が返ってくること()
+      throws Exception {
+    // 事前準備
+    when(service.suggestStudents("やまだ", 10)).thenReturn(
+        List.of(new StudentSuggestion(1, "山田太郎", "ヤマダタロウ")));
+
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/suggest").param("furigana", "やまだ"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)))
+        .andExpect(jsonPath("$[0].id").value(1))
+        .andExpect(jsonPath("$[0].fullname").value("山田太郎"))
+        .andExpect(jsonPath("$[0].furigana").value("ヤマダタロウ"));
+
+    verify(service, times(1)).suggestStudents("やまだ", 10);
+  }
+
+  @Test
+  void 受講生の入力候補検索_異常系_取得件数の上限に範囲外の値を指定したときに入力チェックがかかること()
+      throws Exception {
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/suggest")
+            .param("furigana", "やまだ")
+            .param("limit", "51"))
+        .andExpect(status().isBadRequest());
+
+    verify(service, never()).suggestStudents(any(), eq(51));
+  }
+
+  @Test
+  void 受講生詳細情報のキャッシュ統計_正常系_エンドポイントでサービスの処理が適切に呼び出され統計情報が返ってくること()
+      throws Exception {
+    // 事前準備
+    when(service.searchStudentDetailCacheStats()).thenReturn(
+        new CacheStatistics(10, 30, 10, 2, 0.75));
+
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/detail/cache/stats"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.size").value(10))
+        .andExpect(jsonPath("$.hitCount").value(30))
+        .andExpect(jsonPath("$.missCount").value(10))
+        .andExpect(jsonPath("$.evictionCount").value(2))
+        .andExpect(jsonPath("$.hitRate").value(0.75));
+
+    verify(service, times(1)).searchStudentDetailCacheStats();
+  }
+
+  @Test
+  void 受講生CSV取り込み_正常系_エンドポイントでサービスの処理が適切に呼び出され処理結果が返ってくること()
+      throws Exception {
+    // 事前準備
+    when(importService.importStudents(any(InputStream.class))).thenReturn(
+        new StudentImportResult(3, 1, 2, 1, 10, 300.0, List.of(new StudentImportRejectedRow(2,
+            "fullname: 空白は許可されていません", List.of("", "なし", "noname@example.com"))),
+            "0b7e8a52-3f0c-4c55-9a53-1d6f3c1e2a10"));
+
+    // 実行と検証
+    mockMvc.perform(post("/students/import")
+            .contentType("text/csv")
+            .content("fullname,furigana,mail\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalRows").value(3))
+        .andExpect(jsonPath("$.importedStudents").value(1))
+        .andExpect(jsonPath("$.importedCourses").value(2))
+        .andExpect(jsonPath("$.rejectedRows").value(1))
+        .andExpect(jsonPath("$.rowsPerSecond").value(300.0))
+        .andExpect(jsonPath("$.rejects[0].lineNumber").value(2))
+        .andExpect(jsonPath("$.rejects[0].reason").value("fullname: 空白は許可されていません"))
+        .andExpect(jsonPath("$.rejects[0].fields[2]").value("noname@example.com"))
+        .andExpect(jsonPath("$.rejectFileId").value("0b7e8a52-3f0c-4c55-9a53-1d6f3c1e2a10"));
+
+    verify(importService, times(1)).importStudents(any(InputStream.class));
+  }
+
+  @Test
+  void 受講生CSV取り込み_異常系_見出し行が不正なCSVを指定したときに例外がスローされること() throws Exception {
+    // 事前準備
+    when(importService.importStudents(any(InputStream.class))).thenThrow(
+        new InvalidBulkRequestException("CSVの見出し行に必須の列がありません：mail"));
+
+    // 実行と検証
+    mockMvc.perform(post("/students/import")
+            .contentType("text/csv")
+            .content("fullname,furigana\n"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("CSVの見出し行に必須の列がありません：mail"));
+  }
+
+  @Test
+  void 受講生CSV取り込みのリジェクトファイル_正常系_IDに紐づくリジェクトファイルがCSVの添付ファイルとして返ってくること()
+      throws Exception {
+    // 事前準備
+    String id = "0b7e8a52-3f0c-4c55-9a53-1d6f3c1e2a10";
+    Path rejectFile = Files.writeString(tempDir.resolve(id + ".csv"),
+        "lineNumber,reason,fullname\r\n2,fullname: 空白は許可されていません,\r\n");
+    when(rejectFiles.resolve(id)).thenReturn(rejectFile);
+
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/import/rejects").param("id", id))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith("text/csv"))
+        .andExpect(header().string("Content-Disposition",
+            "attachment; filename=\"import-rejects-" + id + ".csv\""))
+        .andExpect(content().string(
+            "lineNumber,reason,fullname\r\n2,fullname: 空白は許可されていません,\r\n"));
+  }
+
+  @Test
+  void 受講生CSV取り込みのリジェクトファイル_異常系_存在しないIDを指定したときに404が返ってくること() throws Exception {
+    // 事前準備
+    String expectedErrorMessage = "リジェクトファイル「unknown」は存在しないか、保持期間を過ぎています。";
+    when(rejectFiles.resolve("unknown")).thenThrow(new ResourceNotFoundException(expectedErrorMessage));
+
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/import/rejects").param("id", "unknown"))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.message").value(expectedErrorMessage));
+  }
+
+  @Test
+  void 受講生詳細情報のエクスポート_正常系_エンドポイントでサービスの処理が適切に呼び出されNDJSONが返ってくること()
+      throws Exception {
+    // 事前準備
+    doAnswer(invocation -> {
+      OutputStream out = invocation.getArgument(0);
+      out.write("{\"student\":{\"id\":1}}\n{\"student\":{\"id\":2}}\n"
+          .getBytes(StandardCharsets.UTF_8));
+      return null;
+    }).when(exportService).exportStudents(any(OutputStream.class));
+
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/export"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andExpect(content().string("{\"student\":{\"id\":1}}\n{\"student\":{\"id\":2}}\n"));
+
+    verify(exportService, times(1)).exportStudents(any(OutputStream.class));
+  }
+
+  @Test
+  void 受講生コースのCSVエクスポート_正常系_BOMの指定がサービスに渡されCSVが添付ファイルとして返ってくること()
+      throws Exception {
+    // 事前準備
+    doAnswer(invocation -> {
+      OutputStream out = invocation.getArgument(0);
+      out.write("受講生コースID\r\n1\r\n".getBytes(StandardCharsets.UTF_8));
+      return null;
+    }).when(exportService).exportCoursesCsv(any(OutputStream.class), eq(true));
+
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/courses/export.csv")
+            .param("bom", "true"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith("text/csv"))
+        .andExpect(header().string("Content-Disposition", "attachment; filename=\"courses.csv\""))
+        .andExpect(content().string("受講生コースID\r\n1\r\n"));
+
+    verify(exportService, times(1)).exportCoursesCsv(any(OutputStream.class), eq(true));
+  }
+
+  @Test
+  void 受講生コースのCSVエクスポート_正常系_BOMを指定しない場合はBOMなしで出力されること() throws Exception {
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.get("/students/courses/export.csv"))
+        .andExpect(status().isOk());
+
+    verify(exportService, times(1)).exportCoursesCsv(any(OutputStream.class), eq(false));
+  }
+
   @Test
   void 受講生の更新_正常系_エンドポイントでサービスの処理が適切に呼び出され_更新処理が成功しました_というメッセージが返ってくること()
       throws Exception {
@@ -303,18 +790,21 @@ class StudentControllerTest {
                                 "age": 56,
                                 "gender": "男性",
                                 "remark": "更新のテストです。年齢を56に、deletedをtrueにしています。",
-                                "deleted": true
+                                "deleted": true,
+                                "version": 0
                             },
                             "studentCourses": [
                                 {
                                     "id": 1,
                                     "student_id": 1,
-                                    "courseName": "Java"
+                                    "courseName": "Java",
+                                    "version": 0
                                 },
                                 {
                                     "id":2,
                                     "student_id": 1,
-                                    "courseName": "Ruby"
+                                    "courseName": "Ruby",
+                                    "version": 0
                                 }
                             ]
                         }
@@ -358,18 +848,21 @@ class StudentControllerTest {
                                 "age": 56,
                                 "gender": "男性",
                                 "remark": "更新のテストです。年齢を56に、deletedをtrueにしています。",
-                                "deleted": true
+                                "deleted": true,
+                                "version": 0
                             },
                             "studentCourses": [
                                 {
                                     "id": 1,
                                     "student_id": 999,
-                                    "courseName": "Java"
+                                    "courseName": "Java",
+                                    "version": 0
                                 },
                                 {
                                     "id":2,
                                     "student_id": 999,
-                                    "courseName": "Ruby"
+                                    "courseName": "Ruby",
+                                    "version": 0
                                 }
                             ]
                         }
@@ -414,18 +907,21 @@ class StudentControllerTest {
                                 "age": 56,
                                 "gender": "男性",
                                 "remark": "更新のテストです。年齢を56に、deletedをtrueにしています。",
-                                "deleted": true
+                                "deleted": true,
+                                "version": 0
                             },
                             "studentCourses": [
                                 {
                                     "id": 1,
                                     "student_id": 1,
-                                    "courseName": "Java"
+                                    "courseName": "Java",
+                                    "version": 0
                                 },
                                 {
                                     "id":999,
                                     "student_id": 1,
-                                    "courseName": "Ruby"
+                                    "courseName": "Ruby",
+                                    "version": 0
                                 }
                             ]
                         }
@@ -445,7 +941,7 @@ class StudentControllerTest {
             .contentType(MediaType.APPLICATION_JSON)
             .content(
                 """
-                    {"courseId":1, "status":"受講中"}
+                    {"courseId":1, "status":"受講中", "version":0}
                     """
             ))
         .andExpect(status().isOk())
@@ -473,7 +969,7 @@ class StudentControllerTest {
             .contentType(MediaType.APPLICATION_JSON)
             .content(
                 """
-                    {"courseId":999, "status":"受講中"}
+                    {"courseId":999, "status":"受講中", "version":0}
                     """
             ))
         .andExpect(status().isNotFound())
@@ -481,6 +977,117 @@ class StudentControllerTest {
 
   }
 
+  @Test
+  void コース申込状況の更新_異常系_取得後に他の更新が行われていたときに409が返ってくること()
+      throws Exception {
+    // 事前準備
+    String expectedErrorMessage =
+        "受講生コースID 「1」の申込状況は他の更新により変更されています。最新の情報を取得してから更新してください";
+
+    doThrow(new VersionConflictException(expectedErrorMessage))
+        .when(service).updateCourseStatus(any(CourseStatus.class));
+
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.put("/students/courses/statuses/update")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(
+                """
+                    {"courseId":1, "status":"受講中", "version":0}
+                    """
+            ))
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.message").value(expectedErrorMessage));
+
+  }
+
+  @Test
+  void コース申込状況の更新_異常系_バージョンを指定しなかったときに入力チェックがかかること()
+      throws Exception {
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.put("/students/courses/statuses/update")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(
+                """
+                    {"courseId":1, "status":"受講中"}
+                    """
+            ))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors[0].field").value("version"));
+
+    verify(service, never()).updateCourseStatus(any());
+  }
+
+  @Test
+  void 受講生の更新_異常系_受講生と受講生コースのバージョンを指定しなかったときに入力チェックがかかること()
+      throws Exception {
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.put("/students/update")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(
+                """
+                        {
+                            "student": {
+                                "id": 1,
+                                "fullname": "田中昭三",
+                                "furigana": "たなかしょうぞう",
+                                "mail": "shozo@example.com"
+                            },
+                            "studentCourses": [
+                                {
+                                    "id": 1,
+                                    "courseName": "Java"
+                                }
+                            ]
+                        }
+                    """
+            ))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors.length()").value(2))
+        .andExpect(jsonPath("$.errors[*].field").value(
+            containsInAnyOrder("student.version", "studentCourses[0].version")));
+
+    verify(service, never()).updateStudent(any());
+  }
+
+  @Test
+  void コース申込状況の一括更新_正常系_エンドポイントでサービスの処理が適切に呼び出され更新件数と存在しないIDが返ってくること()
+      throws Exception {
+    // 事前準備
+    when(service.updateCourseStatuses(List.of(1, 2, 999), 受講中)).thenReturn(
+        new CourseStatusBulkUpdateResult(2, List.of(999)));
+
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.put("/students/courses/statuses/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(
+                """
+                    {"courseIds":[1, 2, 999], "status":"受講中"}
+                    """
+            ))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.updatedCount").value(2))
+        .andExpect(jsonPath("$.notFoundCourseIds[0]").value(999));
+
+    verify(service, times(1)).updateCourseStatuses(List.of(1, 2, 999), 受講中);
+  }
+
+  @Test
+  void コース申込状況の一括更新_異常系_受講生コースIDを指定しなかったときに入力チェックがかかること()
+      throws Exception {
+    // 実行と検証
+    mockMvc.perform(MockMvcRequestBuilders.put("/students/courses/statuses/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(
+                """
+                    {"courseIds":[], "status":"受講中"}
+                    """
+            ))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errors[0].field").value("courseIds"));
+
+    verify(service, never()).updateCourseStatuses(any(), any());
+  }
+
   @Test
   void 受講生詳細情報の入力チェック_リクエスト可能な情報がすべて適切な場合に入力チェックがかからないこと()
       throws Exception {
@@ -558,6 +1165,37 @@ class StudentControllerTest {
 
   }
 
+  @Test
+  void 受講生詳細情報の入力チェック_文字列の項目が列の長さを超える場合に入力チェックがかかること() throws Exception {
+    // 事前準備
+    int id = 666;
+    StudentDetail studentDetail = createTestStudentDetail(id);
+
+    studentDetail.getStudent().setFullname("あ".repeat(101)); // fullnameは100文字まで
+    studentDetail.getStudent().setFurigana("あ".repeat(100));
+    studentDetail.getStudent().setMail("shozo@example.com");
+    studentDetail.getStudent().setAddress("あ".repeat(257)); // addressは256文字まで
+    studentDetail.getStudent().setRemark("あ".repeat(201)); // remarkは200文字まで
+
+    studentDetail.getStudentCourses().get(0).setCourseName("あ".repeat(101)); // courseNameは100文字まで
+    studentDetail.getStudentCourses().get(1).setCourseName("Ruby");
+
+    Set<ConstraintViolation<StudentDetail>> violations = validator.validate(studentDetail);
+
+    // 検証
+    Map<String, String> violationMessages = new HashMap<>();
+    for (ConstraintViolation<StudentDetail> violation : violations) {
+      violationMessages.put(violation.getPropertyPath().toString(), violation.getMessage());
+    }
+    assertEquals(Map.of(
+            "student.fullname", "0 から 100 の間のサイズにしてください",
+            "student.address", "0 から 256 の間のサイズにしてください",
+            "student.remark", "0 から 200 の間のサイズにしてください",
+            "studentCourses[0].courseName", "0 から 100 の間のサイズにしてください"),
+        violationMessages);
+
+  }
+
   @Test
   void コース申込状況の入力チェック_リクエスト可能な情報がすべて適切な場合に入力チェックがかからないこと()
       throws Exception {
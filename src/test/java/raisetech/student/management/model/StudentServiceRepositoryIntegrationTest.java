@@ -326,12 +326,15 @@ public class StudentServiceRepositoryIntegrationTest {
     student.setGender(その他);
     student.setDeleted(true);
     student.setRemark("サービス・リポジトリの結合テスト：更新の確認");
+    student.setVersion(0);
 
     List<StudentCourse> studentCourses = new ArrayList<>();
     StudentCourse studentCourse1 = new StudentCourse();
     StudentCourse studentCourse2 = new StudentCourse();
     studentCourse1.setId(1);
     studentCourse2.setId(2);
+    studentCourse1.setVersion(0);
+    studentCourse2.setVersion(0);
     studentCourse1.setCourseName("C++");
     studentCourse2.setCourseName("C#");
     studentCourses.add(studentCourse1);
@@ -409,6 +412,27 @@ public class StudentServiceRepositoryIntegrationTest {
 
   }
 
+  @Test
+  void 受講生詳細情報の更新_異常系_存在しない受講生コースIDを指定したときは受講生も更新されないこと() {
+    // 事前準備
+    Map<String, Object> before = jdbcTemplate.queryForMap(
+        "SELECT fullname, mail, version FROM students WHERE id = 1");
+
+    Student student = new Student(1, "更新太郎", "こうしんたろう", "こうちゃん",
+        "koushin@example.com", "札幌", 30, 男性, "更新", false, 0);
+    StudentCourse studentCourse = new StudentCourse();
+    studentCourse.setId(999);
+    StudentDetail studentDetail = new StudentDetail(student,
+        new ArrayList<>(List.of(studentCourse)));
+
+    // 実行と検証
+    assertThrows(ResourceNotFoundException.class, () -> sut.updateStudent(studentDetail));
+    assertEquals(before, jdbcTemplate.queryForMap(
+        "SELECT fullname, mail, version FROM students WHERE id = 1"));
+    assertEquals(0, student.getVersion());
+
+  }
+
   @Test
   void コース申込状況の更新_正常系_指定した受講生コースIDのコース申込状況が適切に更新されていること() {
     // 事前準備
@@ -416,6 +440,7 @@ public class StudentServiceRepositoryIntegrationTest {
     courseStatus.setId(1);
     courseStatus.setCourseId(1);
     courseStatus.setStatus(本申込);
+    courseStatus.setVersion(0);
 
     // 実行
     sut.updateCourseStatus(courseStatus);
@@ -1,6 +1,8 @@
 package raisetech.student.management.model.converter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -51,4 +53,42 @@ class CourseConverterTest {
           detail.getCourseStatus().getCourseId());
     }
   }
+
+  @Test
+  void コース申込状況が存在しない受講生コースはコース申込状況が空のまま変換されること() {
+    // 事前準備
+    StudentCourse studentCourse = new StudentCourse();
+    studentCourse.setId(1);
+
+    CourseStatus courseStatus = new CourseStatus();
+    courseStatus.setCourseId(2);
+
+    // 実行
+    List<CourseDetail> actualCourseDetails = sut.convertCourseDetails(List.of(studentCourse),
+        List.of(courseStatus));
+
+    // 検証
+    assertEquals(1, actualCourseDetails.size());
+    assertNull(actualCourseDetails.get(0).getCourseStatus());
+  }
+
+  @Test
+  void 同じ受講生コースIDに紐づくコース申込状況が複数存在する場合に例外がスローされること() {
+    // 事前準備
+    StudentCourse studentCourse = new StudentCourse();
+    studentCourse.setId(1);
+
+    List<CourseStatus> courseStatusesList = new ArrayList<>();
+    for (int i = 1; i <= 2; i++) {
+      CourseStatus courseStatus = new CourseStatus();
+      courseStatus.setId(i);
+      courseStatus.setCourseId(1);
+      courseStatusesList.add(courseStatus);
+    }
+
+    // 実行と検証
+    IllegalStateException exception = assertThrows(IllegalStateException.class,
+        () -> sut.convertCourseDetails(List.of(studentCourse), courseStatusesList));
+    assertEquals("受講生コースID 「1」に紐づくコース申込状況が複数存在します", exception.getMessage());
+  }
 }
@@ -0,0 +1,31 @@
+package raisetech.student.management.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class FulltextQueriesTest {
+
+  @Test
+  void 検索可否_トークンの長さ以上の検索文字列のみ全文検索索引で絞り込めること() {
+    assertTrue(FulltextQueries.isSearchable("山田"));
+    assertTrue(FulltextQueries.isSearchable("東京都千代田区"));
+    assertFalse(FulltextQueries.isSearchable("山"));
+    assertFalse(FulltextQueries.isSearchable("𠮷"));
+    assertFalse(FulltextQueries.isSearchable(""));
+    assertFalse(FulltextQueries.isSearchable(null));
+  }
+
+  @Test
+  void 検索可否_二重引用符を含む検索文字列は全文検索索引で絞り込めないこと() {
+    assertFalse(FulltextQueries.isSearchable("\"山田\""));
+  }
+
+  @Test
+  void フレーズ_演算子を含む検索文字列が二重引用符で囲まれること() {
+    assertEquals("\"+山田*\"", FulltextQueries.phrase("+山田*"));
+  }
+
+}
@@ -0,0 +1,30 @@
+package raisetech.student.management.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+class LikePatternsTest {
+
+  @Test
+  void 部分一致のパターン_検索文字列の前後に百分率記号が付くこと() {
+    assertEquals("%山田%", LikePatterns.contains("山田"));
+    assertEquals("%%", LikePatterns.contains(""));
+    assertNull(LikePatterns.contains(null));
+  }
+
+  @Test
+  void 部分一致のパターン_ワイルドカードとエスケープ文字がエスケープされること() {
+    assertEquals("%!%!_!!\\%", LikePatterns.contains("%_!\\"));
+    assertEquals("%taro!_1@example.com%", LikePatterns.contains("taro_1@example.com"));
+  }
+
+  @Test
+  void 前方一致のパターン_ワイルドカードとエスケープ文字をエスケープして末尾に百分率記号が付くこと() {
+    assertEquals("ヤマダ%", LikePatterns.startsWith("ヤマダ"));
+    assertEquals("!%!_!!%", LikePatterns.startsWith("%_!"));
+    assertNull(LikePatterns.startsWith(null));
+  }
+
+}
@@ -0,0 +1,21 @@
+package raisetech.student.management.model.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class NormalizedTextTypeHandlerTest {
+
+  @Test
+  void 切り詰め_上限以下の値はそのままで上限を超える値は上限の文字数まで切り詰められること() {
+    assertEquals("平成", NormalizedTextTypeHandler.truncate("平成", 2));
+    assertEquals("平成平", NormalizedTextTypeHandler.truncate("平成平成", 3));
+  }
+
+  @Test
+  void 切り詰め_サロゲートペアの途中では切らないこと() {
+    assertEquals("a", NormalizedTextTypeHandler.truncate("a𠮷b", 2));
+    assertEquals("a𠮷", NormalizedTextTypeHandler.truncate("a𠮷b", 3));
+  }
+
+}
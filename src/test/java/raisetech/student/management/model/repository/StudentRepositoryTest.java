@@ -1,21 +1,39 @@
 package raisetech.student.management.model.repository;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static raisetech.student.management.model.data.Gender.その他;
 import static raisetech.student.management.model.data.Gender.男性;
 import static raisetech.student.management.model.data.Status.仮申込;
+import static raisetech.student.management.model.data.Status.受講中;
 import static raisetech.student.management.model.data.Status.本申込;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
+import org.apache.ibatis.cursor.Cursor;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.transaction.annotation.Transactional;
+import raisetech.student.management.model.data.CourseSearchCriteria;
 import raisetech.student.management.model.data.CourseStatus;
 import raisetech.student.management.model.data.Student;
 import raisetech.student.management.model.data.StudentCourse;
+import raisetech.student.management.model.data.StudentSearchCriteria;
+import raisetech.student.management.model.domain.CourseDetail;
+import raisetech.student.management.model.domain.CourseExportRow;
+import raisetech.student.management.model.domain.StudentDetail;
+import raisetech.student.management.model.domain.StudentSuggestion;
 
 @MybatisTest
 @Transactional
@@ -58,10 +76,85 @@ class StudentRepositoryTest {
   }
 
 
+  @ParameterizedTest
+  @MethodSource("provideStudentSearchCriteria")
+  void 検索条件に合致する受講生詳細情報の検索が行えること(StudentSearchCriteria criteria,
+      List<Integer> expectedStudentIds) {
+    List<StudentDetail> actual = sut.searchStudentDetails(criteria, null, null);
+    assertEquals(expectedStudentIds,
+        actual.stream().map(detail -> detail.getStudent().getId()).toList());
+
+    // 受講生コースは絞り込まず、受講生に紐づくものがすべて含まれる
+    for (StudentDetail detail : actual) {
+      assertEquals(sut.searchStudentDetail(detail.getStudent().getId()).getStudentCourses()
+              .stream().map(StudentCourse::getId).toList(),
+          detail.getStudentCourses().stream().map(StudentCourse::getId).toList());
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideStudentSearchCriteria")
+  void 全文検索モードの検索でもLIKEによる検索と同じ受講生詳細情報が検索できること(
+      StudentSearchCriteria criteria, List<Integer> expectedStudentIds) {
+    List<StudentDetail> actual = sut.searchStudentDetailsFulltext(criteria, null, null);
+    assertEquals(expectedStudentIds,
+        actual.stream().map(detail -> detail.getStudent().getId()).toList());
+    assertEquals(sut.searchStudentDetails(criteria, null, null).stream()
+            .flatMap(detail -> detail.getStudentCourses().stream())
+            .map(StudentCourse::getId).toList(),
+        actual.stream()
+            .flatMap(detail -> detail.getStudentCourses().stream())
+            .map(StudentCourse::getId).toList());
+  }
+
   @Test
-  void 受講生の全件検索が行えること() {
-    List<Student> actual = sut.searchStudents();
-    assertEquals(5, actual.size());
+  void 前ページの最後の受講生IDより後の受講生詳細情報を指定した件数だけ検索できること() {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.setDeleted(false);
+
+    List<StudentDetail> actual = sut.searchStudentDetails(criteria, 1, 2);
+    assertEquals(List.of(2, 3),
+        actual.stream().map(detail -> detail.getStudent().getId()).toList());
+    assertEquals(List.of(3, 4, 5, 6), actual.stream()
+        .flatMap(detail -> detail.getStudentCourses().stream())
+        .map(StudentCourse::getId)
+        .toList());
+
+    // 最終ページの次は空になる
+    assertTrue(sut.searchStudentDetails(criteria, 4, 2).isEmpty());
+  }
+
+  /**
+   * 受講生の条件検索に適用するテストケースです。
+   *
+   * @return Argument
+   */
+  private static Stream<Arguments> provideStudentSearchCriteria() {
+    return Stream.of(
+        // 検索条件なし。全件検索が行われるケース。
+        Arguments.of(new StudentSearchCriteria(), List.of(1, 2, 3, 4, 5)),
+        // 受講生の項目のみで絞り込むケース。
+        Arguments.of(new StudentSearchCriteria(null, null, null,
+            "example.com", null, 20, 45, 男性, false, null,
+            null, null, null, null), List.of(1, 3)),
+        // コースの項目で絞り込むケース。いずれかのコースが条件を満たせばよい。
+        Arguments.of(new StudentSearchCriteria(null, null, null,
+            null, null, null, null, null, null, "Java",
+            LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 4),
+            LocalDate.of(2024, 7, 31), LocalDate.of(2024, 8, 3)), List.of(1, 3)),
+        // コースの項目ごとに別々のコースが条件を満たすケース。受講生ID1はRubyのコースがコース名を、
+        // Javaのコースが受講開始日を満たす。
+        Arguments.of(new StudentSearchCriteria(null, null, null,
+            null, null, null, null, null, null, "Ruby",
+            null, LocalDate.of(2024, 4, 1), null, null), List.of(1)),
+        // 文字列の条件を正規化した列と比較するケース。ひらがな・カタカナ、全角・半角、大文字・小文字を区別しない。
+        Arguments.of(new StudentSearchCriteria(null, "やまだ", "タロ",
+            "ＴＡＲＯ.Yamada", null, null, null, null, null, null,
+            null, null, null, null), List.of(1)),
+        // 条件に合致する受講生が存在しないケース。
+        Arguments.of(new StudentSearchCriteria("鈴木太郎", null, null,
+            null, null, null, null, null, null, null,
+            null, null, null, null), List.of()));
   }
 
   @Test
@@ -72,9 +165,84 @@ class StudentRepositoryTest {
   }
 
   @Test
-  void 受講生コースの全件検索が行えること() {
-    List<StudentCourse> actual = sut.searchStudentCoursesList();
+  void 指定したIDに紐づく受講生詳細情報の検索が行えること() {
+    StudentDetail actual = sut.searchStudentDetail(1);
+    assertEquals("山田太郎", actual.getStudent().getFullname());
+    assertEquals(List.of("Java", "Ruby"),
+        actual.getStudentCourses().stream().map(StudentCourse::getCourseName).toList());
+  }
+
+  @Test
+  void 存在しないIDを指定した場合は受講生詳細情報が取得されないこと() {
+    assertNull(sut.searchStudentDetail(999));
+  }
+
+  @Test
+  void 受講生詳細情報の全件をCursorで受講生ID順に受講生コースとともに読み込めること() throws Exception {
+    List<StudentDetail> actual = new ArrayList<>();
+    try (Cursor<StudentDetail> cursor = sut.exportStudentDetails()) {
+      cursor.forEach(actual::add);
+    }
+
+    assertEquals(List.of(1, 2, 3, 4, 5),
+        actual.stream().map(studentDetail -> studentDetail.getStudent().getId()).toList());
+    assertEquals(List.of(1, 2), actual.get(0).getStudentCourses().stream()
+        .map(StudentCourse::getId).toList());
+    assertEquals(List.of(8), actual.get(4).getStudentCourses().stream()
+        .map(StudentCourse::getId).toList());
+  }
+
+  @Test
+  void 受講生の受講生IDと氏名とふりがなと削除フラグの全件をCursorで受講生ID順に読み込めること() throws Exception {
+    List<Student> actual = new ArrayList<>();
+    try (Cursor<Student> cursor = sut.exportStudentNames()) {
+      cursor.forEach(actual::add);
+    }
+
+    assertEquals(List.of(1, 2, 3, 4, 5), actual.stream().map(Student::getId).toList());
+    assertEquals("山田太郎", actual.get(0).getFullname());
+    assertEquals("ヤマダタロウ", actual.get(0).getFurigana());
+    assertNull(actual.get(0).getMail());
+    assertTrue(actual.get(4).isDeleted());
+  }
+
+  @Test
+  void 受講生の入力候補の検索_空白を除いたふりがなが前方一致する削除されていない受講生がふりがな順に返ってくること() {
+    // 事前準備
+    Student student = createStudent();
+    student.setFurigana("やまだ はなこ");
+    student.setMail("hanako.yamada@example.com");
+    sut.registerStudent(student);
+
+    // 実行
+    List<StudentSuggestion> actual = sut.searchStudentSuggestions("ヤマダ", 10);
+
+    // 検証：受講生5（ナカムラケンタ）は削除済み、%はワイルドカードとして扱わない
+    assertEquals(List.of(1, student.getId()),
+        actual.stream().map(StudentSuggestion::getId).toList());
+    assertEquals("山田太郎", actual.get(0).getFullname());
+    assertEquals(List.of(student.getId()), sut.searchStudentSuggestions("ヤマダハ", 10).stream()
+        .map(StudentSuggestion::getId).toList());
+    assertEquals(1, sut.searchStudentSuggestions("ヤマダ", 1).size());
+    assertTrue(sut.searchStudentSuggestions("ナカ", 10).isEmpty());
+    assertTrue(sut.searchStudentSuggestions("%", 10).isEmpty());
+  }
+
+  @Test
+  void 受講生コースと申込状況を結合した行の全件をCursorで受講生コースID順に読み込めること() throws Exception {
+    List<CourseExportRow> actual = new ArrayList<>();
+    try (Cursor<CourseExportRow> cursor = sut.exportCourses()) {
+      cursor.forEach(actual::add);
+    }
+
     assertEquals(8, actual.size());
+    CourseExportRow first = actual.get(0);
+    assertEquals(1, first.getId());
+    assertEquals(1, first.getStudentId());
+    assertEquals("Java", first.getCourseName());
+    assertEquals(LocalDateTime.of(2024, 4, 1, 9, 0, 0), first.getStartDate());
+    assertEquals(仮申込, first.getStatus());
+    assertEquals(8, actual.get(7).getId());
   }
 
   @Test
@@ -84,19 +252,60 @@ class StudentRepositoryTest {
     assertEquals("Design", actual.getCourseName());
   }
 
+  @ParameterizedTest
+  @MethodSource("provideCourseSearchCriteria")
+  void 検索条件に合致する受講生コース詳細情報の検索が行えること(CourseSearchCriteria criteria,
+      List<Integer> expectedCourseIds) {
+    List<CourseDetail> actual = sut.searchCourseDetails(criteria, null, null);
+
+    assertEquals(expectedCourseIds,
+        actual.stream().map(detail -> detail.getStudentCourse().getId()).toList());
+    for (CourseDetail detail : actual) {
+      assertEquals(detail.getStudentCourse().getId(), detail.getCourseStatus().getCourseId());
+    }
+  }
+
   @Test
-  void 指定した受講生IDに紐づく受講生コースの検索が行えること() {
-    int studentId = 3;
-    List<StudentCourse> actual = sut.searchStudentCourses(studentId);
-    assertEquals(2, actual.size());
-    assertEquals("Python", actual.get(0).getCourseName());
-    assertEquals("Java", actual.get(1).getCourseName());
+  void 前ページの最後の受講生コースIDより後の受講生コース詳細情報を指定した件数だけ検索できること() {
+    CourseSearchCriteria criteria = new CourseSearchCriteria();
+    criteria.setCourseName("y");
+
+    List<CourseDetail> actual = sut.searchCourseDetails(criteria, 1, 2);
+
+    assertEquals(List.of(2, 5),
+        actual.stream().map(detail -> detail.getStudentCourse().getId()).toList());
   }
 
   @Test
-  void コース申込状況の全件検索が行えること() {
-    List<CourseStatus> actual = sut.searchCourseStatusList();
-    assertEquals(8, actual.size());
+  void 検索文字列の百分率記号とアンダースコアはワイルドカードとして扱われないこと() {
+    StudentSearchCriteria studentCriteria = new StudentSearchCriteria();
+    studentCriteria.setFullname("_");
+    CourseSearchCriteria courseCriteria = new CourseSearchCriteria();
+    courseCriteria.setCourseName("%");
+
+    assertTrue(sut.searchStudentDetails(studentCriteria, null, null).isEmpty());
+    assertTrue(sut.searchCourseDetails(courseCriteria, null, null).isEmpty());
+  }
+
+  /**
+   * 受講生コース詳細情報の条件検索に適用するテストケースです。
+   *
+   * @return Argument
+   */
+  private static Stream<Arguments> provideCourseSearchCriteria() {
+    return Stream.of(
+        // 検索条件なし。全件検索が行われるケース。
+        Arguments.of(new CourseSearchCriteria(), List.of(1, 2, 3, 4, 5, 6, 7, 8)),
+        // コース名と申込状況で絞り込むケース。
+        Arguments.of(new CourseSearchCriteria("Java", null, null, null, null, 仮申込),
+            List.of(1)),
+        // 日付の範囲で絞り込むケース。範囲の起点と終点は検索対象に含まれる。
+        Arguments.of(new CourseSearchCriteria(null,
+            LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 1),
+            LocalDate.of(2024, 7, 31), LocalDate.of(2024, 7, 31), 受講中), List.of(3, 7)),
+        // 条件に合致する受講生コースが存在しないケース。
+        Arguments.of(new CourseSearchCriteria("Java", null, null, null, null, 受講中),
+            List.of()));
   }
 
   @Test
@@ -112,41 +321,121 @@ class StudentRepositoryTest {
     Student student = createStudent();
     sut.registerStudent(student);
 
-    List<Student> actual = sut.searchStudents();
+    List<StudentDetail> actual = sut.searchStudentDetails(new StudentSearchCriteria(), null, null);
     assertEquals(6, actual.size());
 
   }
 
   @Test
-  void 受講生コースの新規登録ができること() {
+  void 新規登録と更新した受講生が正規化した列で検索できること() {
     Student student = createStudent();
-    sut.registerStudent(student); // まず新たなidの受講生をDB登録し、外部キー制約違反が発生しないようにする
+    sut.registerStudent(student);
 
-    StudentCourse studentCourse = createStudentCourse(student);
-    sut.registerStudentCourses(studentCourse);
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.setFurigana("アラカワ");
+    criteria.setMail("ＡＴＯＭ@");
+    assertEquals(List.of(student.getId()), sut.searchStudentDetails(criteria, null, null).stream()
+        .map(detail -> detail.getStudent().getId()).toList());
 
-    List<StudentCourse> actual = sut.searchStudentCoursesList();
-    assertEquals(9, actual.size());
+    student.setFurigana("ｱﾗｶﾜｱﾄﾑ");
+    student.setAddress("沖縄県那覇市１－２");
+    student.setVersion(0);
+    sut.updateStudent(student);
+
+    criteria.setFurigana("あらかわ");
+    criteria.setAddress("那覇市1-2");
+    assertEquals(List.of(student.getId()), sut.searchStudentDetails(criteria, null, null).stream()
+        .map(detail -> detail.getStudent().getId()).toList());
+  }
+
+  @Test
+  void 一括新規登録した受講生が正規化した列で検索できること() {
+    Student student = createStudent();
+    student.setNickname("ＡＴＯＭ");
+    sut.registerStudentsList(List.of(student));
 
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.setNickname("atom");
+    assertEquals(List.of(student.getId()), sut.searchStudentDetails(criteria, null, null).stream()
+        .map(detail -> detail.getStudent().getId()).toList());
   }
 
   @Test
-  void コース申込状況の新規登録ができること() {
+  void 正規化で文字数が増える値を元の列の上限まで指定しても登録して検索できること() {
+    // 「㍻」はNFKCで「平成」の2文字に展開される
     Student student = createStudent();
-    sut.registerStudent(student); // まず新たなidの受講生をDB登録し、studentCourseの外部キー制約違反が発生しないようにする
+    student.setFullname("㍻".repeat(100));
+    sut.registerStudent(student);
 
-    StudentCourse studentCourse = createStudentCourse(student);
-    sut.registerStudentCourses(
-        studentCourse); // 次に新たなidの受講生コースをDB登録し、courseStatusの外部キー制約違反が発生しないようにする
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.setFullname("平成平成");
+    assertEquals(List.of(student.getId()), sut.searchStudentDetails(criteria, null, null).stream()
+        .map(detail -> detail.getStudent().getId()).toList());
+  }
 
-    CourseStatus courseStatus = new CourseStatus();
-    courseStatus.setCourseId(studentCourse.getId());
-    courseStatus.setStatus(仮申込);
-    sut.registerCourseStatus(courseStatus);
+  @Test
+  void 登録済みのメールアドレスで受講生を新規登録しようとすると一意制約違反になること() {
+    Student student = createStudent();
+    student.setMail("taro.yamada@example.com");
+
+    assertThrows(DuplicateKeyException.class, () -> sut.registerStudent(student));
+  }
+
+  @Test
+  void メールアドレスに紐づく受講生の存在確認が行えること() {
+    assertTrue(sut.existsByMail("taro.yamada@example.com"));
+    assertFalse(sut.existsByMail("nobody@example.com"));
+  }
+
+  @Test
+  void 指定したメールアドレスのうち登録済みのものを検索できること() {
+    List<String> actual = sut.searchRegisteredMails(
+        List.of("taro.yamada@example.com", "nobody@example.com", "kenta.nakamura@example.com"));
+    assertEquals(List.of("kenta.nakamura@example.com", "taro.yamada@example.com"),
+        actual.stream().sorted().toList());
+  }
+
+  @Test
+  void 受講生の一括新規登録ができ採番されたIDが設定されること() {
+    Student student1 = createStudent();
+    Student student2 = createStudent();
+    student2.setMail("atom2@example.com");
+
+    sut.registerStudentsList(List.of(student1, student2));
+
+    assertTrue(student1.getId() > 0);
+    assertTrue(student2.getId() > student1.getId());
+    assertEquals("atom2@example.com", sut.searchStudent(student2.getId()).getMail());
+    assertEquals(7, sut.searchStudentDetails(new StudentSearchCriteria(), null, null).size());
+  }
 
-    List<CourseStatus> actual = sut.searchCourseStatusList();
-    assertEquals(9, actual.size());
+  @Test
+  void 受講生コースとコース申込状況の一括新規登録ができ採番されたIDが設定されること() {
+    Student student = createStudent();
+    sut.registerStudent(student);
 
+    StudentCourse studentCourse1 = createStudentCourse(student);
+    StudentCourse studentCourse2 = createStudentCourse(student);
+    studentCourse2.setCourseName("Java");
+    sut.registerStudentCoursesList(List.of(studentCourse1, studentCourse2));
+
+    // 採番値はテストの実行順に依存するため、値ではなく各要素に異なるIDが設定されたことを確認する
+    assertTrue(studentCourse1.getId() > 0);
+    assertTrue(studentCourse2.getId() > studentCourse1.getId());
+    assertEquals("Java", sut.searchStudentCourse(studentCourse2.getId()).getCourseName());
+    assertEquals(10, sut.searchCourseDetails(new CourseSearchCriteria(), null, null).size());
+
+    CourseStatus courseStatus1 = new CourseStatus();
+    courseStatus1.setCourseId(studentCourse1.getId());
+    courseStatus1.setStatus(仮申込);
+    CourseStatus courseStatus2 = new CourseStatus();
+    courseStatus2.setCourseId(studentCourse2.getId());
+    courseStatus2.setStatus(仮申込);
+    sut.registerCourseStatusList(List.of(courseStatus1, courseStatus2));
+
+    assertTrue(courseStatus1.getId() > 0);
+    assertTrue(courseStatus2.getId() > courseStatus1.getId());
+    assertEquals(仮申込, sut.searchCourseStatus(studentCourse2.getId()).getStatus());
   }
 
   @Test
@@ -163,7 +452,7 @@ class StudentRepositoryTest {
     student.setRemark("テスト2");
     student.setDeleted(true);
 
-    sut.updateStudent(student);
+    assertEquals(1, sut.updateStudent(student));
 
     Student actual = sut.searchStudent(id);
     assertEquals("中村健太2", actual.getFullname());
@@ -179,29 +468,185 @@ class StudentRepositoryTest {
   }
 
   @Test
-  void 受講生コースの更新ができること() {
-    int studentId = 5;
-    List<StudentCourse> studentCourses = sut.searchStudentCourses(studentId);
-    studentCourses.get(0).setCourseName("AWS2");
+  void 受講生と受講生コースとコース申込状況を更新するたびにバージョンが1増えること() {
+    Student student = sut.searchStudent(1);
+    assertEquals(0, student.getVersion());
+    sut.updateStudent(student);
+    student.setVersion(1);
+    sut.updateStudent(student);
+
+    List<StudentCourse> studentCourses = sut.searchStudentDetail(1).getStudentCourses();
+    assertEquals(2, sut.updateStudentCoursesList(1, studentCourses));
+    studentCourses.get(0).setVersion(1);
+    assertEquals(1, sut.updateStudentCoursesList(1, List.of(studentCourses.get(0))));
+
+    CourseStatus courseStatus = sut.searchCourseStatus(1);
+    sut.updateCourseStatus(courseStatus);
+    sut.updateCourseStatuses(List.of(1, 2), 受講中);
+
+    assertEquals(2, sut.searchStudent(1).getVersion());
+    assertEquals(List.of(2, 1), sut.searchStudentDetail(1).getStudentCourses().stream()
+        .map(StudentCourse::getVersion).toList());
+    assertEquals(2, sut.searchCourseStatus(1).getVersion());
+    assertEquals(1, sut.searchCourseStatus(2).getVersion());
+  }
+
+  @Test
+  void 受講生詳細情報のバージョンのみを検索できること() {
+    Student student = sut.searchStudent(1);
+    sut.updateStudent(student);
+    sut.updateStudentCoursesList(1,
+        List.of(sut.searchStudentDetail(1).getStudentCourses().get(1)));
+
+    StudentDetail actual = sut.searchStudentDetailVersion(1);
+    assertEquals(1, actual.getStudent().getId());
+    assertEquals(1, actual.getStudent().getVersion());
+    assertNull(actual.getStudent().getFullname());
+    assertEquals(List.of(1, 2), actual.getStudentCourses().stream()
+        .map(StudentCourse::getId).toList());
+    assertEquals(List.of(0, 1), actual.getStudentCourses().stream()
+        .map(StudentCourse::getVersion).toList());
+
+    // 受講生詳細情報の検索と同じバージョンが取得される
+    StudentDetail detail = sut.searchStudentDetail(1);
+    assertEquals(1, detail.getStudent().getVersion());
+    assertEquals(List.of(0, 1), detail.getStudentCourses().stream()
+        .map(StudentCourse::getVersion).toList());
+
+    assertNull(sut.searchStudentDetailVersion(999));
+  }
+
+  @Test
+  void 受講生コース詳細情報のバージョンのみを検索できること() {
+    sut.updateCourseStatuses(List.of(3), 受講中);
+
+    CourseDetail actual = sut.searchCourseDetailVersion(3);
+    assertEquals(3, actual.getStudentCourse().getId());
+    assertEquals(0, actual.getStudentCourse().getVersion());
+    assertNull(actual.getStudentCourse().getCourseName());
+    assertEquals(1, actual.getCourseStatus().getVersion());
+
+    assertNull(sut.searchCourseDetailVersion(999));
+  }
+
+  @Test
+  void 複数の受講生コースのコース名を一括で更新できること() {
+    int studentId = 3;
+    List<StudentCourse> studentCourses = sut.searchStudentDetail(studentId).getStudentCourses();
+    studentCourses.get(0).setCourseName("Python2");
+    studentCourses.get(1).setCourseName("Java2");
+
+    sut.updateStudentCoursesList(studentId, studentCourses);
+
+    List<StudentCourse> actual = sut.searchStudentDetail(studentId).getStudentCourses();
+    assertEquals(List.of("Python2", "Java2"),
+        actual.stream().map(StudentCourse::getCourseName).toList());
+    // 対象外の受講生コースは更新されない
+    assertEquals("Java", sut.searchStudentCourse(1).getCourseName());
+
+  }
+
+  @Test
+  void 取得後に他の更新が行われた受講生コースはコース名の一括更新の対象にならないこと() {
+    List<StudentCourse> studentCourses = sut.searchStudentDetail(1).getStudentCourses();
+    List<StudentCourse> others = sut.searchStudentDetail(1).getStudentCourses();
+    assertEquals(1, sut.updateStudentCoursesList(1, List.of(others.get(0))));
 
-    sut.updateStudentCourses(studentCourses.get(0));
+    studentCourses.get(0).setCourseName("更新されないJava");
+    studentCourses.get(1).setCourseName("Ruby2");
+    assertEquals(1, sut.updateStudentCoursesList(1, studentCourses));
 
-    List<StudentCourse> actual = sut.searchStudentCourses(studentId);
-    assertEquals("AWS2", actual.get(0).getCourseName());
+    List<StudentCourse> actual = sut.searchStudentDetail(1).getStudentCourses();
+    assertEquals(List.of("Java", "Ruby2"),
+        actual.stream().map(StudentCourse::getCourseName).toList());
+    assertEquals(List.of(1, 1), actual.stream().map(StudentCourse::getVersion).toList());
 
   }
 
+  @Test
+  void 他の受講生に紐づく受講生コースはコース名の一括更新の対象にならないこと() {
+    StudentCourse otherStudentCourse = sut.searchStudentCourse(3);
+    otherStudentCourse.setCourseName("Design2");
+
+    assertEquals(0, sut.updateStudentCoursesList(1, List.of(otherStudentCourse)));
+
+    StudentCourse actual = sut.searchStudentCourse(3);
+    assertEquals("Design", actual.getCourseName());
+    assertEquals(0, actual.getVersion());
+
+  }
+
+  @Test
+  void 指定した受講生コースIDのうち受講生に紐づくものを検索できること() {
+    List<Integer> actual = sut.searchStudentCourseIds(1, List.of(1, 2, 3, 999));
+    assertEquals(List.of(1, 2), actual.stream().sorted().toList());
+
+    assertEquals(List.of(8), sut.searchStudentCourseIds(5, List.of(1, 8)));
+  }
+
+  @Test
+  void 存在しない受講生IDを更新した場合は更新件数が0になること() {
+    Student student = createStudent();
+    student.setId(999);
+
+    assertEquals(0, sut.updateStudent(student));
+  }
+
+  @Test
+  void 取得後に他の更新が行われた受講生をバージョンを指定して更新した場合は更新件数が0になること() {
+    Student student = sut.searchStudent(1);
+    Student other = sut.searchStudent(1);
+    assertEquals(1, sut.updateStudent(other));
+
+    student.setFullname("更新されない太郎");
+    assertEquals(0, sut.updateStudent(student));
+
+    Student actual = sut.searchStudent(1);
+    assertEquals(other.getFullname(), actual.getFullname());
+    assertEquals(1, actual.getVersion());
+  }
+
+  @Test
+  void 取得後に他の更新が行われたコース申込状況をバージョンを指定して更新した場合は更新件数が0になること() {
+    CourseStatus courseStatus = sut.searchCourseStatus(1);
+    sut.updateCourseStatuses(List.of(1), 受講中);
+
+    courseStatus.setStatus(本申込);
+    assertEquals(0, sut.updateCourseStatus(courseStatus));
+
+    CourseStatus actual = sut.searchCourseStatus(1);
+    assertEquals(受講中, actual.getStatus());
+    assertEquals(1, actual.getVersion());
+  }
+
   @Test
   void コース申込状況の更新ができること() {
     int courseId = 1;
     CourseStatus courseStatus = sut.searchCourseStatus(courseId);
     courseStatus.setStatus(本申込);
 
-    sut.updateCourseStatus(courseStatus);
+    assertEquals(1, sut.updateCourseStatus(courseStatus));
 
     CourseStatus actual = sut.searchCourseStatus(courseId);
     assertEquals(本申込, actual.getStatus());
 
   }
 
+  @Test
+  void 指定した受講生コースIDのうち申込状況が存在するものを検索できること() {
+    List<Integer> actual = sut.searchCourseStatusCourseIds(List.of(2, 7, 999));
+    assertEquals(List.of(2, 7), actual.stream().sorted().toList());
+  }
+
+  @Test
+  void 複数のコース申込状況を一括で更新できること() {
+    int updatedCount = sut.updateCourseStatuses(List.of(1, 2, 999), 受講中);
+
+    assertEquals(2, updatedCount);
+    assertEquals(受講中, sut.searchCourseStatus(1).getStatus());
+    assertEquals(受講中, sut.searchCourseStatus(2).getStatus());
+    // 対象外のコース申込状況は更新されない
+    assertEquals(仮申込, sut.searchCourseStatus(5).getStatus());
+  }
+
 }
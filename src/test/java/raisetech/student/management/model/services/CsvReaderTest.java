@@ -0,0 +1,72 @@
+package raisetech.student.management.model.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import raisetech.student.management.model.services.CsvReader.MalformedCsvException;
+
+class CsvReaderTest {
+
+  @Test
+  void CSVの読み込み_カンマ区切りの項目がレコードごとに読み込まれ行番号が取得できること() throws Exception {
+    CsvReader sut = new CsvReader(new StringReader("a,b,c\r\n1,,3\n"));
+
+    assertEquals(List.of("a", "b", "c"), sut.readRecord());
+    assertEquals(1, sut.getRecordLineNumber());
+    assertEquals(List.of("1", "", "3"), sut.readRecord());
+    assertEquals(2, sut.getRecordLineNumber());
+    assertNull(sut.readRecord());
+  }
+
+  @Test
+  void CSVの読み込み_ダブルクォートで囲まれた項目のカンマと改行と2つ重ねたダブルクォートが値として読み込まれること()
+      throws Exception {
+    CsvReader sut = new CsvReader(new StringReader("\"a,b\",\"c\r\nd\",\"e\"\"f\"\r\nnext,row,end"));
+
+    assertEquals(List.of("a,b", "c\r\nd", "e\"f"), sut.readRecord());
+    assertEquals(1, sut.getRecordLineNumber());
+    assertEquals(List.of("next", "row", "end"), sut.readRecord());
+    assertEquals(3, sut.getRecordLineNumber());
+    assertNull(sut.readRecord());
+  }
+
+  @Test
+  void CSVの読み込み_先頭のBOMと空行が読み飛ばされること() throws Exception {
+    CsvReader sut = new CsvReader(new StringReader("\uFEFFa,b\r\n\r\n\n1,2\r\n"));
+
+    assertEquals(List.of("a", "b"), sut.readRecord());
+    assertEquals(List.of("1", "2"), sut.readRecord());
+    assertEquals(4, sut.getRecordLineNumber());
+    assertNull(sut.readRecord());
+  }
+
+  @Test
+  void CSVの読み込み_ダブルクォートが閉じられていない場合はレコードの開始行番号とともに例外がスローされること()
+      throws Exception {
+    CsvReader sut = new CsvReader(new StringReader("a,b\n1,\"2\n3"));
+    sut.readRecord();
+
+    MalformedCsvException actual = assertThrows(MalformedCsvException.class, sut::readRecord);
+    assertEquals(2, actual.getLineNumber());
+    assertEquals("ダブルクォートが閉じられていません。", actual.getMessage());
+  }
+
+  @Test
+  void CSVの読み込み_上限を超える項目の文字と項目の数は読み飛ばされ以降のレコードが読み込まれること() throws Exception {
+    String longField = "a".repeat(CsvReader.MAX_FIELD_LENGTH + 100);
+    String manyFields = ",".repeat(CsvReader.MAX_FIELDS + 100);
+    CsvReader sut = new CsvReader(new StringReader(
+        "\"" + longField + "\",b\n" + manyFields + "\nnext,row\n"));
+
+    assertEquals(List.of("a".repeat(CsvReader.MAX_FIELD_LENGTH), "b"), sut.readRecord());
+    assertEquals(CsvReader.MAX_FIELDS, sut.readRecord().size());
+    assertEquals(List.of("next", "row"), sut.readRecord());
+    assertEquals(3, sut.getRecordLineNumber());
+    assertNull(sut.readRecord());
+  }
+
+}
@@ -0,0 +1,82 @@
+package raisetech.student.management.model.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NgramIndexTest {
+
+  private final NgramIndex sut = new NgramIndex();
+
+  @BeforeEach
+  void before() {
+    sut.add(1, "やまだたろう");
+    sut.add(2, "さとうはなこ");
+    sut.add(3, "たなかたろう");
+    sut.add(5, "やまもとはなこ");
+  }
+
+  @Test
+  void 候補の取得_検索文字列の全バイグラムを含む受講生IDが昇順で返ってくること() {
+    assertArrayEquals(new int[]{1, 3}, sut.candidates("たろう"));
+    assertArrayEquals(new int[]{2, 5}, sut.candidates("はなこ"));
+    assertArrayEquals(new int[]{1, 5}, sut.candidates("やま"));
+  }
+
+  @Test
+  void 候補の取得_1文字の検索文字列はその文字を含む受講生IDが返ってくること() {
+    assertArrayEquals(new int[]{1, 3, 5}, sut.candidates("ま"));
+    assertArrayEquals(new int[]{2}, sut.candidates("さ"));
+  }
+
+  @Test
+  void 候補の取得_バイグラムはすべて含むが部分一致しない受講生IDも候補として返ってくること() {
+    // 「たろろう」は「たろう」を含まないが、「たろ」「ろう」の両方を含むため候補になる
+    sut.add(7, "たろろう");
+    assertArrayEquals(new int[]{1, 3, 7}, sut.candidates("たろう"));
+  }
+
+  @Test
+  void 候補の取得_索引にないN_gramを含む場合は空で検索文字列が空の場合はnullが返ってくること() {
+    assertArrayEquals(new int[0], sut.candidates("すずき"));
+    assertArrayEquals(new int[0], sut.candidates("ぬ"));
+    assertNull(sut.candidates(""));
+  }
+
+  @Test
+  void 追加_受講生IDが前後して追加されても昇順に保持されること() {
+    // 実行
+    sut.add(4, "たろうまる");
+
+    // 検証
+    assertArrayEquals(new int[]{1, 3, 4}, sut.candidates("たろう"));
+  }
+
+  @Test
+  void 削除_削除した値のN_gramから受講生IDが除かれ空になったN_gramは破棄されること() {
+    // 事前準備：受講生ID1のみが含むN-gramは「だ」「まだ」「だた」の3つ
+    int gramCount = sut.gramCount();
+    sut.add(9, "ぬぬ");
+
+    // 実行
+    sut.remove(1, "やまだたろう");
+    sut.remove(9, "ぬぬ");
+
+    // 検証
+    assertArrayEquals(new int[]{3}, sut.candidates("たろう"));
+    assertArrayEquals(new int[]{5}, sut.candidates("やま"));
+    assertArrayEquals(new int[0], sut.candidates("まだ"));
+    assertArrayEquals(new int[0], sut.candidates("ぬ"));
+    assertEquals(gramCount - 3, sut.gramCount());
+  }
+
+  @Test
+  void 積集合_2つの昇順の受講生IDの一覧の共通部分が返ってくること() {
+    assertArrayEquals(new int[]{3, 8},
+        NgramIndex.intersect(new int[]{1, 3, 8}, new int[]{2, 3, 5, 8, 13, 0, 0}, 5));
+  }
+
+}
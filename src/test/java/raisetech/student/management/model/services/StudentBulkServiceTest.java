@@ -0,0 +1,209 @@
+package raisetech.student.management.model.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import raisetech.student.management.model.domain.BulkRegistrationResult;
+import raisetech.student.management.model.domain.IntegratedDetail;
+import raisetech.student.management.model.domain.StudentDetail;
+import raisetech.student.management.model.exception.EmailAlreadyExistsException;
+import raisetech.student.management.model.exception.InvalidBulkRequestException;
+
+@ExtendWith(MockitoExtension.class)
+class StudentBulkServiceTest {
+
+  @Mock
+  private StudentService studentService;
+
+  private StudentBulkService sut;
+
+  private final AtomicInteger nextStudentId = new AtomicInteger(100);
+
+  @BeforeEach
+  void before() {
+    // チャンクの区切りを確認するため、チャンクサイズを2件とする
+    sut = new StudentBulkService(studentService, new ObjectMapper().findAndRegisterModules(),
+        Validation.buildDefaultValidatorFactory().getValidator(), 2);
+  }
+
+  /**
+   * テスト用に受講生の詳細情報のJSONを作成するメソッドです。
+   *
+   * @param mail メールアドレス
+   * @return 受講生の詳細情報のJSON
+   */
+  private static String studentJson(String mail) {
+    return """
+        {"student": {"fullname": "田中昭三", "furigana": "たなかしょうぞう", "mail": "%s", "gender": "男性"},
+         "studentCourses": [{"courseName": "Java"}]}""".formatted(mail).replace("\n", "");
+  }
+
+  private static InputStream body(String json) {
+    return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * 受講生の一括登録を模倣し、受講生IDを採番した統合情報を返すようにスタブを設定するメソッドです。
+   */
+  private void stubRegisterStudents() {
+    when(studentService.registerStudents(anyList())).thenAnswer(invocation -> {
+      List<StudentDetail> studentDetails = invocation.getArgument(0);
+      List<IntegratedDetail> integratedDetails = new ArrayList<>();
+      for (StudentDetail studentDetail : studentDetails) {
+        studentDetail.getStudent().setId(nextStudentId.getAndIncrement());
+        integratedDetails.add(new IntegratedDetail(studentDetail, new ArrayList<>()));
+      }
+      return integratedDetails;
+    });
+  }
+
+  @Test
+  void 受講生の一括新規登録_JSON配列をチャンクごとにメールアドレスの重複確認と登録を行い要素ごとの処理結果が返ってくること()
+      throws Exception {
+    // 事前準備
+    when(studentService.searchRegisteredMails(anyList())).thenReturn(new HashSet<>());
+    stubRegisterStudents();
+    String json = "[" + studentJson("a@example.com") + "," + studentJson("b@example.com") + ","
+        + studentJson("c@example.com") + "]";
+
+    // 実行
+    List<BulkRegistrationResult> actual = sut.registerStudents(body(json));
+
+    // 検証：3件を2件ずつのチャンクに分けて処理すること
+    verify(studentService, times(2)).searchRegisteredMails(anyList());
+    verify(studentService, times(2)).registerStudents(anyList());
+    assertEquals(List.of(0, 1, 2), actual.stream().map(BulkRegistrationResult::getIndex).toList());
+    assertTrue(actual.stream().allMatch(BulkRegistrationResult::isRegistered));
+    assertEquals(List.of(100, 101, 102),
+        actual.stream().map(BulkRegistrationResult::getStudentId).toList());
+  }
+
+  @Test
+  void 受講生の一括新規登録_NDJSONを1行ずつ読み込んで登録できること() throws Exception {
+    // 事前準備
+    when(studentService.searchRegisteredMails(anyList())).thenReturn(new HashSet<>());
+    stubRegisterStudents();
+    String ndjson = studentJson("a@example.com") + "\n" + studentJson("b@example.com") + "\n";
+
+    // 実行
+    List<BulkRegistrationResult> actual = sut.registerStudents(body(ndjson));
+
+    // 検証
+    verify(studentService, times(1)).registerStudents(anyList());
+    assertEquals(2, actual.size());
+    assertTrue(actual.stream().allMatch(BulkRegistrationResult::isRegistered));
+  }
+
+  @Test
+  void 受講生の一括新規登録_登録済みやリクエスト内で重複するメールアドレスと不正な要素は登録せずに理由が返ってくること()
+      throws Exception {
+    // 事前準備
+    when(studentService.searchRegisteredMails(anyList())).thenReturn(
+        new HashSet<>(Set.of("taken@example.com")));
+    stubRegisterStudents();
+    String json = "["
+        + studentJson("new@example.com") + ","
+        + studentJson("NEW@example.com") + ","
+        + "{\"studentCourses\": []},"
+        + studentJson("not-a-mail") + ","
+        + "{\"student\": {\"fullname\": \"a\", \"furigana\": \"a\", \"mail\": \"x@example.com\", \"gender\": \"不明\"}},"
+        + studentJson("taken@example.com")
+        + "]";
+
+    // 実行
+    List<BulkRegistrationResult> actual = sut.registerStudents(body(json));
+
+    // 検証
+    verify(studentService, times(1)).registerStudents(anyList());
+    assertEquals(List.of(0, 1, 2, 3, 4, 5),
+        actual.stream().map(BulkRegistrationResult::getIndex).toList());
+    assertEquals(List.of(true, false, false, false, false, false),
+        actual.stream().map(BulkRegistrationResult::isRegistered).toList());
+    assertEquals("メールアドレス(NEW@example.com)はすでに登録されているため使用できません。",
+        actual.get(1).getMessage());
+    assertEquals("受講生情報が指定されていません。", actual.get(2).getMessage());
+    assertEquals("バリデーションエラーです。", actual.get(3).getMessage());
+    assertEquals("student.mail", actual.get(3).getErrors().get(0).get("field"));
+    assertTrue(actual.get(4).getMessage().startsWith("genderの入力値は"));
+    assertEquals("メールアドレス(taken@example.com)はすでに登録されているため使用できません。",
+        actual.get(5).getMessage());
+  }
+
+  @Test
+  void 受講生の一括新規登録_同時登録による一意制約違反が発生した場合はチャンク内の要素がすべて失敗となること()
+      throws Exception {
+    // 事前準備
+    when(studentService.searchRegisteredMails(anyList())).thenReturn(new HashSet<>());
+    when(studentService.registerStudents(anyList())).thenThrow(
+        new EmailAlreadyExistsException("登録対象のメールアドレスが同時に登録されたため、登録を取り消しました。"));
+    String json = "[" + studentJson("a@example.com") + "," + studentJson("b@example.com") + "]";
+
+    // 実行
+    List<BulkRegistrationResult> actual = sut.registerStudents(body(json));
+
+    // 検証
+    assertEquals(2, actual.size());
+    assertTrue(actual.stream().noneMatch(BulkRegistrationResult::isRegistered));
+    assertEquals("登録対象のメールアドレスが同時に登録されたため、登録を取り消しました。",
+        actual.get(1).getMessage());
+  }
+
+  @Test
+  void 受講生の一括新規登録_途中でJSONの構文が壊れている場合はそれ以前の要素を登録して処理を中止すること()
+      throws Exception {
+    // 事前準備
+    when(studentService.searchRegisteredMails(anyList())).thenReturn(new HashSet<>());
+    stubRegisterStudents();
+    String json = "[" + studentJson("a@example.com") + ", {\"student\": ";
+
+    // 実行
+    List<BulkRegistrationResult> actual = sut.registerStudents(body(json));
+
+    // 検証
+    assertEquals(2, actual.size());
+    assertTrue(actual.get(0).isRegistered());
+    assertFalse(actual.get(1).isRegistered());
+    assertEquals(1, actual.get(1).getIndex());
+    assertEquals("JSONの構文が不正なため、以降の処理を中止しました。", actual.get(1).getMessage());
+  }
+
+  @Test
+  void 受講生の一括新規登録_空のJSON配列の場合は何も登録しないこと() throws Exception {
+    // 実行
+    List<BulkRegistrationResult> actual = sut.registerStudents(body("[]"));
+
+    // 検証
+    assertTrue(actual.isEmpty());
+    verify(studentService, never()).searchRegisteredMails(anyList());
+    verify(studentService, never()).registerStudents(anyList());
+  }
+
+  @Test
+  void 受講生の一括新規登録_JSON配列でもNDJSONでもないリクエストボディの場合は例外をスローすること() {
+    assertThrows(InvalidBulkRequestException.class, () -> sut.registerStudents(body("123")));
+    assertThrows(InvalidBulkRequestException.class, () -> sut.registerStudents(body("abc")));
+  }
+
+}
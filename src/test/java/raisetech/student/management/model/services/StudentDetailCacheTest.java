@@ -0,0 +1,139 @@
+package raisetech.student.management.model.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.model.data.Student;
+import raisetech.student.management.model.domain.CacheStatistics;
+import raisetech.student.management.model.domain.StudentDetail;
+
+class StudentDetailCacheTest {
+
+  private final StudentDetailCache sut = new StudentDetailCache(2, Duration.ofMinutes(10));
+
+  @AfterEach
+  void after() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private static StudentDetail createStudentDetail(int id) {
+    Student student = new Student();
+    student.setId(id);
+    return new StudentDetail(student, new ArrayList<>());
+  }
+
+  @Test
+  void 受講生詳細情報の取得_同じ受講生IDの読み込みが同時に発生した場合は1回の読み込みの結果が共有されること()
+      throws Exception {
+    // 事前準備
+    AtomicInteger loadCount = new AtomicInteger();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    StudentDetail studentDetail = createStudentDetail(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    // 実行：1件目の読み込みを止めている間に、残りのスレッドから同じ受講生IDを取得する
+    List<Future<StudentDetail>> results = new ArrayList<>();
+    try {
+      results.add(executor.submit(() -> sut.get(1, id -> {
+        loadCount.incrementAndGet();
+        loading.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return studentDetail;
+      })));
+      loading.await(5, TimeUnit.SECONDS);
+      for (int i = 0; i < 7; i++) {
+        results.add(executor.submit(() -> sut.get(1, id -> {
+          loadCount.incrementAndGet();
+          return createStudentDetail(id);
+        })));
+      }
+      release.countDown();
+
+      // 検証
+      for (Future<StudentDetail> result : results) {
+        assertSame(studentDetail, result.get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(1, loadCount.get());
+  }
+
+  @Test
+  void 受講生詳細情報の取得_件数の上限を超えた場合に破棄され統計情報に計上されること() {
+    // 実行
+    for (int id = 1; id <= 3; id++) {
+      sut.get(id, StudentDetailCacheTest::createStudentDetail);
+    }
+
+    // 検証
+    CacheStatistics actual = sut.stats();
+    assertEquals(2, actual.getSize());
+    assertEquals(3, actual.getMissCount());
+    assertEquals(1, actual.getEvictionCount());
+  }
+
+  @Test
+  void 受講生詳細情報の取得_存在しない受講生IDはキャッシュされないこと() {
+    // 実行
+    assertNull(sut.get(1, id -> null));
+
+    // 検証
+    assertEquals(0, sut.stats().getSize());
+  }
+
+  @Test
+  void キャッシュにある受講生詳細情報の取得_読み込みを行わず統計情報にも計上されないこと() {
+    // 事前準備
+    StudentDetail studentDetail = createStudentDetail(1);
+    sut.get(1, id -> studentDetail);
+
+    // 実行と検証
+    assertSame(studentDetail, sut.getIfPresent(1));
+    assertNull(sut.getIfPresent(2));
+    assertEquals(1, sut.stats().getSize());
+    assertEquals(0, sut.stats().getHitCount());
+    assertEquals(1, sut.stats().getMissCount());
+  }
+
+  @Test
+  void 受講生詳細情報の破棄_トランザクション内ではコミット後に破棄されること() {
+    // 事前準備
+    StudentDetail studentDetail = createStudentDetail(1);
+    sut.get(1, id -> studentDetail);
+    TransactionSynchronizationManager.initSynchronization();
+
+    // 実行
+    sut.evictAfterCommit(1);
+
+    // 検証：コミット前はキャッシュから返り、コミット後は再度読み込まれること
+    assertSame(studentDetail, sut.get(1, StudentDetailCacheTest::createStudentDetail));
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+    TransactionSynchronizationManager.clearSynchronization();
+    assertEquals(1, sut.get(1, StudentDetailCacheTest::createStudentDetail).getStudent().getId());
+    assertEquals(2, sut.stats().getMissCount());
+  }
+
+}
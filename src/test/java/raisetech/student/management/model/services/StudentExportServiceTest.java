@@ -0,0 +1,222 @@
+package raisetech.student.management.model.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static raisetech.student.management.model.data.Status.仮申込;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import raisetech.student.management.model.data.Status;
+import raisetech.student.management.model.data.Student;
+import raisetech.student.management.model.data.StudentCourse;
+import raisetech.student.management.model.domain.CourseExportRow;
+import raisetech.student.management.model.domain.StudentDetail;
+import raisetech.student.management.model.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StudentExportServiceTest {
+
+  @Mock
+  private StudentRepository repository;
+
+  @Mock
+  private Cursor<StudentDetail> cursor;
+
+  @Mock
+  private Cursor<CourseExportRow> courseCursor;
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+  private StudentExportService sut;
+
+  @BeforeEach
+  void before() {
+    sut = new StudentExportService(repository, objectMapper);
+  }
+
+  private static StudentDetail createStudentDetail(int id, String... courseNames) {
+    Student student = new Student();
+    student.setId(id);
+    student.setFullname("受講生" + id);
+
+    List<StudentCourse> studentCourses = new ArrayList<>();
+    for (String courseName : courseNames) {
+      StudentCourse studentCourse = new StudentCourse();
+      studentCourse.setStudentId(id);
+      studentCourse.setCourseName(courseName);
+      studentCourses.add(studentCourse);
+    }
+    return new StudentDetail(student, studentCourses);
+  }
+
+  @Test
+  void 受講生詳細情報のエクスポート_Cursorから読み込んだ受講生詳細情報が1行に1件ずつ出力されCursorがクローズされること()
+      throws Exception {
+    // 事前準備
+    when(repository.exportStudentDetails()).thenReturn(cursor);
+    when(cursor.iterator()).thenReturn(List.of(
+        createStudentDetail(1, "Java", "Ruby"),
+        createStudentDetail(2)).iterator());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // 実行
+    sut.exportStudents(out);
+
+    // 検証
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+    assertEquals(3, lines.length);
+    assertEquals("", lines[2]);
+
+    JsonNode first = objectMapper.readTree(lines[0]);
+    assertEquals(1, first.get("student").get("id").asInt());
+    assertEquals("Ruby", first.get("studentCourses").get(1).get("courseName").asText());
+
+    JsonNode second = objectMapper.readTree(lines[1]);
+    assertEquals(2, second.get("student").get("id").asInt());
+    assertEquals(0, second.get("studentCourses").size());
+
+    verify(cursor, times(1)).close();
+  }
+
+  @Test
+  void 受講生詳細情報のエクスポート_受講生が存在しない場合は何も出力されないこと() throws Exception {
+    // 事前準備
+    when(repository.exportStudentDetails()).thenReturn(cursor);
+    when(cursor.iterator()).thenReturn(new ArrayList<StudentDetail>().iterator());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // 実行
+    sut.exportStudents(out);
+
+    // 検証
+    assertEquals(0, out.size());
+    verify(cursor, times(1)).close();
+  }
+
+  private static CourseExportRow createCourseExportRow(int id, String courseName, Status status) {
+    CourseExportRow row = new CourseExportRow();
+    row.setId(id);
+    row.setStudentId(1);
+    row.setCourseName(courseName);
+    row.setStartDate(LocalDateTime.of(2024, 4, 1, 9, 0, 0));
+    row.setEndDate(LocalDateTime.of(2024, 7, 31, 17, 30, 0));
+    row.setStatus(status);
+    return row;
+  }
+
+  @Test
+  void 受講生コースのCSVエクスポート_見出し行に続いて1行ずつCRLF区切りで出力されCursorがクローズされること()
+      throws Exception {
+    // 事前準備
+    when(courseCursor.iterator()).thenReturn(List.of(
+        createCourseExportRow(1, "Java", 仮申込),
+        createCourseExportRow(2, "AWS", null)).iterator());
+    when(repository.exportCourses()).thenReturn(courseCursor);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // 実行
+    sut.exportCoursesCsv(out, false);
+
+    // 検証
+    assertEquals("""
+        受講生コースID,受講生ID,コース名,受講開始日時,受講終了日時,申込状況\r
+        1,1,Java,2024-04-01 09:00:00,2024-07-31 17:30:00,仮申込\r
+        2,1,AWS,2024-04-01 09:00:00,2024-07-31 17:30:00,\r
+        """, out.toString(StandardCharsets.UTF_8));
+    verify(courseCursor, times(1)).close();
+  }
+
+  @Test
+  void 受講生コースのCSVエクスポート_BOMを指定した場合は先頭にBOMが出力されること() throws Exception {
+    // 事前準備
+    when(courseCursor.iterator()).thenReturn(new ArrayList<CourseExportRow>().iterator());
+    when(repository.exportCourses()).thenReturn(courseCursor);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // 実行
+    sut.exportCoursesCsv(out, true);
+
+    // 検証
+    byte[] actual = out.toByteArray();
+    assertArrayEquals(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF},
+        Arrays.copyOf(actual, 3));
+    assertEquals(StudentExportService.COURSE_CSV_HEADER + "\r\n",
+        new String(actual, 3, actual.length - 3, StandardCharsets.UTF_8));
+  }
+
+  @ParameterizedTest
+  @CsvSource(delimiter = '|', value = {
+      "Java|Java",
+      "Java,Ruby|\"Java,Ruby\"",
+      "Java \"入門\"|\"Java \"\"入門\"\"\""
+  })
+  void CSVの項目_カンマやダブルクォートを含む場合はダブルクォートで囲まれエスケープされること(String value,
+      String expected) {
+    StringBuilder line = new StringBuilder();
+    StudentExportService.appendCsvField(line, value);
+    assertEquals(expected, line.toString());
+  }
+
+  @Test
+  void CSVの項目_数式として解釈される文字で始まる場合は先頭にアポストロフィが付きダブルクォートで囲まれること() {
+    // CsvSourceではアポストロフィが引用符として扱われるため、値ごとに検証する
+    Map<String, String> expected = Map.of(
+        "=HYPERLINK(\"http://example.com\")", "\"'=HYPERLINK(\"\"http://example.com\"\")\"",
+        "+1", "\"'+1\"",
+        "-1+1", "\"'-1+1\"",
+        "@SUM(A1)", "\"'@SUM(A1)\"",
+        "\t=1", "\"'\t=1\"",
+        "Java=Ruby", "Java=Ruby");
+
+    expected.forEach((value, csv) -> {
+      StringBuilder line = new StringBuilder();
+      StudentExportService.appendCsvField(line, value);
+      assertEquals(csv, line.toString(), value);
+    });
+  }
+
+  @Test
+  void 受講生コースのCSVエクスポート_数式として解釈されるコース名は数式として実行されない形式で出力されること() throws Exception {
+    // 事前準備
+    when(courseCursor.iterator()).thenReturn(List.of(
+        createCourseExportRow(1, "=1+2", 仮申込)).iterator());
+    when(repository.exportCourses()).thenReturn(courseCursor);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // 実行
+    sut.exportCoursesCsv(out, false);
+
+    // 検証
+    assertEquals(StudentExportService.COURSE_CSV_HEADER + "\r\n"
+            + "1,1,\"'=1+2\",2024-04-01 09:00:00,2024-07-31 17:30:00,仮申込\r\n",
+        out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void CSVの項目_改行を含む場合はダブルクォートで囲まれnullの場合は空欄になること() {
+    StringBuilder line = new StringBuilder();
+    StudentExportService.appendCsvField(line, "Java\r\nRuby");
+    line.append(',');
+    StudentExportService.appendCsvField(line, null);
+    assertEquals("\"Java\r\nRuby\",", line.toString());
+  }
+
+}
@@ -0,0 +1,74 @@
+package raisetech.student.management.model.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import raisetech.student.management.model.exception.ResourceNotFoundException;
+import raisetech.student.management.model.services.StudentImportRejectFiles.RejectFile;
+
+class StudentImportRejectFilesTest {
+
+  @TempDir
+  private Path rejectDir;
+
+  private StudentImportRejectFiles sut;
+
+  @BeforeEach
+  void before() {
+    sut = new StudentImportRejectFiles(rejectDir.toString(), Duration.ofHours(1));
+  }
+
+  @Test
+  void 作成_見出し行と取り込めなかった行がCSVとして書き出されIDから取得できること() throws Exception {
+    // 実行
+    String id;
+    try (RejectFile rejectFile = sut.create(List.of("fullname", "mail"))) {
+      id = rejectFile.getId();
+      rejectFile.write(2, "fullname: 空白は許可されていません", List.of("", "noname@example.com"));
+      rejectFile.write(3, "項目の数が見出し行と一致しません", List.of("山田, 太郎"));
+    }
+
+    // 検証
+    assertEquals(List.of(
+            "\uFEFFlineNumber,reason,fullname,mail",
+            "2,fullname: 空白は許可されていません,,noname@example.com",
+            "3,項目の数が見出し行と一致しません,\"山田, 太郎\""),
+        Files.readAllLines(sut.resolve(id)));
+  }
+
+  @Test
+  void 作成_保持期間を過ぎたリジェクトファイルが削除されること() throws Exception {
+    // 事前準備
+    Path expired = rejectDir.resolve("0b7e8a52-3f0c-4c55-9a53-1d6f3c1e2a10.csv");
+    Path retained = rejectDir.resolve("5f0a9c0e-7d64-4f7e-8a1b-2b3c4d5e6f70.csv");
+    Files.writeString(expired, "lineNumber,reason\r\n");
+    Files.writeString(retained, "lineNumber,reason\r\n");
+    Files.setLastModifiedTime(expired, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+    // 実行
+    sut.create(List.of("fullname")).close();
+
+    // 検証
+    assertFalse(Files.exists(expired));
+    assertTrue(Files.exists(retained));
+  }
+
+  @Test
+  void 取得_存在しないIDまたはUUIDの形式でないIDを指定した場合は例外がスローされること() {
+    assertThrows(ResourceNotFoundException.class,
+        () -> sut.resolve("0b7e8a52-3f0c-4c55-9a53-1d6f3c1e2a10"));
+    assertThrows(ResourceNotFoundException.class, () -> sut.resolve("../application"));
+  }
+
+}
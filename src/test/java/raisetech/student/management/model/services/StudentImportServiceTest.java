@@ -0,0 +1,349 @@
+package raisetech.student.management.model.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static raisetech.student.management.model.data.Status.仮申込;
+import static raisetech.student.management.model.data.Status.受講中;
+
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+import raisetech.student.management.model.converter.CourseConverter;
+import raisetech.student.management.model.data.CourseStatus;
+import raisetech.student.management.model.data.Student;
+import raisetech.student.management.model.data.StudentCourse;
+import raisetech.student.management.model.domain.StudentImportRejectedRow;
+import raisetech.student.management.model.domain.StudentImportResult;
+import raisetech.student.management.model.exception.InvalidBulkRequestException;
+import raisetech.student.management.model.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StudentImportServiceTest {
+
+  private static final String HEADER = "fullname,furigana,mail,age,courseName,startDate,endDate,status\n";
+
+  @Mock
+  private StudentRepository repository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Captor
+  private ArgumentCaptor<List<Student>> students;
+
+  @Captor
+  private ArgumentCaptor<List<StudentCourse>> studentCourses;
+
+  @Captor
+  private ArgumentCaptor<List<CourseStatus>> courseStatuses;
+
+  @TempDir
+  private Path rejectDir;
+
+  private StudentImportService sut;
+
+  private final AtomicInteger nextId = new AtomicInteger(100);
+
+  //バリデーションエラーのメッセージを日本語で検証するため、ロケールを設定する。
+  @BeforeAll
+  static void setUpLocale() {
+    Locale.setDefault(new Locale("ja", "JP"));
+  }
+
+  @BeforeEach
+  void before() {
+    // チャンクとコミット間隔の区切りを確認するため、チャンクサイズを2人、コミット間隔を3人とする
+    // 登録はStudentServiceを経由するため、Mock化したrepositoryを使用するStudentServiceを組み合わせる
+    StudentService studentService = new StudentService(repository, new CourseConverter(),
+        new StudentDetailCache(100, Duration.ofMinutes(10)),
+        new StudentSearchIndex(StudentSearchIndex.MODE_DATABASE), new StudentSuggestIndex(),
+        new TableChangeCounter());
+    sut = new StudentImportService(studentService,
+        new StudentImportRejectFiles(rejectDir.toString(), Duration.ofHours(1)),
+        Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, 2, 3, 10);
+  }
+
+  private static InputStream csv(String csv) {
+    return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * 受講生と受講生コースの一括登録を模倣し、IDを採番するようにスタブを設定するメソッドです。
+   */
+  private void stubRegisterStudents() {
+    doAnswer(invocation -> {
+      List<Student> students = invocation.getArgument(0);
+      students.forEach(student -> student.setId(nextId.getAndIncrement()));
+      return null;
+    }).when(repository).registerStudentsList(anyList());
+  }
+
+  private void stubRegisterStudentCourses() {
+    doAnswer(invocation -> {
+      List<StudentCourse> studentCourses = invocation.getArgument(0);
+      studentCourses.forEach(studentCourse -> studentCourse.setId(nextId.getAndIncrement()));
+      return null;
+    }).when(repository).registerStudentCoursesList(anyList());
+  }
+
+  @Test
+  void CSV取り込み_連続する同じメールアドレスの行が1人の受講生の複数のコースとして登録されること() throws Exception {
+    // 事前準備
+    when(repository.searchRegisteredMails(anyList())).thenReturn(List.of());
+    stubRegisterStudents();
+    stubRegisterStudentCourses();
+
+    // 実行
+    StudentImportResult actual = sut.importStudents(csv(HEADER
+        + "田中昭三,たなかしょうぞう,shozo@example.com,30,Java,2024-04-01 09:00:00,2024-07-31,\n"
+        + "田中昭三,たなかしょうぞう,SHOZO@example.com,30,AWS,,,受講中\n"
+        + "山田花子,やまだはなこ,hanako@example.com,,,,,\n"));
+
+    // 検証
+    assertEquals(3, actual.getTotalRows());
+    assertEquals(2, actual.getImportedStudents());
+    assertEquals(2, actual.getImportedCourses());
+    assertEquals(0, actual.getRejectedRows());
+    assertTrue(actual.getRejects().isEmpty());
+    assertNull(actual.getRejectFileId());
+
+    verify(repository, times(1)).registerStudentsList(students.capture());
+    assertEquals(List.of("shozo@example.com", "hanako@example.com"),
+        students.getValue().stream().map(Student::getMail).toList());
+    assertEquals(30, students.getValue().get(0).getAge());
+
+    verify(repository, times(1)).registerStudentCoursesList(studentCourses.capture());
+    StudentCourse java = studentCourses.getValue().get(0);
+    assertEquals(100, java.getStudentId());
+    assertEquals(LocalDateTime.of(2024, 4, 1, 9, 0, 0), java.getStartDate());
+    assertEquals(LocalDateTime.of(2024, 7, 31, 0, 0, 0), java.getEndDate());
+    assertEquals("AWS", studentCourses.getValue().get(1).getCourseName());
+
+    verify(repository, times(1)).registerCourseStatusList(courseStatuses.capture());
+    assertEquals(List.of(仮申込, 受講中),
+        courseStatuses.getValue().stream().map(CourseStatus::getStatus).toList());
+    assertEquals(List.of(102, 103),
+        courseStatuses.getValue().stream().map(CourseStatus::getCourseId).toList());
+  }
+
+  @Test
+  void CSV取り込み_チャンクごとに複数行INSERTされコミット間隔ごとにトランザクションが区切られること() throws Exception {
+    // 事前準備
+    when(repository.searchRegisteredMails(anyList())).thenReturn(List.of());
+    stubRegisterStudents();
+    StringBuilder body = new StringBuilder(HEADER);
+    for (int i = 1; i <= 5; i++) {
+      body.append("受講生").append(i).append(",じゅこうせい,student").append(i)
+          .append("@example.com,,,,,\n");
+    }
+
+    // 実行
+    StudentImportResult actual = sut.importStudents(csv(body.toString()));
+
+    // 検証：コミット間隔3人のうち2人・1人、残りの2人の順に登録されること
+    assertEquals(5, actual.getImportedStudents());
+    verify(repository, times(3)).registerStudentsList(students.capture());
+    assertEquals(List.of(2, 1, 2), students.getAllValues().stream().map(List::size).toList());
+    verify(transactionManager, times(2)).getTransaction(any());
+    verify(transactionManager, times(2)).commit(any());
+    verify(repository, never()).registerStudentCoursesList(anyList());
+  }
+
+  @Test
+  void CSV取り込み_誤りのある行と登録済みのメールアドレスの行が行番号と理由とともに処理結果に含まれること()
+      throws Exception {
+    // 事前準備
+    when(repository.searchRegisteredMails(anyList())).thenReturn(List.of("taro@example.com"));
+    stubRegisterStudents();
+
+    // 実行
+    StudentImportResult actual = sut.importStudents(csv(HEADER
+        + ",なし,noname@example.com,,,,,\n"
+        + "名無し,ななし,noname@example.com,,Java,,,\n"
+        + "年齢不正,ねんれいふせい,age@example.com,二十,,,,\n"
+        + "山田太郎,やまだたろう,taro@example.com,,,,,\n"
+        + "正常一郎,せいじょういちろう,ok@example.com,,,,,\n"
+        + "列不足,れつぶそく\n"));
+
+    // 検証
+    assertEquals(6, actual.getTotalRows());
+    assertEquals(1, actual.getImportedStudents());
+    assertEquals(5, actual.getRejectedRows());
+
+    List<StudentImportRejectedRow> rejects = actual.getRejects();
+    assertEquals(List.of(2, 3, 4, 7, 5),
+        rejects.stream().map(StudentImportRejectedRow::getLineNumber).toList());
+    assertEquals("fullname: 空白は許可されていません", rejects.get(0).getReason());
+    assertEquals(List.of("", "なし", "noname@example.com", "", "", "", "", ""),
+        rejects.get(0).getFields());
+    assertEquals("同じ受講生の先頭の行を取り込めなかったため、取り込みませんでした。", rejects.get(1).getReason());
+    assertEquals("age: 整数で指定してください。入力値：二十", rejects.get(2).getReason());
+    assertEquals("列数が見出し行と一致しません。（見出し行：8列、この行：2列）", rejects.get(3).getReason());
+    assertEquals(List.of("列不足", "れつぶそく"), rejects.get(3).getFields());
+    assertEquals("メールアドレス(taro@example.com)はすでに登録されているため使用できません。",
+        rejects.get(4).getReason());
+  }
+
+  @Test
+  void CSV取り込み_一意制約違反が発生した場合はコミット単位の受講生がリジェクトされ以降のコミット単位は登録されること()
+      throws Exception {
+    // 事前準備
+    when(repository.searchRegisteredMails(anyList())).thenReturn(List.of());
+    AtomicInteger calls = new AtomicInteger();
+    doAnswer(invocation -> {
+      if (calls.getAndIncrement() == 0) {
+        throw new DuplicateKeyException("Duplicate entry");
+      }
+      List<Student> students = invocation.getArgument(0);
+      students.forEach(student -> student.setId(nextId.getAndIncrement()));
+      return null;
+    }).when(repository).registerStudentsList(anyList());
+    StringBuilder body = new StringBuilder(HEADER);
+    for (int i = 1; i <= 4; i++) {
+      body.append("受講生").append(i).append(",じゅこうせい,student").append(i)
+          .append("@example.com,,,,,\n");
+    }
+
+    // 実行
+    StudentImportResult actual = sut.importStudents(csv(body.toString()));
+
+    // 検証
+    assertEquals(1, actual.getImportedStudents());
+    assertEquals(3, actual.getRejectedRows());
+    verify(transactionManager, times(1)).rollback(any());
+    List<StudentImportRejectedRow> rejects = actual.getRejects();
+    assertEquals(List.of(2, 3, 4),
+        rejects.stream().map(StudentImportRejectedRow::getLineNumber).toList());
+    assertEquals("同じメールアドレスの受講生が同時に登録されたため、コミット単位（3人）の登録を取り消しました。",
+        rejects.get(0).getReason());
+  }
+
+  @Test
+  void CSV取り込み_途中でCSVの形式が壊れている場合はそれ以前の行を登録して以降の処理を中止すること() throws Exception {
+    // 事前準備
+    when(repository.searchRegisteredMails(anyList())).thenReturn(List.of());
+    stubRegisterStudents();
+
+    // 実行
+    StudentImportResult actual = sut.importStudents(csv(HEADER
+        + "田中昭三,たなかしょうぞう,shozo@example.com,,,,,\n"
+        + "\"壊れた行,たなか,broken@example.com,,,,,\n"
+        + "山田花子,やまだはなこ,hanako@example.com,,,,,\n"));
+
+    // 検証
+    assertEquals(1, actual.getImportedStudents());
+    assertEquals(1, actual.getRejectedRows());
+    assertEquals(3, actual.getRejects().get(0).getLineNumber());
+    assertEquals("ダブルクォートが閉じられていません。以降の行は取り込みませんでした。",
+        actual.getRejects().get(0).getReason());
+  }
+
+  @Test
+  void CSV取り込み_取り込めなかった行は上限件数まで処理結果に含まれすべての行がリジェクトファイルに書き出されること()
+      throws Exception {
+    // 事前準備：上限件数（10件）を超える12行の誤りのある行
+    StringBuilder body = new StringBuilder(HEADER);
+    for (int i = 1; i <= 12; i++) {
+      body.append(",なし,noname").append(i).append("@example.com,,,,,\n");
+    }
+
+    // 実行
+    StudentImportResult actual = sut.importStudents(csv(body.toString()));
+
+    // 検証
+    assertEquals(12, actual.getRejectedRows());
+    assertEquals(10, actual.getRejects().size());
+    assertEquals(11, actual.getRejects().get(9).getLineNumber());
+    verify(repository, never()).registerStudentsList(anyList());
+
+    List<String> lines = Files.readAllLines(
+        new StudentImportRejectFiles(rejectDir.toString(), Duration.ofHours(1))
+            .resolve(actual.getRejectFileId()));
+    assertEquals(13, lines.size());
+    assertEquals("\uFEFFlineNumber,reason," + HEADER.strip(), lines.get(0));
+    assertEquals("13,fullname: 空白は許可されていません,,なし,noname12@example.com,,,,,", lines.get(12));
+  }
+
+  @Test
+  void CSV取り込み_列の長さを超える値の行は理由とともにリジェクトされ以降の行は登録されること() throws Exception {
+    // 事前準備
+    stubRegisterStudents();
+
+    // 実行
+    StudentImportResult actual = sut.importStudents(csv(HEADER
+        + "a".repeat(101) + ",ながい,long@example.com,,,,,\n"
+        + "正常一郎,せいじょういちろう,ok@example.com,,,,,\n"));
+
+    // 検証
+    assertEquals(1, actual.getImportedStudents());
+    assertEquals(1, actual.getRejectedRows());
+    assertEquals(2, actual.getRejects().get(0).getLineNumber());
+    assertEquals("fullname: 0 から 100 の間のサイズにしてください",
+        actual.getRejects().get(0).getReason());
+    verify(repository, times(1)).registerStudentsList(students.capture());
+    assertEquals(List.of("ok@example.com"),
+        students.getValue().stream().map(Student::getMail).toList());
+  }
+
+  @Test
+  void CSV取り込み_見出し行に使用できない列名がある場合は例外がスローされ登録されないこと() {
+    InvalidBulkRequestException actual = assertThrows(InvalidBulkRequestException.class,
+        () -> sut.importStudents(csv("fullname,furigana,mail,email\n")));
+
+    assertEquals("CSVの見出し行に使用できない列名があります：email", actual.getMessage());
+    verify(repository, never()).registerStudentsList(anyList());
+  }
+
+  @Test
+  void CSV取り込み_見出し行に必須の列がない場合は例外がスローされること() {
+    InvalidBulkRequestException actual = assertThrows(InvalidBulkRequestException.class,
+        () -> sut.importStudents(csv("fullname,furigana\n")));
+
+    assertEquals("CSVの見出し行に必須の列がありません：mail", actual.getMessage());
+  }
+
+  @Test
+  void CSV取り込み_スループットが処理時間と行数から算出されること() throws Exception {
+    // 事前準備
+    when(repository.searchRegisteredMails(anyList())).thenReturn(new ArrayList<>());
+    stubRegisterStudents();
+
+    // 実行
+    StudentImportResult actual = sut.importStudents(csv(HEADER
+        + "田中昭三,たなかしょうぞう,shozo@example.com,,,,,\n"));
+
+    // 検証
+    assertTrue(actual.getRowsPerSecond() > 0);
+    assertTrue(actual.getElapsedMillis() >= 0);
+  }
+
+}
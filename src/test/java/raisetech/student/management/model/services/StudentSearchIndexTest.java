@@ -0,0 +1,486 @@
+package raisetech.student.management.model.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.model.data.Gender;
+import raisetech.student.management.model.data.Student;
+import raisetech.student.management.model.data.StudentCourse;
+import raisetech.student.management.model.data.StudentSearchCriteria;
+import raisetech.student.management.model.domain.StudentDetail;
+
+class StudentSearchIndexTest {
+
+  private final StudentSearchIndex sut = new StudentSearchIndex(StudentSearchIndex.MODE_MEMORY);
+
+  @BeforeEach
+  void before() throws IOException {
+    sut.load(List.of(
+        createStudentDetail(new Student(1, "山田太郎", "やまだたろう", "Taro", "taro@example.com",
+                "東京都", 25, Gender.男性, null, false, 0),
+            new StudentCourse(11, 1, "Javaコース", LocalDateTime.of(2024, 4, 1, 9, 30, 15),
+                LocalDateTime.of(2024, 9, 30, 18, 0, 0), 0),
+            new StudentCourse(12, 1, "AWSコース", LocalDateTime.of(2024, 10, 1, 0, 0, 0),
+                null, 0)),
+        createStudentDetail(new Student(2, "佐藤花子", "さとうはなこ", null, "Hanako@Example.com",
+                "大阪府", 31, Gender.女性, "備考", false, 0),
+            new StudentCourse(21, 2, "Webデザインコース", LocalDateTime.of(2023, 4, 1, 0, 0, 0),
+                LocalDateTime.of(2023, 9, 30, 0, 0, 0), 0)),
+        createStudentDetail(new Student(3, "鈴木一郎", "すずきいちろう", "Ichi", "ichiro@example.com",
+            null, null, null, null, true, 0)),
+        createStudentDetail(new Student(5, "田中次郎", "たなかじろう", null, "jiro@example.com",
+                "東京都", 40, Gender.その他, null, false, 0),
+            new StudentCourse(51, 5, "Javaコース", LocalDateTime.of(2024, 4, 1, 0, 0, 0),
+                LocalDateTime.of(2024, 9, 30, 0, 0, 0), 0)))::forEach);
+  }
+
+  @AfterEach
+  void after() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private static StudentDetail createStudentDetail(Student student,
+      StudentCourse... studentCourses) {
+    return new StudentDetail(student, new ArrayList<>(List.of(studentCourses)));
+  }
+
+  private static StudentSearchCriteria criteria(Consumer<StudentSearchCriteria> setter) {
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    setter.accept(criteria);
+    return criteria;
+  }
+
+  private static List<Integer> ids(List<StudentDetail> studentDetails) {
+    return studentDetails.stream().map(studentDetail -> studentDetail.getStudent().getId())
+        .toList();
+  }
+
+  @Test
+  void 検索_条件を指定しない場合は全受講生が受講生ID順に受講生コースID順のコースとともに返ってくること() {
+    // 実行
+    List<StudentDetail> actual = sut.search(new StudentSearchCriteria(), null, null);
+
+    // 検証
+    assertEquals(List.of(1, 2, 3, 5), ids(actual));
+
+    Student student = actual.get(0).getStudent();
+    assertEquals("山田太郎", student.getFullname());
+    assertEquals("やまだたろう", student.getFurigana());
+    assertEquals("Taro", student.getNickname());
+    assertEquals("taro@example.com", student.getMail());
+    assertEquals("東京都", student.getAddress());
+    assertEquals(25, student.getAge());
+    assertEquals(Gender.男性, student.getGender());
+    assertNull(student.getRemark());
+    assertFalse(student.isDeleted());
+
+    List<StudentCourse> studentCourses = actual.get(0).getStudentCourses();
+    assertEquals(2, studentCourses.size());
+    assertEquals(11, studentCourses.get(0).getId());
+    assertEquals(1, studentCourses.get(0).getStudentId());
+    assertEquals("Javaコース", studentCourses.get(0).getCourseName());
+    assertEquals(LocalDateTime.of(2024, 4, 1, 9, 30, 15), studentCourses.get(0).getStartDate());
+    assertEquals(LocalDateTime.of(2024, 9, 30, 18, 0, 0), studentCourses.get(0).getEndDate());
+    assertEquals(12, studentCourses.get(1).getId());
+    assertNull(studentCourses.get(1).getEndDate());
+
+    Student nullColumns = actual.get(2).getStudent();
+    assertNull(nullColumns.getAge());
+    assertNull(nullColumns.getGender());
+    assertTrue(nullColumns.isDeleted());
+    assertTrue(actual.get(2).getStudentCourses().isEmpty());
+  }
+
+  static Stream<Arguments> criteriaCases() {
+    return Stream.of(
+        Arguments.of("氏名の部分一致",
+            criteria(c -> c.setFullname("田")), List.of(1, 5)),
+        Arguments.of("ふりがなの部分一致",
+            criteria(c -> c.setFurigana("はな")), List.of(2)),
+        Arguments.of("ふりがなの部分一致（ひらがな・カタカナを区別しない）",
+            criteria(c -> c.setFurigana("ハナ")), List.of(2)),
+        Arguments.of("ニックネームの部分一致（大文字・小文字を区別しない）",
+            criteria(c -> c.setNickname("ICHI")), List.of(3)),
+        Arguments.of("メールアドレスの部分一致（大文字・小文字を区別しない）",
+            criteria(c -> c.setMail("hanako@example")), List.of(2)),
+        Arguments.of("メールアドレスの部分一致（全角・半角を区別しない）",
+            criteria(c -> c.setMail("ＨＡＮＡＫＯ＠example")), List.of(2)),
+        Arguments.of("住所の部分一致（住所がない受講生は合致しない）",
+            criteria(c -> c.setAddress("都")), List.of(1, 5)),
+        Arguments.of("年齢の範囲（年齢がない受講生は合致しない）",
+            criteria(c -> {
+              c.setMinAge(25);
+              c.setMaxAge(31);
+            }), List.of(1, 2)),
+        Arguments.of("性別",
+            criteria(c -> c.setGender(Gender.その他)), List.of(5)),
+        Arguments.of("削除フラグ",
+            criteria(c -> c.setDeleted(true)), List.of(3)),
+        Arguments.of("コース名の部分一致",
+            criteria(c -> c.setCourseName("java")), List.of(1, 5)),
+        Arguments.of("受講開始日の範囲（終点の日を含む）",
+            criteria(c -> {
+              c.setStartDateFrom(LocalDate.of(2024, 4, 1));
+              c.setStartDateTo(LocalDate.of(2024, 4, 1));
+            }), List.of(1, 5)),
+        Arguments.of("受講終了日の範囲（受講終了日がないコースは合致しない）",
+            criteria(c -> c.setEndDateFrom(LocalDate.of(2024, 10, 1))), List.of()),
+        Arguments.of("コース名と受講開始日を別々のコースが満たす受講生も合致",
+            criteria(c -> {
+              c.setCourseName("AWS");
+              c.setStartDateTo(LocalDate.of(2024, 9, 30));
+            }), List.of(1)),
+        Arguments.of("コースの条件のいずれかをどのコースも満たさない受講生は合致しない",
+            criteria(c -> {
+              c.setCourseName("Java");
+              c.setStartDateFrom(LocalDate.of(2024, 10, 1));
+            }), List.of(1)),
+        Arguments.of("受講生の条件とコースの条件の組み合わせ",
+            criteria(c -> {
+              c.setAddress("東京");
+              c.setCourseName("Java");
+              c.setMinAge(30);
+            }), List.of(5))
+    );
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("criteriaCases")
+  void 検索_条件に合致する受講生のみが返ってくること(String description,
+      StudentSearchCriteria criteria, List<Integer> expectedIds) {
+    assertEquals(expectedIds, ids(sut.search(criteria, null, null)));
+  }
+
+  @Test
+  void 検索_合致した受講生は合致しないコースも含めて全コースが返ってくること() {
+    // 実行
+    List<StudentDetail> actual = sut.search(criteria(c -> c.setCourseName("AWS")), null, null);
+
+    // 検証
+    assertEquals(List.of(1), ids(actual));
+    assertEquals(2, actual.get(0).getStudentCourses().size());
+  }
+
+  @Test
+  void 検索_前ページの最後の受講生IDより後の受講生が上限件数まで返ってくること() {
+    assertEquals(List.of(1, 2), ids(sut.search(new StudentSearchCriteria(), null, 2)));
+    assertEquals(List.of(3, 5), ids(sut.search(new StudentSearchCriteria(), 2, 2)));
+    assertEquals(List.of(5), ids(sut.search(new StudentSearchCriteria(), 4, 2)));
+    assertEquals(List.of(), ids(sut.search(new StudentSearchCriteria(), 5, 2)));
+  }
+
+  @Test
+  void 検索_文字列の条件で絞り込んだ候補も前ページの最後の受講生IDより後から返ってくること() {
+    assertEquals(List.of(5), ids(sut.search(criteria(c -> c.setFullname("田")), 1, 10)));
+    assertEquals(List.of(1), ids(sut.search(criteria(c -> c.setFullname("田")), null, 1)));
+    assertEquals(List.of(), ids(sut.search(criteria(c -> {
+      c.setFullname("田");
+      c.setMail("hanako");
+    }), null, null)));
+  }
+
+  @Test
+  void 追加_受講生ID順の途中に追加された受講生も受講生ID順に返ってくること() {
+    // 実行
+    sut.putAfterCommit(List.of(
+        createStudentDetail(new Student(4, "高橋三郎", "たかはしさぶろう", null, "saburo@example.com",
+                null, null, null, null, false, 0),
+            new StudentCourse(41, 4, "Javaコース", null, null, 0)),
+        createStudentDetail(new Student(6, "伊藤四郎", "いとうしろう", null, "shiro@example.com",
+            null, null, null, null, false, 0))));
+
+    // 検証
+    assertEquals(List.of(1, 2, 3, 4, 5, 6), ids(sut.search(new StudentSearchCriteria(), null, null)));
+    assertEquals(List.of(1, 4, 5), ids(sut.search(criteria(c -> c.setCourseName("Java")), null, null)));
+    assertEquals(6, sut.size());
+  }
+
+  @Test
+  void 追加_同じ受講生IDの受講生が存在する場合は受講生と受講生コースが置き換わること() {
+    // 実行
+    sut.putAfterCommit(List.of(
+        createStudentDetail(new Student(1, "山田太郎", "やまだたろう", null, "taro@example.com",
+                "福岡県", 26, Gender.男性, null, false, 0),
+            new StudentCourse(13, 1, "Pythonコース", null, null, 0))));
+
+    // 検証
+    List<StudentDetail> actual = sut.search(criteria(c -> c.setAddress("福岡")), null, null);
+    assertEquals(List.of(1), ids(actual));
+    assertEquals(1, actual.get(0).getStudentCourses().size());
+    assertEquals("Pythonコース", actual.get(0).getStudentCourses().get(0).getCourseName());
+    assertEquals(List.of(5), ids(sut.search(criteria(c -> c.setCourseName("Java")), null, null)));
+    assertEquals(List.of(5), ids(sut.search(criteria(c -> c.setAddress("東京")), null, null)));
+    assertEquals(4, sut.size());
+  }
+
+  @Test
+  void 大量の追加_配列の容量を超えても全件が受講生ID順に保持されること() {
+    // 事前準備
+    List<StudentDetail> studentDetails = new ArrayList<>();
+    for (int id = 10; id < 5010; id++) {
+      studentDetails.add(createStudentDetail(
+          new Student(id, "受講生" + id, "じゅこうせい", null, id + "@example.com", null, null,
+              null, null, false, 0),
+          new StudentCourse(id * 10, id, "コース" + (id % 7), null, null, 0),
+          new StudentCourse(id * 10 + 1, id, "コース" + (id % 5), null, null, 0)));
+    }
+
+    // 実行
+    sut.putAfterCommit(studentDetails);
+
+    // 検証
+    assertEquals(5004, sut.size());
+    List<StudentDetail> actual = sut.search(criteria(c -> c.setCourseName("コース6")), 4990,
+        null);
+    assertEquals(List.of(4997, 5004), ids(actual));
+    assertEquals(49971, actual.get(0).getStudentCourses().get(1).getId());
+  }
+
+  @Test
+  void 更新_受講生の列とその受講生に紐づく受講生コースのコース名が更新されること() {
+    // 実行
+    sut.updateAfterCommit(
+        new Student(2, "佐藤花子", "さとうはなこ", "はなちゃん", "hanako@example.com", "大阪府", 32,
+            Gender.女性, null, true, 1),
+        List.of(new StudentCourse(21, 0, "Javaコース", null, null, 0),
+            new StudentCourse(11, 0, "他の受講生のコース", null, null, 0)));
+
+    // 検証
+    List<StudentDetail> actual = sut.search(criteria(c -> c.setNickname("はな")), null, null);
+    assertEquals(List.of(2), ids(actual));
+    assertEquals(32, actual.get(0).getStudent().getAge());
+    assertTrue(actual.get(0).getStudent().isDeleted());
+    assertEquals("Javaコース", actual.get(0).getStudentCourses().get(0).getCourseName());
+    assertEquals(LocalDateTime.of(2023, 4, 1, 0, 0, 0),
+        actual.get(0).getStudentCourses().get(0).getStartDate());
+    assertEquals(List.of(1, 2, 5),
+        ids(sut.search(criteria(c -> c.setCourseName("Java")), null, null)));
+  }
+
+  @Test
+  void 更新_反映した受講生と受講生コースのバージョンが更新後の値になること() {
+    // 事前準備
+    sut.putAfterCommit(List.of(
+        createStudentDetail(new Student(6, "伊藤四郎", "いとうしろう", null, "shiro@example.com",
+                null, null, null, null, false, 7),
+            new StudentCourse(61, 6, "Javaコース", null, null, 3),
+            new StudentCourse(62, 6, "AWSコース", null, null, 5))));
+
+    // 実行
+    sut.updateAfterCommit(new Student(6, "伊藤四郎", "いとうしろう", null, "shiro@example.com",
+            null, null, null, null, false, 8),
+        List.of(new StudentCourse(61, 6, "Pythonコース", null, null, 4)));
+
+    // 検証
+    StudentDetail actual = sut.search(criteria(c -> c.setFullname("伊藤")), null, null).get(0);
+    assertEquals(8, actual.getStudent().getVersion());
+    assertEquals(4, actual.getStudentCourses().get(0).getVersion());
+    assertEquals(5, actual.getStudentCourses().get(1).getVersion());
+  }
+
+  @Test
+  void 更新_反映済みの更新や古い更新を後から反映しても索引は変わらないこと() {
+    // 事前準備
+    Student first = new Student(1, "山田太郎", "やまだたろう", "Taro", "taro@example.com",
+        "福岡県", 26, Gender.男性, null, false, 1);
+    Student second = new Student(1, "山田太郎", "やまだたろう", "Taro", "taro@example.com",
+        "札幌市", 26, Gender.男性, null, false, 2);
+    List<StudentCourse> studentCourses = List.of(
+        new StudentCourse(11, 1, "Pythonコース", null, null, 1));
+
+    // 実行：2回目の更新を先に反映し、1回目の更新を後から重ねて反映する
+    sut.updateAfterCommit(second, studentCourses);
+    sut.updateAfterCommit(first, studentCourses);
+    sut.updateAfterCommit(second, studentCourses);
+
+    // 検証
+    StudentDetail actual = sut.search(criteria(c -> c.setFullname("山田")), null, null).get(0);
+    assertEquals("札幌市", actual.getStudent().getAddress());
+    assertEquals(2, actual.getStudent().getVersion());
+    assertEquals(1, actual.getStudentCourses().get(0).getVersion());
+  }
+
+  @Test
+  void 更新_索引に存在しない受講生の更新は受講生として追加され古い登録の反映では置き換わらないこと() {
+    // 実行：登録の反映より先に更新を反映する
+    sut.updateAfterCommit(new Student(6, "伊藤四郎", "いとうしろう", null, "shiro@example.com",
+            "京都府", null, null, null, false, 1),
+        List.of(new StudentCourse(61, 6, "Pythonコース", null, null, 0)));
+    sut.putAfterCommit(List.of(
+        createStudentDetail(new Student(6, "伊藤四郎", "いとうしろう", null, "shiro@example.com",
+                null, null, null, null, false, 0),
+            new StudentCourse(61, 6, "Javaコース", null, null, 0))));
+
+    // 検証
+    List<StudentDetail> actual = sut.search(criteria(c -> c.setFullname("伊藤")), null, null);
+    assertEquals(List.of(6), ids(actual));
+    assertEquals("京都府", actual.get(0).getStudent().getAddress());
+    assertEquals("Pythonコース", actual.get(0).getStudentCourses().get(0).getCourseName());
+    assertEquals(5, sut.size());
+  }
+
+  @Test
+  void 読み込み_読み込み中にコミットされた変更は待たされずに反映され読み込みの完了後も失われないこと() throws Exception {
+    // 事前準備：読み込み元が1件目を渡した時点で止まるようにする
+    StudentSearchIndex index = new StudentSearchIndex(StudentSearchIndex.MODE_MEMORY);
+    CountDownLatch opened = new CountDownLatch(1);
+    CountDownLatch resume = new CountDownLatch(1);
+    Thread loader = new Thread(() -> {
+      try {
+        index.load(action -> {
+          action.accept(createStudentDetail(new Student(1, "山田太郎", "やまだたろう", null,
+              "taro@example.com", "東京都", null, null, null, false, 0)));
+          opened.countDown();
+          await(resume);
+        });
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    loader.start();
+    assertTrue(opened.await(10, TimeUnit.SECONDS));
+
+    // 実行：読み込み中に別のスレッドで、新しい受講生の追加と読み込み済みの受講生の更新をコミット後に反映する
+    Thread committer = new Thread(() -> {
+      index.putAfterCommit(List.of(
+          createStudentDetail(new Student(7, "高橋七郎", "たかはししちろう", null,
+              "shichiro@example.com", null, null, null, null, false, 0))));
+      index.updateAfterCommit(new Student(1, "山田太郎", "やまだたろう", null, "taro@example.com",
+          "大阪府", null, null, null, false, 1), List.of());
+    });
+    committer.start();
+    committer.join(10_000);
+
+    // 検証：反映は読み込みの完了を待たずに終わること
+    assertFalse(committer.isAlive());
+
+    resume.countDown();
+    loader.join(10_000);
+
+    // 検証：読み込みで作り直した索引に、読み込み中の変更が失われずに反映されていること
+    List<StudentDetail> actual = index.search(new StudentSearchCriteria(), null, null);
+    assertEquals(List.of(1, 7), ids(actual));
+    assertEquals("大阪府", actual.get(0).getStudent().getAddress());
+    assertEquals(1, actual.get(0).getStudent().getVersion());
+  }
+
+  @Test
+  void 追加_置き換えで参照されなくなった受講生コースの行は再利用されること() {
+    // 事前準備
+    int before = sut.courseRows();
+    sut.putAfterCommit(List.of(
+        createStudentDetail(new Student(6, "伊藤四郎", "いとうしろう", null, "shiro@example.com",
+                null, null, null, null, false, 0),
+            new StudentCourse(61, 6, "Javaコース", null, null, 0),
+            new StudentCourse(62, 6, "AWSコース", null, null, 0))));
+
+    // 実行：同じ受講生を繰り返し置き換えた後、別の受講生を追加する
+    for (int version = 1; version <= 3; version++) {
+      sut.putAfterCommit(List.of(
+          createStudentDetail(new Student(6, "伊藤四郎", "いとうしろう", null, "shiro@example.com",
+                  null, null, null, null, false, version),
+              new StudentCourse(61, 6, "Javaコース", null, null, version),
+              new StudentCourse(62, 6, "AWSコース", null, null, version))));
+    }
+    sut.putAfterCommit(List.of(
+        createStudentDetail(new Student(6, "伊藤四郎", "いとうしろう", null, "shiro@example.com",
+                null, null, null, null, false, 4),
+            new StudentCourse(61, 6, "Pythonコース", null, null, 4))));
+    sut.putAfterCommit(List.of(
+        createStudentDetail(new Student(7, "高橋七郎", "たかはししちろう", null,
+                "shichiro@example.com", null, null, null, null, false, 0),
+            new StudentCourse(71, 7, "Designコース", null, null, 0))));
+
+    // 検証：受講生コースの行が増えず、置き換え後の受講生コースで検索できること
+    assertEquals(before + 2, sut.courseRows());
+    assertEquals(List.of(6), ids(sut.search(criteria(c -> c.setCourseName("Python")), null, null)));
+    assertEquals(List.of(7), ids(sut.search(criteria(c -> c.setCourseName("Design")), null, null)));
+    assertEquals(List.of(1), ids(sut.search(criteria(c -> c.setCourseName("AWS")), null, null)));
+    assertEquals(1, sut.search(criteria(c -> c.setFullname("伊藤")), null, null).get(0)
+        .getStudentCourses().size());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Test
+  void 追加_トランザクション内で呼び出した場合はコミット後に反映されること() {
+    // 事前準備
+    TransactionSynchronizationManager.initSynchronization();
+
+    // 実行
+    sut.putAfterCommit(List.of(createStudentDetail(new Student(4, "高橋三郎", "たかはしさぶろう",
+        null, "saburo@example.com", null, null, null, null, false, 0))));
+
+    // 検証：コミット前は反映されず、コミット後に反映されること
+    assertEquals(4, sut.size());
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+    TransactionSynchronizationManager.clearSynchronization();
+    assertEquals(5, sut.size());
+  }
+
+  @Test
+  void 検索可否_全件の読み込み前とトランザクション内では検索できないこと() throws IOException {
+    // 事前準備
+    StudentSearchIndex notLoaded = new StudentSearchIndex(StudentSearchIndex.MODE_MEMORY);
+    StudentSearchIndex database = new StudentSearchIndex(StudentSearchIndex.MODE_DATABASE);
+    database.load(action -> {
+    });
+
+    // 検証
+    assertTrue(sut.isAvailable());
+    assertFalse(notLoaded.isAvailable());
+    assertFalse(database.isAvailable());
+    assertFalse(database.isEnabled());
+  }
+
+  @Test
+  void 生成_全文検索モードを指定した場合はインメモリ索引を使用しないこと() throws IOException {
+    // 事前準備
+    StudentSearchIndex fulltext = new StudentSearchIndex(StudentSearchIndex.MODE_FULLTEXT);
+    fulltext.load(action -> {
+    });
+
+    // 検証
+    assertTrue(fulltext.isFulltext());
+    assertFalse(fulltext.isEnabled());
+    assertFalse(fulltext.isAvailable());
+    assertFalse(sut.isFulltext());
+  }
+
+  @Test
+  void 生成_不明な検索モードを指定した場合は例外をスローすること() {
+    assertThrows(IllegalArgumentException.class, () -> new StudentSearchIndex("cache"));
+  }
+
+}
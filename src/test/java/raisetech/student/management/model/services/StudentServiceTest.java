@@ -1,34 +1,38 @@
 package raisetech.student.management.model.services;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.time.LocalDate;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.Set;
+import org.apache.ibatis.cursor.Cursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.Arguments;
-import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import raisetech.student.management.model.converter.CourseConverter;
-import raisetech.student.management.model.converter.StudentConverter;
 import raisetech.student.management.model.data.CourseSearchCriteria;
 import raisetech.student.management.model.data.CourseStatus;
 import raisetech.student.management.model.data.Gender;
@@ -37,10 +41,13 @@ import raisetech.student.management.model.data.Student;
 import raisetech.student.management.model.data.StudentCourse;
 import raisetech.student.management.model.data.StudentSearchCriteria;
 import raisetech.student.management.model.domain.CourseDetail;
+import raisetech.student.management.model.domain.CourseStatusBulkUpdateResult;
 import raisetech.student.management.model.domain.IntegratedDetail;
 import raisetech.student.management.model.domain.StudentDetail;
+import raisetech.student.management.model.domain.StudentSuggestion;
 import raisetech.student.management.model.exception.EmailAlreadyExistsException;
 import raisetech.student.management.model.exception.ResourceNotFoundException;
+import raisetech.student.management.model.exception.VersionConflictException;
 import raisetech.student.management.model.repository.StudentRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,10 +58,10 @@ class StudentServiceTest {
   private StudentRepository repository;
 
   @Mock
-  private StudentConverter studentConverter;
+  private Cursor<StudentDetail> cursor;
 
   @Mock
-  private CourseConverter courseConverter;
+  private Cursor<Student> studentCursor;
 
   @Autowired
   private StudentService sut;
@@ -66,27 +73,27 @@ class StudentServiceTest {
    */
   private static List<StudentDetail> createTestStudentDetails() {
     Student student1 = new Student(555, "田中太郎", "たなかたろう", "たなっち",
-        "tanaka@example.com", "東京", 21, Gender.男性, "テスト用", false);
+        "tanaka@example.com", "東京", 21, Gender.男性, "テスト用", false, 0);
 
     StudentCourse studentCourse1 = new StudentCourse(666, 555, "Java",
         LocalDateTime.of(2024, 7, 1, 0, 0, 0),
-        LocalDateTime.of(2025, 7, 1, 0, 0, 0));
+        LocalDateTime.of(2025, 7, 1, 0, 0, 0), 0);
     StudentCourse studentCourse2 = new StudentCourse(777, 555, "Python",
         LocalDateTime.of(2024, 9, 1, 0, 0, 0),
-        LocalDateTime.of(2025, 9, 1, 0, 0, 0));
+        LocalDateTime.of(2025, 9, 1, 0, 0, 0), 0);
     List<StudentCourse> studentCourses1 = new ArrayList<>(
         List.of(studentCourse1, studentCourse2));
     StudentDetail studentDetail1 = new StudentDetail(student1, studentCourses1);
 
     Student student2 = new Student(666, "鈴木花子", "すすきはなこ", "すずっち",
-        "suzuki@example.com", "大阪", 37, Gender.女性, "テスト用", true);
+        "suzuki@example.com", "大阪", 37, Gender.女性, "テスト用", true, 0);
 
     StudentCourse studentCourse3 = new StudentCourse(888, 666, "Design",
         LocalDateTime.of(2023, 7, 1, 0, 0, 0),
-        LocalDateTime.of(2024, 7, 1, 0, 0, 0));
+        LocalDateTime.of(2024, 7, 1, 0, 0, 0), 0);
     StudentCourse studentCourse4 = new StudentCourse(999, 666, "Front",
         LocalDateTime.of(2023, 9, 1, 0, 0, 0),
-        LocalDateTime.of(2024, 9, 1, 0, 0, 0));
+        LocalDateTime.of(2024, 9, 1, 0, 0, 0), 0);
     List<StudentCourse> studentCourses2 = new ArrayList<>(
         List.of(studentCourse3, studentCourse4));
     StudentDetail studentDetail2 = new StudentDetail(student2, studentCourses2);
@@ -103,13 +110,13 @@ class StudentServiceTest {
   private static List<CourseDetail> createTestCourseDetails() {
     StudentCourse studentCourse1 = new StudentCourse(666, 555, "Java",
         LocalDateTime.of(2024, 7, 1, 0, 0, 0),
-        LocalDateTime.of(2025, 7, 1, 0, 0, 0));
+        LocalDateTime.of(2025, 7, 1, 0, 0, 0), 0);
     StudentCourse studentCourse2 = new StudentCourse(777, 555, "Python",
         LocalDateTime.of(2024, 9, 1, 0, 0, 0),
-        LocalDateTime.of(2025, 9, 1, 0, 0, 0));
+        LocalDateTime.of(2025, 9, 1, 0, 0, 0), 0);
 
-    CourseStatus courseStatus1 = new CourseStatus(111, 666, Status.受講中);
-    CourseStatus courseStatus2 = new CourseStatus(222, 777, Status.本申込);
+    CourseStatus courseStatus1 = new CourseStatus(111, 666, Status.受講中, 0);
+    CourseStatus courseStatus2 = new CourseStatus(222, 777, Status.本申込, 0);
 
     CourseDetail courseDetail1 = new CourseDetail(studentCourse1, courseStatus1);
     CourseDetail courseDetail2 = new CourseDetail(studentCourse2, courseStatus2);
@@ -120,113 +127,224 @@ class StudentServiceTest {
 
   @BeforeEach
   void before() {
-    sut = new StudentService(repository, studentConverter, courseConverter);
+    sut = new StudentService(repository, new CourseConverter(),
+        new StudentDetailCache(100, Duration.ofMinutes(10)),
+        new StudentSearchIndex(StudentSearchIndex.MODE_DATABASE), new StudentSuggestIndex(),
+        new TableChangeCounter());
   }
 
-  @ParameterizedTest
-  @MethodSource("provideStudentTestCases")
-  void 受講生詳細の一覧検索_引数に応じて適切にフィルタリングが行われること(
-      StudentSearchCriteria criteria, int expectedResultCount) {
-
-    List<Student> students = new ArrayList<>();
-    List<StudentCourse> studentCoursesList = new ArrayList<>();
+  @Test
+  void 受講生詳細の一覧検索_検索条件をリポジトリに渡して受講生コースを結合済みの受講生詳細が返ってくること() {
+    // 事前準備
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.setFullname("田中");
     List<StudentDetail> studentDetails = createTestStudentDetails();
 
-    when(repository.searchStudents()).thenReturn(students);
-    when(repository.searchStudentCoursesList()).thenReturn(studentCoursesList);
-    when(studentConverter.convertStudentDetails(students, studentCoursesList)).thenReturn(
-        studentDetails);
+    when(repository.searchStudentDetails(criteria, null, null)).thenReturn(studentDetails);
 
     // 実行
     List<StudentDetail> actualStudentDetails = sut.searchStudentList(criteria);
 
     // 検証
-    verify(repository, times(1)).searchStudents();
-    verify(repository, times(1)).searchStudentCoursesList();
-    verify(studentConverter, times(1)).convertStudentDetails(students, studentCoursesList);
+    verify(repository, times(1)).searchStudentDetails(criteria, null, null);
+
+    assertEquals(studentDetails, actualStudentDetails);
+
+  }
+
+  @Test
+  void 受講生詳細の一覧検索_検索条件に合致する受講生がいない場合は空の一覧が返ってくること() {
+    // 事前準備
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    when(repository.searchStudentDetails(criteria, null, null)).thenReturn(new ArrayList<>());
+
+    // 実行
+    List<StudentDetail> actualStudentDetails = sut.searchStudentList(criteria);
+
+    // 検証
+    verify(repository, times(1)).searchStudentDetails(criteria, null, null);
+    assertTrue(actualStudentDetails.isEmpty());
+
+  }
+
+  @Test
+  void 受講生詳細の一覧検索_前ページの最後の受講生IDと取得件数の上限がリポジトリに渡されること() {
+    // 事前準備
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    List<StudentDetail> studentDetails = createTestStudentDetails();
+    when(repository.searchStudentDetails(criteria, 10, 20)).thenReturn(studentDetails);
+
+    // 実行
+    List<StudentDetail> actualStudentDetails = sut.searchStudentList(criteria, 10, 20);
+
+    // 検証
+    verify(repository, times(1)).searchStudentDetails(criteria, 10, 20);
+    assertEquals(studentDetails, actualStudentDetails);
 
-    assertEquals(expectedResultCount, actualStudentDetails.size());
+  }
+
+  @Test
+  void 受講生詳細の一覧検索_全文検索モードの場合は全文検索索引を使用する検索が呼び出されること() {
+    // 事前準備
+    StudentService service = new StudentService(repository, new CourseConverter(),
+        new StudentDetailCache(100, Duration.ofMinutes(10)),
+        new StudentSearchIndex(StudentSearchIndex.MODE_FULLTEXT), new StudentSuggestIndex(),
+        new TableChangeCounter());
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.setAddress("東京都");
+    List<StudentDetail> studentDetails = createTestStudentDetails();
+    when(repository.searchStudentDetailsFulltext(criteria, 10, 20)).thenReturn(studentDetails);
+
+    // 実行
+    List<StudentDetail> actualStudentDetails = service.searchStudentList(criteria, 10, 20);
+
+    // 検証
+    verify(repository, times(1)).searchStudentDetailsFulltext(criteria, 10, 20);
+    verify(repository, never()).searchStudentDetails(any(), any(), any());
+    assertEquals(studentDetails, actualStudentDetails);
 
   }
 
   /**
-   * 受講生詳細一覧検索のパラメータテストに適用するテストケースです。
-   *
-   * @return Argument
+   * インメモリ索引で検索するモードのサービスを作成し、受講生詳細情報一覧を索引に読み込むメソッドです。
    */
-  private static Stream<Arguments> provideStudentTestCases() {
-    return Stream.of(
-        // リクエストパラメータなし。全件検索が行われるケース。
-        Arguments.of(new StudentSearchCriteria(null, null, null,
-            null, null, null, null, null, null, null,
-            null, null, null, null), 2),
-        // すべてのリクエストパラメータを入力し、条件に合致するものが一つだけ存在するケース。
-        Arguments.of(new StudentSearchCriteria("田中太郎", "たなかたろう",
-            "たなっち", "tanaka@example.com", "東京", 10, 30,
-            Gender.男性, false, "Java",
-            LocalDate.of(2024, 6, 1),
-            LocalDate.of(2024, 8, 1),
-            LocalDate.of(2025, 6, 1),
-            LocalDate.of(2025, 8, 1)), 1),
-        // すべてのリクエストパラメータを入力し、条件に合致するものが一つも存在しないケース。
-        Arguments.of(new StudentSearchCriteria("鈴木太郎", "たなかたろう",
-            "たなっち", "tanaka@example.com", "東京", 10, 30,
-            Gender.男性, false, "Java",
-            LocalDate.of(2024, 6, 1),
-            LocalDate.of(2024, 8, 1),
-            LocalDate.of(2025, 6, 1),
-            LocalDate.of(2025, 8, 1)), 0));
-
-  }
-
-  @ParameterizedTest
-  @MethodSource("provideCourseTestCases")
-  void 受講生コース詳細の一覧検索_引数に応じて適切に条件検索が行われること(
-      CourseSearchCriteria criteria, int expectedResultCount) {
-
-    List<StudentCourse> studentCoursesList = new ArrayList<>();
-    List<CourseStatus> courseStatusList = new ArrayList<>();
+  private StudentService createMemorySearchService(List<StudentDetail> studentDetails)
+      throws Exception {
+    StudentService service = new StudentService(repository, new CourseConverter(),
+        new StudentDetailCache(100, Duration.ofMinutes(10)),
+        new StudentSearchIndex(StudentSearchIndex.MODE_MEMORY), new StudentSuggestIndex(),
+        new TableChangeCounter());
+    when(repository.exportStudentDetails()).thenReturn(cursor);
+    when(cursor.iterator()).thenReturn(studentDetails.iterator());
+    service.loadSearchIndex();
+    return service;
+  }
+
+  @Test
+  void 受講生詳細の一覧検索_インメモリ索引で検索するモードの場合は起動時に読み込んだ索引から検索しリポジトリに問い合わせないこと()
+      throws Exception {
+    // 事前準備
+    StudentService memorySut = createMemorySearchService(createTestStudentDetails());
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.setCourseName("Python");
+
+    // 実行
+    List<StudentDetail> actualStudentDetails = memorySut.searchStudentList(criteria, null, 10);
+
+    // 検証
+    verify(cursor, times(1)).close();
+    verify(repository, never()).searchStudentDetails(any(), any(), any());
+    assertEquals(1, actualStudentDetails.size());
+    assertEquals(555, actualStudentDetails.get(0).getStudent().getId());
+    assertEquals(2, actualStudentDetails.get(0).getStudentCourses().size());
+
+  }
+
+  @Test
+  void 受講生詳細の一覧検索_インメモリ索引で検索するモードの場合は新規登録した受講生が索引に反映されること()
+      throws Exception {
+    // 事前準備
+    StudentService memorySut = createMemorySearchService(createTestStudentDetails());
+    Student student = new Student(700, "佐藤次郎", "さとうじろう", null, "sato@example.com", null,
+        null, null, null, false, 0);
+    StudentDetail studentDetail = new StudentDetail(student, new ArrayList<>());
+    when(repository.existsByMail("sato@example.com")).thenReturn(false);
+
+    // 実行
+    memorySut.registerStudent(studentDetail);
+    StudentSearchCriteria criteria = new StudentSearchCriteria();
+    criteria.setFullname("佐藤");
+    List<StudentDetail> actualStudentDetails = memorySut.searchStudentList(criteria);
+
+    // 検証
+    verify(repository, never()).searchStudentDetails(any(), any(), any());
+    assertEquals(1, actualStudentDetails.size());
+    assertEquals(700, actualStudentDetails.get(0).getStudent().getId());
+
+  }
+
+  @Test
+  void 受講生の入力候補検索_起動時に読み込んだ受講生と新規登録した受講生がふりがなの前方一致で返ってくること()
+      throws Exception {
+    // 事前準備
+    when(repository.exportStudentNames()).thenReturn(studentCursor);
+    when(studentCursor.iterator()).thenReturn(
+        createTestStudentDetails().stream().map(StudentDetail::getStudent).iterator());
+    sut.loadSuggestIndex();
+
+    Student student = new Student(700, "鈴木次郎", "すずきじろう", null, "jiro@example.com", null,
+        null, null, null, false, 0);
+
+    // 実行
+    sut.registerStudent(new StudentDetail(student, new ArrayList<>()));
+    List<StudentSuggestion> actual = sut.suggestStudents("スズキ", 10);
+
+    // 検証：受講生666（すすきはなこ）は前方一致しない
+    verify(studentCursor, times(1)).close();
+    assertEquals(1, actual.size());
+    assertEquals(700, actual.get(0).getId());
+    assertEquals(1, sut.suggestStudents("たなか", 10).size());
+
+  }
+
+  @Test
+  void 受講生の入力候補検索_索引の読み込み前は正規化して空白を除いたふりがなでリポジトリに問い合わせること() {
+    // 事前準備
+    List<StudentSuggestion> suggestions = List.of(new StudentSuggestion(1, "鈴木次郎", "スズキジロウ"));
+    when(repository.searchStudentSuggestions("スズキジ", 10)).thenReturn(suggestions);
+
+    // 実行
+    List<StudentSuggestion> actual = sut.suggestStudents("すずき　じ", 10);
+
+    // 検証：ふりがなが空白のみの場合は問い合わせない
+    verify(repository, times(1)).searchStudentSuggestions("スズキジ", 10);
+    assertSame(suggestions, actual);
+    assertTrue(sut.suggestStudents("  ", 10).isEmpty());
+    verify(repository, times(1)).searchStudentSuggestions(any(), anyInt());
+
+  }
+
+  @Test
+  void 索引の読み込み_データベースに問い合わせて検索するモードの場合は全件を読み込まないこと() throws Exception {
+    // 実行
+    sut.loadSearchIndex();
+
+    // 検証
+    verify(repository, never()).exportStudentDetails();
+
+  }
+
+  @Test
+  void 受講生コース詳細の一覧検索_検索条件をリポジトリに渡して絞り込まれた受講生コース詳細が返ってくること() {
+    // 事前準備
+    CourseSearchCriteria criteria = new CourseSearchCriteria();
+    criteria.setStatus(Status.受講中);
     List<CourseDetail> courseDetails = createTestCourseDetails();
 
-    when(repository.searchStudentCoursesList()).thenReturn(studentCoursesList);
-    when(repository.searchCourseStatusList()).thenReturn(courseStatusList);
-    when(courseConverter.convertCourseDetails(studentCoursesList, courseStatusList)).thenReturn(
-        courseDetails);
+    when(repository.searchCourseDetails(criteria, null, null)).thenReturn(courseDetails);
 
     // 実行
     List<CourseDetail> actualCourseDetails = sut.searchStudentCourseList(criteria);
 
     // 検証
-    verify(repository, times(1)).searchStudentCoursesList();
-    verify(repository, times(1)).searchCourseStatusList();
-    verify(courseConverter, times(1)).convertCourseDetails(studentCoursesList, courseStatusList);
-
-    assertEquals(expectedResultCount, actualCourseDetails.size());
+    verify(repository, times(1)).searchCourseDetails(criteria, null, null);
+    assertEquals(courseDetails, actualCourseDetails);
 
   }
 
-  /**
-   * 受講生コース詳細一覧検索のパラメータテストに適用するテストケースです。
-   *
-   * @return Argument
-   */
-  private static Stream<Arguments> provideCourseTestCases() {
-    return Stream.of(
-        // リクエストパラメータなし。全件検索が行われるケース。
-        Arguments.of(new CourseSearchCriteria(null,
-            null, null, null, null, null), 2),
-        // すべてのリクエストパラメータを入力し、条件に合致するものが一つだけ存在するケース。
-        Arguments.of(new CourseSearchCriteria("Java",
-            LocalDate.of(2024, 6, 1),
-            LocalDate.of(2024, 8, 1),
-            LocalDate.of(2025, 6, 1),
-            LocalDate.of(2025, 8, 1), Status.受講中), 1),
-        // すべてのリクエストパラメータを入力し、条件に合致するものが一つも存在しないケース。
-        Arguments.of(new CourseSearchCriteria("Java",
-            LocalDate.of(2024, 6, 1),
-            LocalDate.of(2024, 8, 1),
-            LocalDate.of(2025, 6, 1),
-            LocalDate.of(2025, 8, 1), Status.受講終了), 0));
+  @Test
+  void 受講生コース詳細の一覧検索_前ページの最後の受講生コースIDと取得件数の上限がリポジトリに渡されること() {
+    // 事前準備
+    CourseSearchCriteria criteria = new CourseSearchCriteria();
+    List<CourseDetail> courseDetails = createTestCourseDetails();
+    when(repository.searchCourseDetails(criteria, 100, 2)).thenReturn(courseDetails);
+
+    // 実行
+    List<CourseDetail> actualCourseDetails = sut.searchStudentCourseList(criteria, 100, 2);
+
+    // 検証
+    verify(repository, times(1)).searchCourseDetails(criteria, 100, 2);
+    assertEquals(courseDetails, actualCourseDetails);
 
   }
 
@@ -245,15 +363,14 @@ class StudentServiceTest {
     studentCourse2.setStudentId(student.getId());
     studentCourses.add(studentCourse2);
 
-    when(repository.searchStudent(id)).thenReturn(student);
-    when(repository.searchStudentCourses(student.getId())).thenReturn(studentCourses);
+    when(repository.searchStudentDetail(id)).thenReturn(new StudentDetail(student, studentCourses));
 
     // 実行
     StudentDetail result = sut.searchStudent(id);
 
     // 検証
-    verify(repository, times(1)).searchStudent(id);
-    verify(repository, times(1)).searchStudentCourses(student.getId());
+    verify(repository, times(1)).searchStudentDetail(id);
+    verify(repository, never()).searchStudent(anyInt());
     assertNotNull(result);
     assertEquals(student, result.getStudent()); // result（StudentDetail）のStudent属性はstudentになっているか
     assertEquals(studentCourses, result.getStudentCourses());
@@ -269,14 +386,94 @@ class StudentServiceTest {
   void 受講生詳細の検索_異常系_存在しない受講生IDをメソッドに渡した場合に例外がスローされること() {
     // 事前準備
     int id = 777;
-    Student student = new Student();
-    when(repository.searchStudent(id)).thenReturn(null);
+    when(repository.searchStudentDetail(id)).thenReturn(null);
 
     // 実行と検証：searchStudent(777)を走らせたときにResourceNotFoundExceptionが発生するかどうか
     assertThrows(ResourceNotFoundException.class, () -> sut.searchStudent(id));
 
-    verify(repository, times(1)).searchStudent(id);
-    verify(repository, never()).searchStudentCourses(student.getId());
+    verify(repository, times(1)).searchStudentDetail(id);
+  }
+
+  @Test
+  void 受講生詳細の検索_キャッシュ_同じ受講生IDの2回目の検索ではリポジトリを呼び出さずにキャッシュから返ってくること() {
+    // 事前準備
+    int id = 1;
+    StudentDetail studentDetail = createTestStudentDetails().get(0);
+    when(repository.searchStudentDetail(id)).thenReturn(studentDetail);
+
+    // 実行
+    StudentDetail first = sut.searchStudent(id);
+    StudentDetail second = sut.searchStudent(id);
+
+    // 検証
+    assertEquals(studentDetail, first);
+    assertEquals(studentDetail, second);
+    verify(repository, times(1)).searchStudentDetail(id);
+    assertEquals(1, sut.searchStudentDetailCacheStats().getHitCount());
+    assertEquals(1, sut.searchStudentDetailCacheStats().getMissCount());
+  }
+
+  @Test
+  void 受講生詳細のバージョン検索_キャッシュにある場合はリポジトリを呼び出さずにキャッシュの受講生詳細が返ってくること() {
+    // 事前準備
+    int id = 1;
+    StudentDetail studentDetail = createTestStudentDetails().get(0);
+    when(repository.searchStudentDetail(id)).thenReturn(studentDetail);
+    sut.searchStudent(id);
+
+    // 実行
+    StudentDetail actual = sut.searchStudentVersion(id);
+
+    // 検証
+    assertSame(studentDetail, actual);
+    verify(repository, never()).searchStudentDetailVersion(anyInt());
+  }
+
+  @Test
+  void 受講生詳細のバージョン検索_キャッシュにない場合はバージョンのみをリポジトリから取得しキャッシュしないこと() {
+    // 事前準備
+    int id = 1;
+    StudentDetail version = createTestStudentDetails().get(0);
+    when(repository.searchStudentDetailVersion(id)).thenReturn(version);
+
+    // 実行
+    StudentDetail actual = sut.searchStudentVersion(id);
+
+    // 検証
+    assertSame(version, actual);
+    verify(repository, times(1)).searchStudentDetailVersion(id);
+    assertEquals(0, sut.searchStudentDetailCacheStats().getSize());
+  }
+
+  @Test
+  void 受講生詳細の検索_キャッシュ_存在しない受講生IDはキャッシュされず毎回リポジトリを呼び出すこと() {
+    // 事前準備
+    int id = 777;
+    when(repository.searchStudentDetail(id)).thenReturn(null);
+
+    // 実行と検証
+    assertThrows(ResourceNotFoundException.class, () -> sut.searchStudent(id));
+    assertThrows(ResourceNotFoundException.class, () -> sut.searchStudent(id));
+
+    verify(repository, times(2)).searchStudentDetail(id);
+  }
+
+  @Test
+  void 受講生詳細の検索_キャッシュ_受講生の更新後はリポジトリから再度読み込まれること() {
+    // 事前準備
+    StudentDetail studentDetail = createTestStudentDetails().get(0);
+    int id = studentDetail.getStudent().getId();
+    when(repository.searchStudentDetail(id)).thenReturn(studentDetail);
+    when(repository.updateStudent(studentDetail.getStudent())).thenReturn(1);
+    StudentDetail updateDetail = new StudentDetail(studentDetail.getStudent(), new ArrayList<>());
+
+    // 実行
+    sut.searchStudent(id);
+    sut.updateStudent(updateDetail);
+    sut.searchStudent(id);
+
+    // 検証
+    verify(repository, times(2)).searchStudentDetail(id);
   }
 
   @Test
@@ -339,17 +536,16 @@ class StudentServiceTest {
 
     StudentDetail studentDetail = new StudentDetail(student, studentCourses);
 
-    CourseStatus courseStatus1 = new CourseStatus();
-    CourseStatus courseStatus2 = new CourseStatus();
-    courseStatus1.setCourseId(courseId1);
-    courseStatus2.setCourseId(courseId2);
-
     doNothing().when(repository).registerStudent(any(Student.class));
-    doNothing().when(repository).registerStudentCourses(any(StudentCourse.class));
-    doNothing().when(repository).registerCourseStatus(any(CourseStatus.class));
-
-    when(repository.searchCourseStatus(studentCourse1.getId())).thenReturn(courseStatus1);
-    when(repository.searchCourseStatus(studentCourse2.getId())).thenReturn(courseStatus2);
+    doNothing().when(repository).registerStudentCoursesList(studentCourses);
+    doAnswer(invocation -> {
+      // useGeneratedKeysによる採番を模倣する
+      List<CourseStatus> courseStatuses = invocation.getArgument(0);
+      for (int i = 0; i < courseStatuses.size(); i++) {
+        courseStatuses.get(i).setId(100 + i);
+      }
+      return null;
+    }).when(repository).registerCourseStatusList(anyList());
 
     LocalDateTime testStartTime = LocalDateTime.now();
 
@@ -358,8 +554,9 @@ class StudentServiceTest {
 
     // 検証
     verify(repository, times(1)).registerStudent(student);
-    verify(repository, times(2)).registerStudentCourses(any(StudentCourse.class));
-    verify(repository, times(2)).registerCourseStatus(any(CourseStatus.class));
+    verify(repository, times(1)).registerStudentCoursesList(studentCourses);
+    verify(repository, times(1)).registerCourseStatusList(anyList());
+    verify(repository, never()).searchCourseStatus(anyInt());
     assertNotNull(result);
     assertEquals(student, result.getStudentDetail().getStudent());
     assertEquals(2, result.getStudentDetail().getStudentCourses().size());
@@ -380,7 +577,27 @@ class StudentServiceTest {
     for (CourseDetail courseDetail : result.getCourseDetails()) {
       assertEquals(courseDetail.getStudentCourse().getId(),
           courseDetail.getCourseStatus().getCourseId());
+      assertEquals(Status.仮申込, courseDetail.getCourseStatus().getStatus());
     }
+    assertEquals(List.of(100, 101), result.getCourseDetails().stream()
+        .map(courseDetail -> courseDetail.getCourseStatus().getId()).toList());
+
+  }
+
+  @Test
+  void 受講生詳細情報の新規登録_正常系_受講生コースが空の場合は受講生コースと申込状況の登録を行わないこと() {
+    // 事前準備
+    Student student = new Student();
+    StudentDetail studentDetail = new StudentDetail(student, new ArrayList<>());
+
+    // 実行
+    IntegratedDetail result = sut.registerStudent(studentDetail);
+
+    // 検証
+    verify(repository, times(1)).registerStudent(student);
+    verify(repository, never()).registerStudentCoursesList(anyList());
+    verify(repository, never()).registerCourseStatusList(anyList());
+    assertTrue(result.getCourseDetails().isEmpty());
 
   }
 
@@ -396,28 +613,24 @@ class StudentServiceTest {
 
     StudentDetail studentDetail = new StudentDetail(student, studentCourses);
 
-    // 事前準備:DB上の受講生情報の作成
-    Student studentAtDb = new Student();
-    studentAtDb.setMail("test@example.com");
-    List<Student> studentsAtDb = new ArrayList<>();
-    studentsAtDb.add(studentAtDb);
-
-    when(repository.searchStudents()).thenReturn(studentsAtDb);
+    when(repository.existsByMail("test@example.com")).thenReturn(true);
 
     // 実行と検証
     assertThrows(EmailAlreadyExistsException.class, () -> sut.registerStudent(studentDetail));
 
     // 検証
+    verify(repository, times(1)).existsByMail("test@example.com");
     verify(repository, never()).registerStudent(student);
-    verify(repository, never()).registerStudentCourses(any(StudentCourse.class));
-    verify(repository, never()).registerCourseStatus(any(CourseStatus.class));
+    verify(repository, never()).registerStudentCoursesList(anyList());
+    verify(repository, never()).registerCourseStatusList(anyList());
 
   }
 
   @Test
-  void 受講生詳細情報の更新_正常系_存在する受講生IDを指定したときにリポジトリの処理を適切に呼び出していること() {
+  void 受講生詳細情報の新規登録_異常系_同時に登録されたメールアドレスの一意制約違反が発生したときに例外をスローすること() {
     // 事前準備
     Student student = new Student();
+    student.setMail("test@example.com");
 
     StudentCourse studentCourse = new StudentCourse();
     List<StudentCourse> studentCourses = new ArrayList<>();
@@ -425,20 +638,278 @@ class StudentServiceTest {
 
     StudentDetail studentDetail = new StudentDetail(student, studentCourses);
 
-    when(repository.searchStudent(anyInt())).thenReturn(student);
-    when(repository.searchStudentCourse(anyInt())).thenReturn(studentCourse);
+    when(repository.existsByMail("test@example.com")).thenReturn(false);
+    doThrow(new DuplicateKeyException("uk_students_mail")).when(repository)
+        .registerStudent(student);
+
+    // 実行と検証
+    EmailAlreadyExistsException exception = assertThrows(EmailAlreadyExistsException.class,
+        () -> sut.registerStudent(studentDetail));
+    assertEquals("メールアドレス(test@example.com)はすでに登録されているため使用できません。",
+        exception.getMessage());
+
+    // 検証
+    verify(repository, never()).registerStudentCoursesList(anyList());
+    verify(repository, never()).registerCourseStatusList(anyList());
+
+  }
+
+  @Test
+  void 登録済みメールアドレスの検索_リポジトリに一括で問い合わせて登録済みのメールアドレスが返ってくること() {
+    // 事前準備
+    List<String> mails = List.of("a@example.com", "b@example.com");
+    when(repository.searchRegisteredMails(mails)).thenReturn(List.of("b@example.com"));
+
+    // 実行
+    Set<String> actual = sut.searchRegisteredMails(mails);
+
+    // 検証
+    verify(repository, times(1)).searchRegisteredMails(mails);
+    verify(repository, never()).existsByMail(any());
+    assertEquals(Set.of("b@example.com"), actual);
+  }
+
+  @Test
+  void 受講生詳細情報の一括新規登録_受講生と受講生コースとコース申込状況がそれぞれ1回の問い合わせで登録され受講生ごとの統合情報が返ってくること() {
+    // 事前準備
+    List<StudentDetail> studentDetails = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      List<StudentCourse> studentCourses = new ArrayList<>();
+      for (int j = 0; j < i; j++) {
+        studentCourses.add(new StudentCourse());
+      }
+      studentDetails.add(new StudentDetail(new Student(), studentCourses));
+    }
+
+    doAnswer(invocation -> {
+      // useGeneratedKeysによる採番を模倣する
+      List<Student> students = invocation.getArgument(0);
+      for (int i = 0; i < students.size(); i++) {
+        students.get(i).setId(10 + i);
+      }
+      return null;
+    }).when(repository).registerStudentsList(anyList());
+    doAnswer(invocation -> {
+      List<StudentCourse> studentCourses = invocation.getArgument(0);
+      for (int i = 0; i < studentCourses.size(); i++) {
+        studentCourses.get(i).setId(20 + i);
+      }
+      return null;
+    }).when(repository).registerStudentCoursesList(anyList());
+
+    // 実行
+    List<IntegratedDetail> actual = sut.registerStudents(studentDetails);
+
+    // 検証
+    verify(repository, times(1)).registerStudentsList(anyList());
+    verify(repository, times(1)).registerStudentCoursesList(anyList());
+    verify(repository, times(1)).registerCourseStatusList(anyList());
+    verify(repository, never()).registerStudent(any(Student.class));
+
+    assertEquals(3, actual.size());
+    assertEquals(List.of(0, 1, 2),
+        actual.stream().map(detail -> detail.getCourseDetails().size()).toList());
+    // 各受講生のコースには、その受講生のIDと申込状況が設定されている
+    for (IntegratedDetail integratedDetail : actual) {
+      int studentId = integratedDetail.getStudentDetail().getStudent().getId();
+      for (CourseDetail courseDetail : integratedDetail.getCourseDetails()) {
+        assertEquals(studentId, courseDetail.getStudentCourse().getStudentId());
+        assertEquals(courseDetail.getStudentCourse().getId(),
+            courseDetail.getCourseStatus().getCourseId());
+        assertEquals(Status.仮申込, courseDetail.getCourseStatus().getStatus());
+      }
+    }
+    assertEquals(List.of(21, 22), actual.get(2).getCourseDetails().stream()
+        .map(courseDetail -> courseDetail.getStudentCourse().getId()).toList());
+  }
+
+  @Test
+  void 受講生詳細情報の一括新規登録_一意制約違反が発生したときに例外をスローすること() {
+    // 事前準備
+    List<StudentDetail> studentDetails = List.of(
+        new StudentDetail(new Student(), new ArrayList<>()));
+    doThrow(new DuplicateKeyException("uk_students_mail")).when(repository)
+        .registerStudentsList(anyList());
+
+    // 実行と検証
+    assertThrows(EmailAlreadyExistsException.class, () -> sut.registerStudents(studentDetails));
+    verify(repository, never()).registerStudentCoursesList(anyList());
+  }
+
+  @Test
+  void 取り込んだ受講生詳細情報の一括新規登録_受講生コースの日付はそのままで指定した申込状況で登録され索引に反映されること() {
+    // 事前準備
+    StudentSuggestIndex suggestIndex = new StudentSuggestIndex();
+    StudentService service = new StudentService(repository, new CourseConverter(),
+        new StudentDetailCache(100, Duration.ofMinutes(10)),
+        new StudentSearchIndex(StudentSearchIndex.MODE_DATABASE), suggestIndex,
+        new TableChangeCounter());
+
+    Student student = new Student();
+    student.setFullname("田中昭三");
+    student.setFurigana("たなかしょうぞう");
+    LocalDateTime startDate = LocalDateTime.of(2024, 4, 1, 9, 0, 0);
+    StudentCourse java = new StudentCourse();
+    java.setStartDate(startDate);
+    StudentCourse aws = new StudentCourse();
+    List<StudentDetail> studentDetails = List.of(
+        new StudentDetail(student, new ArrayList<>(List.of(java, aws))));
+
+    doAnswer(invocation -> {
+      List<Student> students = invocation.getArgument(0);
+      students.forEach(registered -> registered.setId(10));
+      return null;
+    }).when(repository).registerStudentsList(anyList());
+    doAnswer(invocation -> {
+      List<StudentCourse> studentCourses = invocation.getArgument(0);
+      for (int i = 0; i < studentCourses.size(); i++) {
+        studentCourses.get(i).setId(20 + i);
+      }
+      return null;
+    }).when(repository).registerStudentCoursesList(anyList());
+    List<List<CourseStatus>> courseStatuses = new ArrayList<>();
+    doAnswer(invocation -> {
+      courseStatuses.add(invocation.getArgument(0));
+      return null;
+    }).when(repository).registerCourseStatusList(anyList());
+
+    // 実行
+    service.registerImportedStudents(studentDetails, List.of(Status.仮申込, Status.受講中));
+
+    // 検証
+    assertEquals(startDate, java.getStartDate());
+    assertEquals(10, aws.getStudentId());
+    assertEquals(List.of(Status.仮申込, Status.受講中),
+        courseStatuses.get(0).stream().map(CourseStatus::getStatus).toList());
+    assertEquals(List.of(20, 21),
+        courseStatuses.get(0).stream().map(CourseStatus::getCourseId).toList());
+    // トランザクション外では索引への反映は即時に行われる
+    assertEquals(List.of(10), suggestIndex.suggest("たなか", 10).stream()
+        .map(StudentSuggestion::getId).toList());
+  }
+
+  @Test
+  void 受講生詳細情報の更新_正常系_存在する受講生IDを指定したときにリポジトリの処理を適切に呼び出していること() {
+    // 事前準備
+    Student student = new Student();
+    student.setVersion(0);
+
+    List<StudentCourse> studentCourses = new ArrayList<>();
+    for (int i = 1; i <= 10; i++) {
+      StudentCourse studentCourse = new StudentCourse();
+      studentCourse.setId(i);
+      studentCourse.setVersion(0);
+      studentCourses.add(studentCourse);
+    }
+    List<Integer> courseIds = studentCourses.stream().map(StudentCourse::getId).toList();
+
+    StudentDetail studentDetail = new StudentDetail(student, studentCourses);
+
+    when(repository.updateStudent(student)).thenReturn(1);
+    when(repository.searchStudentCourseIds(0, courseIds)).thenReturn(courseIds);
+    when(repository.updateStudentCoursesList(0, studentCourses)).thenReturn(10);
+
+    // 実行
+    sut.updateStudent(studentDetail);
+
+    // 検証：受講生コースが10件あっても問い合わせは3回で済むこと
+    verify(repository, times(1)).updateStudent(student);
+    verify(repository, times(1)).searchStudentCourseIds(0, courseIds);
+    verify(repository, times(1)).updateStudentCoursesList(0, studentCourses);
+    verify(repository, never()).searchStudent(anyInt());
+    verify(repository, never()).searchStudentCourse(anyInt());
+    assertEquals(1, student.getVersion());
+    assertTrue(studentCourses.stream().allMatch(studentCourse -> studentCourse.getVersion() == 1));
 
-    doNothing().when(repository).updateStudent(any(Student.class));
-    doNothing().when(repository).updateStudentCourses(any(StudentCourse.class));
+  }
+
+  @Test
+  void 受講生詳細情報の更新_正常系_受講生コースが空の場合は受講生のみを更新すること() {
+    // 事前準備
+    Student student = new Student();
+    student.setVersion(0);
+    StudentDetail studentDetail = new StudentDetail(student, new ArrayList<>());
+
+    when(repository.updateStudent(student)).thenReturn(1);
 
     // 実行
     sut.updateStudent(studentDetail);
 
     // 検証
-    verify(repository, times(1)).searchStudent(anyInt());
-    verify(repository, times(studentCourses.size())).searchStudentCourse(anyInt());
     verify(repository, times(1)).updateStudent(student);
-    verify(repository, times(studentCourses.size())).updateStudentCourses(studentCourse);
+    verify(repository, never()).searchStudentCourseIds(anyInt(), anyList());
+    verify(repository, never()).updateStudentCoursesList(anyInt(), anyList());
+
+  }
+
+  @Test
+  void 受講生詳細情報の更新_異常系_取得後に他の更新が行われた受講生を更新したときにバージョンの競合の例外をスローすること() {
+    // 事前準備
+    Student student = new Student();
+    student.setId(1);
+    student.setVersion(0);
+
+    StudentCourse studentCourse = new StudentCourse();
+    studentCourse.setId(1);
+    List<StudentCourse> studentCourses = new ArrayList<>();
+    studentCourses.add(studentCourse);
+
+    StudentDetail studentDetail = new StudentDetail(student, studentCourses);
+
+    when(repository.searchStudentCourseIds(1, List.of(1))).thenReturn(List.of(1));
+    when(repository.updateStudent(student)).thenReturn(0);
+    when(repository.searchStudent(1)).thenReturn(new Student());
+
+    // 実行と検証
+    VersionConflictException exception = assertThrows(VersionConflictException.class,
+        () -> sut.updateStudent(studentDetail));
+    assertEquals("受講生ID 「1」は他の更新により変更されています。最新の情報を取得してから更新してください",
+        exception.getMessage());
+
+    // 検証
+    assertEquals(0, student.getVersion());
+    verify(repository, never()).updateStudentCoursesList(anyInt(), anyList());
+
+  }
+
+  @Test
+  void 受講生詳細情報の更新_異常系_取得後に他の更新が行われた受講生コースを更新したときにバージョンの競合の例外をスローすること() {
+    // 事前準備
+    TableChangeCounter changeCounter = new TableChangeCounter();
+    StudentService service = new StudentService(repository, new CourseConverter(),
+        new StudentDetailCache(100, Duration.ofMinutes(10)),
+        new StudentSearchIndex(StudentSearchIndex.MODE_DATABASE), new StudentSuggestIndex(),
+        changeCounter);
+    String version = changeCounter.changes(TableChangeCounter.Table.values()).getVersion();
+
+    Student student = new Student();
+    student.setId(1);
+    student.setVersion(0);
+
+    List<StudentCourse> studentCourses = new ArrayList<>();
+    for (int id : List.of(1, 2)) {
+      StudentCourse studentCourse = new StudentCourse();
+      studentCourse.setId(id);
+      studentCourse.setVersion(0);
+      studentCourses.add(studentCourse);
+    }
+
+    StudentDetail studentDetail = new StudentDetail(student, studentCourses);
+
+    when(repository.searchStudentCourseIds(1, List.of(1, 2))).thenReturn(List.of(1, 2));
+    when(repository.updateStudent(student)).thenReturn(1);
+    when(repository.updateStudentCoursesList(1, studentCourses)).thenReturn(1);
+
+    // 実行と検証
+    VersionConflictException exception = assertThrows(VersionConflictException.class,
+        () -> service.updateStudent(studentDetail));
+    assertEquals("受講生ID 「1」の受講生コースは他の更新により変更されています。最新の情報を取得してから更新してください",
+        exception.getMessage());
+
+    // 検証：バージョンとコミット後の反映処理はいずれも変わらないこと
+    assertEquals(0, student.getVersion());
+    assertTrue(studentCourses.stream().allMatch(studentCourse -> studentCourse.getVersion() == 0));
+    assertEquals(version, changeCounter.changes(TableChangeCounter.Table.values()).getVersion());
 
   }
 
@@ -448,21 +919,21 @@ class StudentServiceTest {
     Student student = new Student();
 
     StudentCourse studentCourse = new StudentCourse();
+    studentCourse.setId(1);
     List<StudentCourse> studentCourses = new ArrayList<>();
     studentCourses.add(studentCourse);
 
     StudentDetail studentDetail = new StudentDetail(student, studentCourses);
 
-    when(repository.searchStudent(anyInt())).thenReturn(null);
+    when(repository.searchStudentCourseIds(0, List.of(1))).thenReturn(List.of(1));
+    when(repository.updateStudent(student)).thenReturn(0);
 
     // 実行と検証
     assertThrows(ResourceNotFoundException.class, () -> sut.updateStudent(studentDetail));
 
     // 検証
-    verify(repository, times(1)).searchStudent(anyInt());
-    verify(repository, never()).searchStudentCourse(anyInt());
-    verify(repository, never()).updateStudent(student);
-    verify(repository, never()).updateStudentCourses(studentCourse);
+    verify(repository, times(1)).updateStudent(student);
+    verify(repository, never()).updateStudentCoursesList(anyInt(), anyList());
 
   }
 
@@ -471,41 +942,130 @@ class StudentServiceTest {
     // 事前準備
     Student student = new Student();
 
+    List<StudentCourse> studentCourses = new ArrayList<>();
+    for (int id : List.of(1, 999)) {
+      StudentCourse studentCourse = new StudentCourse();
+      studentCourse.setId(id);
+      studentCourses.add(studentCourse);
+    }
+
+    StudentDetail studentDetail = new StudentDetail(student, studentCourses);
+
+    when(repository.searchStudentCourseIds(0, List.of(1, 999))).thenReturn(List.of(1));
+
+    // 実行と検証
+    ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+        () -> sut.updateStudent(studentDetail));
+    assertEquals("受講生コースID 「999」は存在しません", exception.getMessage());
+
+    // 検証：受講生を含めて何も更新されないこと
+    verify(repository, times(1)).searchStudentCourseIds(0, List.of(1, 999));
+    verify(repository, never()).updateStudent(any(Student.class));
+    verify(repository, never()).updateStudentCoursesList(anyInt(), anyList());
+    assertEquals(0, student.getVersion());
+
+  }
+
+  @Test
+  void 受講生詳細情報の更新_異常系_存在しない受講生コースIDを指定したときはコミット後の反映処理が登録されないこと() {
+    // 事前準備
+    StudentSuggestIndex suggestIndex = new StudentSuggestIndex();
+    TableChangeCounter changeCounter = new TableChangeCounter();
+    StudentService service = new StudentService(repository, new CourseConverter(),
+        new StudentDetailCache(100, Duration.ofMinutes(10)),
+        new StudentSearchIndex(StudentSearchIndex.MODE_DATABASE), suggestIndex, changeCounter);
+    String version = changeCounter.changes(TableChangeCounter.Table.values()).getVersion();
+
+    Student student = new Student();
+    student.setId(1);
+    student.setFurigana("たなかたろう");
+    StudentCourse studentCourse = new StudentCourse();
+    studentCourse.setId(999);
+    StudentDetail studentDetail = new StudentDetail(student, new ArrayList<>(List.of(studentCourse)));
+
+    when(repository.searchStudentCourseIds(1, List.of(999))).thenReturn(List.of());
+
+    // 実行
+    assertThrows(ResourceNotFoundException.class, () -> service.updateStudent(studentDetail));
+
+    // 検証：トランザクション外では反映処理が即時に実行されるため、索引とバージョンが変わっていないことで確認する
+    assertTrue(suggestIndex.suggest("たなか", 10).isEmpty());
+    assertEquals(version, changeCounter.changes(TableChangeCounter.Table.values()).getVersion());
+  }
+
+  @Test
+  void 受講生詳細情報の更新_異常系_他の受講生のメールアドレスに変更しようとしたときに例外をスローすること() {
+    // 事前準備
+    Student student = new Student();
+    student.setMail("test@example.com");
+
     StudentCourse studentCourse = new StudentCourse();
+    studentCourse.setId(1);
     List<StudentCourse> studentCourses = new ArrayList<>();
     studentCourses.add(studentCourse);
 
     StudentDetail studentDetail = new StudentDetail(student, studentCourses);
 
-    when(repository.searchStudent(anyInt())).thenReturn(student);
-    when(repository.searchStudentCourse(anyInt())).thenReturn(null);
+    when(repository.searchStudentCourseIds(0, List.of(1))).thenReturn(List.of(1));
+    doThrow(new DuplicateKeyException("uk_students_mail")).when(repository)
+        .updateStudent(student);
 
     // 実行と検証
-    assertThrows(ResourceNotFoundException.class, () -> sut.updateStudent(studentDetail));
+    assertThrows(EmailAlreadyExistsException.class, () -> sut.updateStudent(studentDetail));
 
     // 検証
-    verify(repository, times(1)).searchStudent(anyInt());
-    verify(repository, times(studentCourses.size())).searchStudentCourse(anyInt());
-    verify(repository, never()).updateStudent(student);
-    verify(repository, never()).updateStudentCourses(studentCourse);
+    verify(repository, never()).updateStudentCoursesList(anyInt(), anyList());
 
   }
 
   @Test
   void コース申込状況の更新_正常系_存在する受講生コースIDを指定したときにリポジトリの処理を適切に呼び出していること() {
     // 事前準備
-    StudentCourse studentCourse = new StudentCourse();
     CourseStatus courseStatus = new CourseStatus();
+    courseStatus.setVersion(0);
 
-    when(repository.searchStudentCourse(courseStatus.getCourseId())).thenReturn(studentCourse);
-    doNothing().when(repository).updateCourseStatus(any(CourseStatus.class));
+    when(repository.updateCourseStatus(courseStatus)).thenReturn(1);
 
     // 実行
     sut.updateCourseStatus(courseStatus);
 
     // 検証
-    verify(repository, times(1)).searchStudentCourse(courseStatus.getCourseId());
     verify(repository, times(1)).updateCourseStatus(courseStatus);
+    assertEquals(1, courseStatus.getVersion());
+    verify(repository, never()).searchStudentCourse(anyInt());
+
+  }
+
+  @Test
+  void コース申込状況の更新_正常系_受講生コース一覧の変更状況のみが変わること() {
+    // 事前準備
+    CourseStatus courseStatus = new CourseStatus();
+    courseStatus.setVersion(0);
+    String studentListVersion = sut.searchStudentListChanges().getVersion();
+    String courseListVersion = sut.searchStudentCourseListChanges().getVersion();
+
+    when(repository.updateCourseStatus(courseStatus)).thenReturn(1);
+
+    // 実行
+    sut.updateCourseStatus(courseStatus);
+
+    // 検証
+    assertEquals(studentListVersion, sut.searchStudentListChanges().getVersion());
+    assertNotEquals(courseListVersion, sut.searchStudentCourseListChanges().getVersion());
+
+  }
+
+  @Test
+  void コース申込状況の更新_異常系_更新できなかった場合は変更状況が変わらないこと() {
+    // 事前準備
+    CourseStatus courseStatus = new CourseStatus();
+    String courseListVersion = sut.searchStudentCourseListChanges().getVersion();
+
+    when(repository.updateCourseStatus(courseStatus)).thenReturn(0);
+
+    // 実行と検証
+    assertThrows(ResourceNotFoundException.class, () -> sut.updateCourseStatus(courseStatus));
+    assertEquals(courseListVersion, sut.searchStudentCourseListChanges().getVersion());
 
   }
 
@@ -514,15 +1074,74 @@ class StudentServiceTest {
     // 事前準備
     CourseStatus courseStatus = new CourseStatus();
 
-    when(repository.searchStudentCourse(courseStatus.getCourseId())).thenReturn(null);
+    when(repository.updateCourseStatus(courseStatus)).thenReturn(0);
 
     // 実行と検証
     assertThrows(ResourceNotFoundException.class, () -> sut.updateCourseStatus(courseStatus));
 
     // 検証
-    verify(repository, times(1)).searchStudentCourse(courseStatus.getCourseId());
-    verify(repository, never()).updateCourseStatus(courseStatus);
+    verify(repository, times(1)).updateCourseStatus(courseStatus);
+
+  }
+
+  @Test
+  void コース申込状況の更新_異常系_取得後に他の更新が行われた申込状況を更新したときにバージョンの競合の例外をスローすること() {
+    // 事前準備
+    CourseStatus courseStatus = new CourseStatus();
+    courseStatus.setCourseId(1);
 
+    when(repository.updateCourseStatus(courseStatus)).thenReturn(0);
+    when(repository.searchCourseStatus(1)).thenReturn(new CourseStatus());
+
+    // 実行と検証
+    assertThrows(VersionConflictException.class, () -> sut.updateCourseStatus(courseStatus));
+
+    // 検証
+    assertEquals(0, courseStatus.getVersion());
+    verify(repository, times(1)).searchCourseStatus(1);
+
+  }
+
+  @Test
+  void コース申込状況の一括更新_IN句の上限件数ごとに存在確認と更新が行われ存在しない受講生コースIDが返ってくること() {
+    // 事前準備：2件の重複を含む2501件のID（重複を除くと2500件）
+    List<Integer> courseIds = new ArrayList<>();
+    for (int i = 1; i <= 2500; i++) {
+      courseIds.add(i);
+    }
+    courseIds.add(1);
+
+    when(repository.searchCourseStatusCourseIds(anyList())).thenAnswer(invocation -> {
+      // 受講生コースID 2000と2001の申込状況は存在しないものとする
+      List<Integer> chunk = invocation.getArgument(0);
+      return chunk.stream().filter(id -> id != 2000 && id != 2001).toList();
+    });
+    when(repository.updateCourseStatuses(anyList(), eq(Status.受講中))).thenAnswer(
+        invocation -> invocation.<List<Integer>>getArgument(0).size());
+
+    // 実行
+    CourseStatusBulkUpdateResult actual = sut.updateCourseStatuses(courseIds, Status.受講中);
+
+    // 検証
+    verify(repository, times(3)).searchCourseStatusCourseIds(anyList());
+    verify(repository, times(3)).updateCourseStatuses(anyList(), eq(Status.受講中));
+    verify(repository, never()).updateCourseStatus(any(CourseStatus.class));
+    assertEquals(List.of(2000, 2001), actual.getNotFoundCourseIds());
+  }
+
+  @Test
+  void コース申込状況の一括更新_申込状況が存在する受講生コースIDがない場合は更新を行わないこと() {
+    // 事前準備
+    when(repository.searchCourseStatusCourseIds(List.of(998, 999))).thenReturn(List.of());
+
+    // 実行
+    CourseStatusBulkUpdateResult actual = sut.updateCourseStatuses(List.of(998, 999),
+        Status.受講中);
+
+    // 検証
+    verify(repository, never()).updateCourseStatuses(anyList(), any());
+    assertEquals(0, actual.getUpdatedCount());
+    assertEquals(List.of(998, 999), actual.getNotFoundCourseIds());
   }
 
 }
@@ -0,0 +1,192 @@
+package raisetech.student.management.model.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.model.data.Student;
+import raisetech.student.management.model.domain.StudentSuggestion;
+
+class StudentSuggestIndexTest {
+
+  private final StudentSuggestIndex sut = new StudentSuggestIndex();
+
+  @BeforeEach
+  void before() throws IOException {
+    sut.load(List.of(
+        createStudent(1, "山田太郎", "やまだ たろう", false),
+        createStudent(2, "山田花子", "ヤマダハナコ", false),
+        createStudent(3, "山本一郎", "やまもといちろう", false),
+        createStudent(4, "田中次郎", "たなかじろう", false),
+        createStudent(5, "山田三郎", "やまださぶろう", true),
+        createStudent(6, "山田太郎", "やまだたろう", false))::forEach);
+  }
+
+  @AfterEach
+  void after() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private static Student createStudent(int id, String fullname, String furigana,
+      boolean deleted) {
+    Student student = new Student();
+    student.setId(id);
+    student.setFullname(fullname);
+    student.setFurigana(furigana);
+    student.setDeleted(deleted);
+    student.setVersion(0);
+    return student;
+  }
+
+  private static List<Integer> ids(List<StudentSuggestion> suggestions) {
+    return suggestions.stream().map(StudentSuggestion::getId).toList();
+  }
+
+  @Test
+  void 候補の取得_ふりがなが前方一致する削除されていない受講生がふりがな順に返ってくること() {
+    // 実行
+    List<StudentSuggestion> actual = sut.suggest("やまだ", 10);
+
+    // 検証：「ヤマダタロウ」の2人は受講生ID順、削除済みの受講生5は含まない
+    assertEquals(List.of(1, 6, 2), ids(actual));
+    assertEquals("山田花子", actual.get(2).getFullname());
+    assertEquals("ヤマダハナコ", actual.get(2).getFurigana());
+  }
+
+  @Test
+  void 候補の取得_ひらがなとカタカナと半角と空白の違いを区別せずに前方一致すること() {
+    assertEquals(List.of(1, 6, 2), ids(sut.suggest("ヤマダ", 10)));
+    assertEquals(List.of(1, 6), ids(sut.suggest("ﾔﾏﾀﾞ ﾀ", 10)));
+    assertEquals(List.of(3), ids(sut.suggest("やまも", 10)));
+  }
+
+  @Test
+  void 候補の取得_上限件数までしか返ってこず一致しない場合や空白のみの場合は空であること() {
+    assertEquals(List.of(1, 6), ids(sut.suggest("やま", 2)));
+    assertTrue(sut.suggest("すずき", 10).isEmpty());
+    assertTrue(sut.suggest("　", 10).isEmpty());
+  }
+
+  @Test
+  void 反映_更新した受講生のふりがなが置き換わり削除した受講生は候補から除かれること() {
+    // 実行
+    sut.putAfterCommit(List.of(
+        createStudent(4, "田中次郎", "やまだじろう", false),
+        createStudent(2, "山田花子", "ヤマダハナコ", true),
+        createStudent(7, "山田七海", "やまだななみ", false)));
+
+    // 検証
+    assertEquals(List.of(4, 1, 6, 7), ids(sut.suggest("やまだ", 10)));
+    assertTrue(sut.suggest("たなか", 10).isEmpty());
+    assertEquals(5, sut.size());
+  }
+
+  @Test
+  void 反映_トランザクション内で呼び出した場合はコミット後に反映されること() {
+    // 事前準備
+    TransactionSynchronizationManager.initSynchronization();
+
+    // 実行
+    sut.putAfterCommit(List.of(createStudent(7, "鈴木七海", "すずきななみ", false)));
+
+    // 検証：コミット前は反映されず、コミット後に反映されること
+    assertTrue(sut.suggest("すずき", 10).isEmpty());
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+    TransactionSynchronizationManager.clearSynchronization();
+    assertEquals(List.of(7), ids(sut.suggest("すずき", 10)));
+  }
+
+  @Test
+  void 反映_古いバージョンの変更を後から反映しても置き換わらず削除した受講生も候補に戻らないこと() {
+    // 事前準備
+    Student deleted = createStudent(4, "田中次郎", "たなかじろう", true);
+    deleted.setVersion(2);
+    Student renamed = createStudent(4, "田中次郎", "やまだじろう", false);
+    renamed.setVersion(1);
+
+    // 実行：削除の反映の後に、それより前の更新を反映する
+    sut.putAfterCommit(List.of(deleted));
+    sut.putAfterCommit(List.of(renamed));
+
+    // 検証
+    assertTrue(sut.suggest("たなか", 10).isEmpty());
+    assertEquals(List.of(1, 6, 2), ids(sut.suggest("やまだ", 10)));
+  }
+
+  @Test
+  void 読み込み_読み込み元を開いた後にコミットされた変更は読み込みの完了後に反映されること() throws Exception {
+    // 事前準備：読み込み元が1件目を渡した時点で止まるようにする
+    StudentSuggestIndex index = new StudentSuggestIndex();
+    CountDownLatch opened = new CountDownLatch(1);
+    CountDownLatch resume = new CountDownLatch(1);
+    Thread loader = new Thread(() -> {
+      try {
+        index.load(action -> {
+          action.accept(createStudent(1, "山田太郎", "やまだたろう", false));
+          opened.countDown();
+          await(resume);
+        });
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    loader.start();
+    assertTrue(opened.await(10, TimeUnit.SECONDS));
+    assertFalse(index.isAvailable());
+
+    // 実行：読み込み中に別のスレッドでコミット後の反映を行う
+    Thread committer = new Thread(() -> index.putAfterCommit(
+        List.of(createStudent(7, "山田七海", "やまだななみ", false))));
+    committer.start();
+    while (committer.getState() != Thread.State.WAITING && committer.isAlive()) {
+      Thread.onSpinWait();
+    }
+    resume.countDown();
+    loader.join(10_000);
+    committer.join(10_000);
+
+    // 検証：読み込みで作り直した索引に、読み込み中の変更が失われずに反映されていること
+    assertTrue(index.isAvailable());
+    assertEquals(List.of(1, 7), ids(index.suggest("やまだ", 10)));
+  }
+
+  @Test
+  void 取得可否_全件の読み込み前と読み込みに失敗した後は索引から取得できないこと() {
+    // 事前準備
+    StudentSuggestIndex notLoaded = new StudentSuggestIndex();
+
+    // 実行：読み込み済みの索引の再読み込みが途中で失敗する
+    assertThrows(IOException.class, () -> sut.load(action -> {
+      action.accept(createStudent(1, "山田太郎", "やまだたろう", false));
+      throw new IOException("読み込みに失敗しました");
+    }));
+
+    // 検証
+    assertFalse(notLoaded.isAvailable());
+    assertFalse(sut.isAvailable());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+
+}
@@ -0,0 +1,74 @@
+package raisetech.student.management.model.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.student.management.model.domain.TableChanges;
+import raisetech.student.management.model.services.TableChangeCounter.Table;
+
+class TableChangeCounterTest {
+
+  private final TableChangeCounter sut = new TableChangeCounter();
+
+  @AfterEach
+  void after() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void 変更状況の取得_対象のテーブルが変更された場合のみバージョンが変わること() {
+    // 事前準備
+    TableChanges before = sut.changes(Table.STUDENTS, Table.STUDENTS_COURSES);
+
+    // 実行と検証：対象外のテーブルの変更ではバージョンが変わらない
+    sut.incrementAfterCommit(Table.COURSE_STATUS);
+    assertEquals(before.getVersion(),
+        sut.changes(Table.STUDENTS, Table.STUDENTS_COURSES).getVersion());
+
+    // 実行と検証：対象のテーブルの変更でバージョンが変わる
+    sut.incrementAfterCommit(Table.STUDENTS_COURSES);
+    assertNotEquals(before.getVersion(),
+        sut.changes(Table.STUDENTS, Table.STUDENTS_COURSES).getVersion());
+  }
+
+  @Test
+  void 変更状況の取得_起動ごとに異なる世代がバージョンに含まれること() throws Exception {
+    // 事前準備
+    Thread.sleep(2);
+    TableChangeCounter restarted = new TableChangeCounter();
+
+    // 実行と検証：カウンタが同じ値でも再起動前のバージョンとは一致しない
+    assertNotEquals(sut.changes(Table.STUDENTS).getVersion(),
+        restarted.changes(Table.STUDENTS).getVersion());
+  }
+
+  @Test
+  void 変更カウンタの加算_トランザクション内ではコミット後に加算されロールバックした場合は加算されないこと() {
+    // 事前準備
+    String before = sut.changes(Table.STUDENTS).getVersion();
+    TransactionSynchronizationManager.initSynchronization();
+
+    // 実行と検証：ロールバックした場合は加算されない
+    sut.incrementAfterCommit(Table.STUDENTS);
+    assertEquals(before, sut.changes(Table.STUDENTS).getVersion());
+    TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+        synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    TransactionSynchronizationManager.clearSynchronization();
+    assertEquals(before, sut.changes(Table.STUDENTS).getVersion());
+
+    // 実行と検証：コミットした場合は加算される
+    TransactionSynchronizationManager.initSynchronization();
+    sut.incrementAfterCommit(Table.STUDENTS);
+    TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+        synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    TransactionSynchronizationManager.clearSynchronization();
+    assertNotEquals(before, sut.changes(Table.STUDENTS).getVersion());
+  }
+
+}
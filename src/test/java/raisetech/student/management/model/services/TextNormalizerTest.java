@@ -0,0 +1,30 @@
+package raisetech.student.management.model.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class TextNormalizerTest {
+
+  @ParameterizedTest
+  @CsvSource(delimiter = '|', value = {
+      "やまだたろう|ヤマダタロウ",
+      "ヤマダタロウ|ヤマダタロウ",
+      "ﾔﾏﾀﾞﾀﾛｳ|ヤマダタロウ",
+      "ゔぁゝゞゖ|ヴァヽヾヶ",
+      "ＴＡＲＯ＠Example.COM|taro@example.com",
+      "東京都千代田区１－２－３|東京都千代田区1-2-3",
+  })
+  void 正規化_全角半角とひらがなカタカナと大文字小文字の違いが吸収されること(String value, String expected) {
+    assertEquals(expected, TextNormalizer.normalize(value));
+  }
+
+  @Test
+  void 正規化_nullの場合はnullが返ってくること() {
+    assertNull(TextNormalizer.normalize(null));
+  }
+
+}
@@ -1,10 +1,16 @@
-INSERT INTO students (fullname, furigana, nickname, mail, address, age, gender, deleted, remark)
+INSERT INTO students (fullname, furigana, nickname, mail, address, age, gender, deleted, remark,
+    fullname_normalized, furigana_normalized, nickname_normalized, mail_normalized, address_normalized)
 VALUES
-('山田太郎', 'ヤマダタロウ', 'たろう', 'taro.yamada@example.com', '東京都', 20, '男性', false, NULL),
-('佐藤花子', 'サトウハナコ', 'はなちゃん', 'hanako.sato@example.com', '大阪府', 32, '女性', false, NULL),
-('鈴木一郎', 'スズキイチロウ', NULL, 'ichiro.suzuki@example.com', '愛知県', 41, '男性', false, 'なごや'),
-('田中美咲', 'タナカミサキ', 'みさき', 'misaki.tanaka@example.com', '福岡県', 59, '女性', false, '博多弁'),
-('中村健太', 'ナカムラケンタ', 'けん', 'kenta.nakamura@example.com', '北海道', 19, 'その他', true, '留学経験あり');
+('山田太郎', 'ヤマダタロウ', 'たろう', 'taro.yamada@example.com', '東京都', 20, '男性', false, NULL,
+    '山田太郎', 'ヤマダタロウ', 'タロウ', 'taro.yamada@example.com', '東京都'),
+('佐藤花子', 'サトウハナコ', 'はなちゃん', 'hanako.sato@example.com', '大阪府', 32, '女性', false, NULL,
+    '佐藤花子', 'サトウハナコ', 'ハナチャン', 'hanako.sato@example.com', '大阪府'),
+('鈴木一郎', 'スズキイチロウ', NULL, 'ichiro.suzuki@example.com', '愛知県', 41, '男性', false, 'なごや',
+    '鈴木一郎', 'スズキイチロウ', NULL, 'ichiro.suzuki@example.com', '愛知県'),
+('田中美咲', 'タナカミサキ', 'みさき', 'misaki.tanaka@example.com', '福岡県', 59, '女性', false, '博多弁',
+    '田中美咲', 'タナカミサキ', 'ミサキ', 'misaki.tanaka@example.com', '福岡県'),
+('中村健太', 'ナカムラケンタ', 'けん', 'kenta.nakamura@example.com', '北海道', 19, 'その他', true, '留学経験あり',
+    '中村健太', 'ナカムラケンタ', 'ケン', 'kenta.nakamura@example.com', '北海道');
 
 INSERT INTO students_courses (student_id, course_name, start_date, end_date)
 VALUES
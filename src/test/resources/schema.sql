@@ -1,3 +1,4 @@
+-- H2はFULLTEXT INDEX（ngramパーサー）に対応していないため、studentsの全文検索索引は作成しない（全文検索モードはLIKEのみで検索する）
 CREATE TABLE IF NOT EXISTS students (
     id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
     fullname VARCHAR(100) NOT NULL,
@@ -8,7 +9,16 @@ CREATE TABLE IF NOT EXISTS students (
     age INT,
     gender ENUM('男性', '女性', 'その他'),
     remark VARCHAR(200),
-    deleted BOOLEAN NOT NULL DEFAULT FALSE
+    deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    version INT NOT NULL DEFAULT 0,
+    -- 検索用に正規化した列（NFKC、ひらがな→カタカナ、英字の小文字化。登録・更新時にアプリケーションで設定する）
+    -- NFKCでは1文字が複数の文字に展開される場合があるため（例：㍻→平成）、元の列の3倍の長さとする
+    fullname_normalized VARCHAR(300) NOT NULL,
+    furigana_normalized VARCHAR(300) NOT NULL,
+    nickname_normalized VARCHAR(300),
+    mail_normalized VARCHAR(768) NOT NULL,
+    address_normalized VARCHAR(768),
+    CONSTRAINT uk_students_mail UNIQUE (mail)
 );
 
 CREATE TABLE IF NOT EXISTS students_courses (
@@ -17,6 +27,7 @@ CREATE TABLE IF NOT EXISTS students_courses (
     course_name VARCHAR(100) NOT NULL,
     start_date DATETIME,
     end_date DATETIME,
+    version INT NOT NULL DEFAULT 0,
     FOREIGN KEY (student_id) REFERENCES students(id)
 );
 
@@ -24,5 +35,6 @@ CREATE TABLE IF NOT EXISTS course_status (
      id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
      course_id INT NOT NULL,
      status ENUM('仮申込', '本申込', '受講中', '受講終了'),
+     version INT NOT NULL DEFAULT 0,
      FOREIGN KEY (course_id) REFERENCES students_courses(id)
 );